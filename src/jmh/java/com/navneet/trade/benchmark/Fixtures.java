@@ -0,0 +1,133 @@
+package com.navneet.trade.benchmark;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.entity.Instruments;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Recorded Groww responses and deterministic synthetic data shared by the benchmarks
+ * @author navneet.prabhakar
+ */
+public final class Fixtures {
+
+  private static final long SESSION_OPEN = 1767584700L; // 2026-01-05 09:15 IST
+  private static final String[] NAMES = {"RELIANCE INDUSTRIES", "TATA CONSULTANCY SERVICES", "INFOSYS",
+      "HDFC BANK", "ICICI BANK", "STATE BANK OF INDIA", "ITC", "LARSEN & TOUBRO", "AXIS BANK",
+      "KOTAK MAHINDRA BANK", "BHARTI AIRTEL", "MARUTI SUZUKI INDIA", "TATA MOTORS", "WIPRO",
+      "HCL TECHNOLOGIES", "SUN PHARMACEUTICAL", "ASIAN PAINTS", "TITAN COMPANY", "ULTRATECH CEMENT",
+      "NESTLE INDIA"};
+
+  private Fixtures() {
+  }
+
+  /**
+   * Read a recorded fixture from src/jmh/resources/fixtures
+   */
+  public static byte[] resource(String name) {
+    try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+      if (in == null) {
+        throw new IllegalArgumentException("Missing fixture " + name);
+      }
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Historical candle response in the Groww wire format, one minute candles from the session open
+   */
+  public static byte[] candlesJson(int count) {
+    Random random = new Random(42);
+    StringBuilder json = new StringBuilder(count * 64 + 256)
+        .append("{\"status\":\"SUCCESS\",\"payload\":{\"candles\":[");
+    double close = 2500;
+    for (int i = 0; i < count; i++) {
+      double open = close;
+      close = Math.round((open + random.nextGaussian() * 2) * 20) / 20.0;
+      double high = Math.max(open, close) + 0.5;
+      double low = Math.min(open, close) - 0.5;
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append('[').append(SESSION_OPEN + i * 60L).append(',').append(open).append(',').append(high)
+          .append(',').append(low).append(',').append(close).append(',').append(1000 + random.nextInt(50000))
+          .append(']');
+    }
+    json.append("],\"closing_price\":").append(close)
+        .append(",\"start_time\":\"2026-01-05 09:15:00\",\"end_time\":\"2026-01-05 15:30:00\"")
+        .append(",\"interval_in_minutes\":1}}");
+    return json.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Instrument master CSV of the given size, repeating the recorded rows with unique exchange tokens
+   */
+  public static String instrumentsCsv(int rows) {
+    String[] lines = new String(resource("instruments.csv"), StandardCharsets.UTF_8).split("\n");
+    StringBuilder csv = new StringBuilder(rows * 160).append(lines[0]).append('\n');
+    for (int i = 0; i < rows; i++) {
+      String line = lines[1 + i % (lines.length - 1)];
+      int first = line.indexOf(',');
+      int second = line.indexOf(',', first + 1);
+      csv.append(line, 0, first + 1).append(100000 + i).append(line, second, line.length()).append('\n');
+    }
+    return csv.toString();
+  }
+
+  /**
+   * Synthetic equities and options with realistic names and trading symbols
+   */
+  public static List<Instruments> instruments(int count) {
+    Random random = new Random(7);
+    List<Instruments> instruments = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String name = NAMES[i % NAMES.length];
+      String root = name.replace(" ", "").replace("&", "");
+      String symbol = root.substring(0, Math.min(root.length(), 10)) + (i < NAMES.length ? "" : i);
+      instruments.add(Instruments.builder()
+          .id((long) i)
+          .exchange("NSE")
+          .exchangeToken(String.valueOf(100000 + i))
+          .tradingSymbol(symbol)
+          .growwSymbol("NSE-" + symbol)
+          .name(i < NAMES.length ? name : name + " " + (char) ('A' + random.nextInt(26)) + i)
+          .instrumentType("EQ")
+          .segment("CASH")
+          .lotSize(1)
+          .tickSize(0.05)
+          .build());
+    }
+    return instruments;
+  }
+
+  /**
+   * Groww settings pointing every endpoint at the given base URL, with the paths of application.yaml
+   */
+  public static GrowwConstants constants(String baseUrl) {
+    GrowwConstants constants = new GrowwConstants();
+    constants.setBaseUrl(baseUrl);
+    constants.setApiKey("benchmark");
+    constants.setSecret("benchmark");
+    constants.setTokenUrl("token/api/access");
+    constants.setHistoricDataUrl("historical/candle/range");
+    constants.setHoldingsUrl("holdings/user");
+    constants.setPositionsUrl("positions/user");
+    constants.setPositionsTradingUrl("positions/trading-symbol");
+    constants.setOrderListUrl("order/list");
+    constants.setCreateOrderUrl("order/create");
+    constants.setOrderDetailsUrl("order/details/");
+    constants.setModifyOrderUrl("order/modify");
+    constants.setCancelOrderUrl("order/cancel");
+    constants.setOrderStatusUrl("order/status/");
+    constants.setOrderStatusReferenceUrl("order/status/reference/");
+    constants.setOrderTradesUrl("order/trades/");
+    return constants;
+  }
+}
@@ -0,0 +1,57 @@
+package com.navneet.trade.models.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.navneet.trade.benchmark.Fixtures;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Historic data deserialization: per candle objects through CandleDeserializer against the
+ * columnar CandleSeries used for compact output
+ * @author navneet.prabhakar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoricDataDeserializationBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int candles;
+
+  private byte[] json;
+  private ObjectReader candleReader;
+  private ObjectReader seriesReader;
+
+  @Setup
+  public void setup() {
+    json = Fixtures.candlesJson(candles);
+    ObjectMapper mapper = new ObjectMapper();
+    candleReader = mapper.readerFor(HistoricDataResponse.class);
+    seriesReader = mapper.readerFor(HistoricDataSeriesResponse.class);
+  }
+
+  @Benchmark
+  public HistoricDataResponse candleObjects() throws IOException {
+    return candleReader.readValue(json);
+  }
+
+  @Benchmark
+  public HistoricDataSeriesResponse candleSeries() throws IOException {
+    return seriesReader.readValue(json);
+  }
+}
@@ -0,0 +1,54 @@
+package com.navneet.trade.models.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.navneet.trade.benchmark.Fixtures;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of recorded order list (100 orders) and positions (40 positions) responses
+ * @author navneet.prabhakar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+  private byte[] orderList;
+  private byte[] positions;
+  private ObjectReader orderListReader;
+  private ObjectReader positionsReader;
+
+  @Setup
+  public void setup() {
+    orderList = Fixtures.resource("order_list.json");
+    positions = Fixtures.resource("positions.json");
+    ObjectMapper mapper = new ObjectMapper();
+    orderListReader = mapper.readerFor(OrderListResponse.class);
+    positionsReader = mapper.readerFor(PositionsResponse.class);
+  }
+
+  @Benchmark
+  public OrderListResponse orderList() throws IOException {
+    return orderListReader.readValue(orderList);
+  }
+
+  @Benchmark
+  public PositionsResponse positions() throws IOException {
+    return positionsReader.readValue(positions);
+  }
+}
@@ -0,0 +1,76 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.benchmark.Fixtures;
+import com.navneet.trade.entity.Instruments;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Instrument master CSV to Instruments mapping, on pre-parsed records and including CSV parsing
+ * @author navneet.prabhakar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentCsvMappingBenchmark {
+
+  @Param({"10000", "100000"})
+  private int rows;
+
+  private String csv;
+  private List<CSVRecord> records;
+  private final InstrumentIngestHelper helper = new InstrumentIngestHelper();
+
+  @Setup
+  public void setup() throws IOException {
+    csv = Fixtures.instrumentsCsv(rows);
+    try (CSVParser parser = parser(csv)) {
+      records = parser.getRecords();
+    }
+  }
+
+  @Benchmark
+  public void mapRecords(Blackhole blackhole) {
+    for (CSVRecord record : records) {
+      blackhole.consume(helper.mapCsvRecordToInstrument(record));
+    }
+  }
+
+  @Benchmark
+  public void parseAndMap(Blackhole blackhole) throws IOException {
+    try (CSVParser parser = parser(csv)) {
+      for (CSVRecord record : parser) {
+        Instruments instrument = helper.mapCsvRecordToInstrument(record);
+        blackhole.consume(instrument);
+      }
+    }
+  }
+
+  // Same format as InstrumentIngestHelper#stage
+  private static CSVParser parser(String csv) throws IOException {
+    return new CSVParser(new StringReader(csv), CSVFormat.DEFAULT
+        .withFirstRecordAsHeader()
+        .withIgnoreHeaderCase()
+        .withTrim());
+  }
+}
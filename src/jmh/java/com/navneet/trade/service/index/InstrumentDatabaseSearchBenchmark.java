@@ -0,0 +1,103 @@
+package com.navneet.trade.service.index;
+
+import com.navneet.trade.entity.Instruments;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Instrument search against the loaded instruments table: the LIKE query behind the repository
+ * fallback of fetch_entities compared with the in-memory index built from the same rows. Needs
+ * DB_URL, DB_USERNAME and DB_PASSWORD and is excluded from the default benchmark run.
+ * @author navneet.prabhakar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentDatabaseSearchBenchmark {
+
+  // Equivalent of findDistinctByNameContainingIgnoreCaseAndExchangeAndSegment
+  private static final String LIKE_SQL = "SELECT DISTINCT * FROM instruments "
+      + "WHERE UPPER(name) LIKE UPPER(?) AND exchange = ? AND segment = ?";
+  private static final String PARTITION_SQL = "SELECT id, exchange, trading_symbol, name, segment "
+      + "FROM instruments WHERE exchange = ? AND segment = ?";
+
+  @Param({"RELIANCE", "tata"})
+  private String query;
+
+  private Connection connection;
+  private PreparedStatement likeQuery;
+  private InstrumentPartition partition;
+
+  @Setup
+  public void setup() throws SQLException {
+    String url = System.getenv("DB_URL");
+    if (url == null) {
+      throw new IllegalStateException("Set DB_URL, DB_USERNAME and DB_PASSWORD to run the database benchmark");
+    }
+    connection = DriverManager.getConnection(url, System.getenv("DB_USERNAME"), System.getenv("DB_PASSWORD"));
+    likeQuery = connection.prepareStatement(LIKE_SQL);
+    List<Instruments> rows = new ArrayList<>();
+    try (PreparedStatement statement = connection.prepareStatement(PARTITION_SQL)) {
+      statement.setString(1, "NSE");
+      statement.setString(2, "CASH");
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          rows.add(Instruments.builder()
+              .id(resultSet.getLong("id"))
+              .exchange(resultSet.getString("exchange"))
+              .tradingSymbol(resultSet.getString("trading_symbol"))
+              .name(resultSet.getString("name"))
+              .segment(resultSet.getString("segment"))
+              .build());
+        }
+      }
+    }
+    partition = InstrumentPartition.build(rows);
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    likeQuery.close();
+    connection.close();
+  }
+
+  @Benchmark
+  public int likeQuery() throws SQLException {
+    likeQuery.setString(1, "%" + query + "%");
+    likeQuery.setString(2, "NSE");
+    likeQuery.setString(3, "CASH");
+    int matches = 0;
+    try (ResultSet resultSet = likeQuery.executeQuery()) {
+      while (resultSet.next()) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public List<Instruments> index() {
+    return partition.findContaining(query);
+  }
+}
@@ -0,0 +1,68 @@
+package com.navneet.trade.service.index;
+
+import com.navneet.trade.benchmark.Fixtures;
+import com.navneet.trade.entity.Instruments;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * In-memory instrument search without a database: substring lookup as used by fetch_entities and
+ * ranked, typo tolerant search as used by search_instruments
+ * @author navneet.prabhakar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentSearchBenchmark {
+
+  @Param({"10000", "100000"})
+  private int instruments;
+
+  private List<Instruments> rows;
+  private InstrumentPartition partition;
+
+  @Setup
+  public void setup() {
+    rows = Fixtures.instruments(instruments);
+    partition = InstrumentPartition.build(rows);
+  }
+
+  @Benchmark
+  public List<Instruments> substring() {
+    return partition.findContaining("tata");
+  }
+
+  @Benchmark
+  public List<Instruments> substringShortQuery() {
+    return partition.findContaining("it");
+  }
+
+  @Benchmark
+  public List<RankedInstrument> rankExact() {
+    return partition.rank("infosys", null, 20, 0);
+  }
+
+  @Benchmark
+  public List<RankedInstrument> rankTypo() {
+    return partition.rank("relaince", null, 20, 0);
+  }
+
+  @Benchmark
+  public InstrumentPartition build() {
+    return InstrumentPartition.build(rows);
+  }
+}
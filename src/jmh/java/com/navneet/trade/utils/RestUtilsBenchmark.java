@@ -0,0 +1,126 @@
+package com.navneet.trade.utils;
+
+import com.navneet.trade.benchmark.Fixtures;
+import com.navneet.trade.benchmark.GrowwStubServer;
+import com.navneet.trade.config.HttpClientConfig;
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.models.response.OrderListResponse;
+import com.navneet.trade.models.response.PositionsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Query string building and full GET round trips through RestUtils and the pooled client against
+ * a local Groww stub serving recorded responses
+ * @author navneet.prabhakar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestUtilsBenchmark {
+
+  private final Map<String, String> historicParams = new LinkedHashMap<>();
+  private final Map<String, String> orderListParams = Map.of("segment", "CASH", "page", "0", "page_size", "100");
+  private final Header[] headers = {
+      new BasicHeader("Authorization", "Bearer benchmark"),
+      new BasicHeader("Content-Type", "application/json"),
+      new BasicHeader("X-API-VERSION", "1.0")
+  };
+
+  private GrowwStubServer stub;
+  private PoolingHttpClientConnectionManager connectionManager;
+  private CloseableHttpClient httpClient;
+  private RestUtils restUtils;
+  private EndpointRegistry endpoints;
+
+  @Setup
+  public void setup() throws IOException {
+    historicParams.put("exchange", "NSE");
+    historicParams.put("segment", "CASH");
+    historicParams.put("trading_symbol", "M&M");
+    historicParams.put("start_time", "1767584700");
+    historicParams.put("end_time", "1767607200");
+    historicParams.put("interval_in_minutes", "1");
+
+    stub = new GrowwStubServer()
+        .route("order/list", Fixtures.resource("order_list.json"))
+        .route("positions/user", Fixtures.resource("positions.json"));
+    GrowwConstants constants = Fixtures.constants(stub.baseUrl());
+    // measure client overhead, not quota waits
+    constants.getRateLimit().setEnabled(false);
+    HttpClientConfig clientConfig = new HttpClientConfig();
+    connectionManager = clientConfig.growwConnectionManager(constants);
+    httpClient = clientConfig.growwHttpClient(connectionManager, constants);
+
+    endpoints = new EndpointRegistry();
+    ReflectionTestUtils.setField(endpoints, "constants", constants);
+    endpoints.compile();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    LatencyMetrics metrics = new LatencyMetrics();
+    ReflectionTestUtils.setField(metrics, "registry", registry);
+    GrowwRateLimiter rateLimiter = new GrowwRateLimiter();
+    ReflectionTestUtils.setField(rateLimiter, "constants", constants);
+    ReflectionTestUtils.setField(rateLimiter, "registry", registry);
+    rateLimiter.init();
+    GrowwResilience resilience = new GrowwResilience();
+    ReflectionTestUtils.setField(resilience, "constants", constants);
+    ReflectionTestUtils.setField(resilience, "registry", registry);
+    resilience.init();
+
+    restUtils = new RestUtils();
+    ReflectionTestUtils.setField(restUtils, "httpClient", httpClient);
+    ReflectionTestUtils.setField(restUtils, "constants", constants);
+    ReflectionTestUtils.setField(restUtils, "endpoints", endpoints);
+    ReflectionTestUtils.setField(restUtils, "metrics", metrics);
+    ReflectionTestUtils.setField(restUtils, "rateLimiter", rateLimiter);
+    ReflectionTestUtils.setField(restUtils, "resilience", resilience);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    httpClient.close();
+    connectionManager.close();
+    stub.close();
+  }
+
+  @Benchmark
+  public String addParams() {
+    return restUtils.addParams(endpoints.url(GrowwEndpoint.HISTORIC_DATA), historicParams);
+  }
+
+  @Benchmark
+  public ResponseEntity<OrderListResponse> orderListRoundTrip() {
+    return restUtils.restGetCall(endpoints.url(GrowwEndpoint.ORDER_LIST), headers, orderListParams,
+        OrderListResponse.class);
+  }
+
+  @Benchmark
+  public ResponseEntity<PositionsResponse> positionsRoundTrip() {
+    return restUtils.restGetCall(endpoints.url(GrowwEndpoint.POSITIONS), headers, Map.of("segment", "CASH"),
+        PositionsResponse.class);
+  }
+}
@@ -0,0 +1,34 @@
+package com.navneet.trade.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @author navneet.prabhakar
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+  // Virtual thread per task executor for Groww REST calls, a blocked broker call only parks a virtual thread
+  @Bean(name = "growwRestExecutor", destroyMethod = "close")
+  public ExecutorService growwRestExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+
+  // CPU bound pool for parsing, validating and encoding instrument master chunks during bulk ingest
+  @Bean(name = "instrumentIngestExecutor", destroyMethod = "close")
+  public ExecutorService instrumentIngestExecutor() {
+    return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  // Single job thread so instrument master merges never overlap; interrupted on shutdown, jobs resume on the next start
+  @Bean(name = "ingestJobExecutor", destroyMethod = "shutdownNow")
+  public ExecutorService ingestJobExecutor() {
+    return Executors.newSingleThreadExecutor();
+  }
+
+}
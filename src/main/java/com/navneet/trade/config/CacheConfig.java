@@ -15,16 +15,16 @@ import org.springframework.context.annotation.Configuration;
 @EnableCaching
 public class CacheConfig {
 
-  // Define Caffeine cache with a default expiration time of 60 minutes
+  // Default for caches not declared under cache.specs: 60 minute expiry, bounded, with statistics
   @Bean
   public Caffeine<Object, Object> caffeineConfig() {
-    return Caffeine.newBuilder().expireAfterWrite(60, TimeUnit.MINUTES);
+    return Caffeine.newBuilder().expireAfterWrite(60, TimeUnit.MINUTES).maximumSize(10_000).recordStats();
   }
 
-  // Configure CacheManager to use Caffeine
+  // Configure CacheManager to use Caffeine; the named caches are registered by CacheRegistry
   @Bean
   public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
-    CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager("growwToken");
+    CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
     caffeineCacheManager.setCaffeine(caffeine);
     return caffeineCacheManager;
   }
@@ -0,0 +1,97 @@
+package com.navneet.trade.config;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.utils.RequestTimings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Long-lived, pooled HTTP client shared by all Groww API calls, so connections (and their TLS
+ * sessions) are reused across MCP tool calls instead of being re-established per request.
+ *
+ * @author navneet.prabhakar
+ */
+@Configuration
+public class HttpClientConfig {
+
+  @Bean(destroyMethod = "close")
+  public PoolingHttpClientConnectionManager growwConnectionManager(GrowwConstants constants) {
+    GrowwConstants.Http http = constants.getHttp();
+    return PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(http.getMaxTotalConnections())
+        .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+        .setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(http.getConnectTimeoutMs()))
+            .setSocketTimeout(Timeout.ofMilliseconds(http.getSocketTimeoutMs()))
+            .setTimeToLive(TimeValue.ofSeconds(http.getConnectionTtlSeconds()))
+            .setValidateAfterInactivity(TimeValue.ofMilliseconds(http.getValidateAfterInactivityMs()))
+            .build())
+        .build();
+  }
+
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient growwHttpClient(PoolingHttpClientConnectionManager growwConnectionManager,
+      GrowwConstants constants) {
+    GrowwConstants.Http http = constants.getHttp();
+    TimeValue keepAlive = TimeValue.ofSeconds(http.getKeepAliveSeconds());
+    return HttpClients.custom()
+        .setConnectionManager(growwConnectionManager)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(http.getConnectionRequestTimeoutMs()))
+            .setResponseTimeout(Timeout.ofMilliseconds(http.getResponseTimeoutMs()))
+            .build())
+        .setKeepAliveStrategy((response, context) -> keepAlive)
+        // Retries are owned by RestUtils, which knows which calls are safe to repeat
+        .disableAutomaticRetries()
+        .addExecInterceptorAfter(ChainElement.CONNECT.name(), "groww-timings", requestTimings())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofSeconds(http.getIdleEvictSeconds()))
+        .build();
+  }
+
+  // Runs between connection setup and request transmission, marking the connect and response header phases
+  private static ExecChainHandler requestTimings() {
+    return (request, scope, chain) -> {
+      Object attribute = scope.clientContext.getAttribute(RequestTimings.ATTRIBUTE);
+      if (!(attribute instanceof RequestTimings timings)) {
+        return chain.proceed(request, scope);
+      }
+      timings.connected();
+      ClassicHttpResponse response = chain.proceed(request, scope);
+      timings.responseReceived();
+      return response;
+    };
+  }
+
+  // Publish connection pool statistics (leased, pending, available, max) as gauges
+  @Bean
+  public MeterBinder growwConnectionPoolMetrics(PoolingHttpClientConnectionManager growwConnectionManager) {
+    return registry -> {
+      Gauge.builder("groww.http.pool.leased", growwConnectionManager, cm -> cm.getTotalStats().getLeased())
+          .description("Connections currently leased from the Groww HTTP pool")
+          .register(registry);
+      Gauge.builder("groww.http.pool.pending", growwConnectionManager, cm -> cm.getTotalStats().getPending())
+          .description("Requests waiting for a connection from the Groww HTTP pool")
+          .register(registry);
+      Gauge.builder("groww.http.pool.available", growwConnectionManager, cm -> cm.getTotalStats().getAvailable())
+          .description("Idle connections available in the Groww HTTP pool")
+          .register(registry);
+      Gauge.builder("groww.http.pool.max", growwConnectionManager, cm -> cm.getTotalStats().getMax())
+          .description("Maximum connections allowed in the Groww HTTP pool")
+          .register(registry);
+    };
+  }
+}
@@ -0,0 +1,11 @@
+package com.navneet.trade.constants;
+
+/**
+ * Groww API rate limit categories, each with its own per second and per minute quota
+ * @author navneet.prabhakar
+ */
+public enum ApiCategory {
+  ORDERS,
+  LIVE_DATA,
+  NON_TRADING
+}
@@ -0,0 +1,48 @@
+package com.navneet.trade.constants;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Named caches and their freshness and size bounds (cache.specs.*)
+ * @author navneet.prabhakar
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+public class CacheConstants {
+
+  public static final String INSTRUMENTS = "instruments";
+  public static final String HOLDINGS = "holdings";
+  public static final String POSITIONS = "positions";
+  public static final String ORDER_DETAILS = "orderDetails";
+  public static final String HISTORIC_CANDLES = "historicCandles";
+
+  private Map<String, Spec> specs = new HashMap<>(Map.of(
+      INSTRUMENTS, new Spec(43_200_000, 3_600_000, 200_000),
+      HOLDINGS, new Spec(60_000, 15_000, 5_000),
+      POSITIONS, new Spec(5_000, 0, 5_000),
+      ORDER_DETAILS, new Spec(2_000, 0, 10_000),
+      HISTORIC_CANDLES, new Spec(600_000, 0, 2_000_000)));
+
+  /**
+   * Settings of one cache
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Spec {
+
+    // entries are dropped this long after they were loaded, 0 keeps them until evicted by weight
+    private long expireAfterWriteMs;
+    // entries older than this are reloaded in the background on access while the old value is served, 0 disables
+    private long refreshAfterWriteMs;
+    // bound on the summed entry weights (rows, positions, candles), 0 leaves the cache unbounded
+    private long maxWeight;
+  }
+}
@@ -1,5 +1,7 @@
 package com.navneet.trade.constants;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.Getter;
 
 /**
@@ -7,23 +9,60 @@ import lombok.Getter;
  */
 @Getter
 public enum CandleIntervals {
-  ONE_MINUTE("1minute"),
-  TWO_MINUTES("2minute"),
-  THREE_MINUTES("3minute"),
-  FIVE_MINUTES("5minute"),
-  TEN_MINUTES("10minute"),
-  FIFTEEN_MINUTES("15minute"),
-  THIRTY_MINUTES("30minute"),
-  ONE_HOUR("1hour"),
-  FOUR_HOURS("4hour"),
-  ONE_DAY("1day"),
-  ONE_WEEK("1week"),
-  ONE_MONTH("1month");
+  ONE_MINUTE("1minute", 1),
+  TWO_MINUTES("2minute", 2),
+  THREE_MINUTES("3minute", 3),
+  FIVE_MINUTES("5minute", 5),
+  TEN_MINUTES("10minute", 10),
+  FIFTEEN_MINUTES("15minute", 15),
+  THIRTY_MINUTES("30minute", 30),
+  ONE_HOUR("1hour", 60),
+  FOUR_HOURS("4hour", 240),
+  ONE_DAY("1day", 1440),
+  ONE_WEEK("1week", 10080),
+  ONE_MONTH("1month", 43200);
 
+  @JsonValue
   private final String interval;
+  // Value sent as interval_in_minutes to the Groww historic data API
+  private final int minutes;
 
-  CandleIntervals(String interval) {
+  CandleIntervals(String interval, int minutes) {
     this.interval = interval;
+    this.minutes = minutes;
   }
 
+  /**
+   * Parse an interval given as its string value, e.g. "5minute", or as its length in minutes, e.g.
+   * 5 or "5". Without this a bare number would be read as the ordinal of the constant.
+   * @throws IllegalArgumentException If the value matches no interval
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+  public static CandleIntervals from(Object value) {
+    if (value instanceof Number number) {
+      if (number.doubleValue() == number.intValue()) {
+        return ofMinutes(number.intValue());
+      }
+    } else if (value instanceof String text) {
+      String trimmed = text.trim();
+      for (CandleIntervals candidate : values()) {
+        if (candidate.interval.equalsIgnoreCase(trimmed)) {
+          return candidate;
+        }
+      }
+      if (!trimmed.isEmpty() && trimmed.chars().allMatch(Character::isDigit) && trimmed.length() <= 9) {
+        return ofMinutes(Integer.parseInt(trimmed));
+      }
+    }
+    throw new IllegalArgumentException("Unknown candle interval " + value);
+  }
+
+  private static CandleIntervals ofMinutes(int minutes) {
+    for (CandleIntervals candidate : values()) {
+      if (candidate.minutes == minutes) {
+        return candidate;
+      }
+    }
+    throw new IllegalArgumentException("No candle interval of " + minutes + " minutes");
+  }
 }
@@ -1,8 +1,21 @@
 package com.navneet.trade.constants;
 
+import java.time.LocalTime;
+import lombok.Getter;
+
 /**
  * @author navneet.prabhakar
  */
+@Getter
 public enum Exchange {
-  NSE,BSE,MCX
+  NSE(LocalTime.of(9, 15)),
+  BSE(LocalTime.of(9, 15)),
+  MCX(LocalTime.of(9, 0));
+
+  // Session open in IST, intraday candle buckets are aligned to it
+  private final LocalTime sessionOpen;
+
+  Exchange(LocalTime sessionOpen) {
+    this.sessionOpen = sessionOpen;
+  }
 }
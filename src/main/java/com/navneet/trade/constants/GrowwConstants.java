@@ -1,6 +1,10 @@
 package com.navneet.trade.constants;
 
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -28,5 +32,173 @@ public class GrowwConstants {
   private String orderStatusUrl;
   private String orderStatusReferenceUrl;
   private String orderTradesUrl;
+  private Http http = new Http();
+  private CandleStore candleStore = new CandleStore();
+  private Token token = new Token();
+  private RateLimit rateLimit = new RateLimit();
+  private Resilience resilience = new Resilience();
+  private Coalescing coalescing = new Coalescing();
+  private OrderBook orderBook = new OrderBook();
+  private Paging paging = new Paging();
+  private Batch batch = new Batch();
+  private PreTrade preTrade = new PreTrade();
+  private Slicing slicing = new Slicing();
+
+  /**
+   * Connection pool and timeout settings for the shared Groww HTTP client (groww.http.*)
+   */
+  @Data
+  public static class Http {
+
+    private int maxTotalConnections = 50;
+    private int maxConnectionsPerRoute = 20;
+    private long connectTimeoutMs = 3000;
+    private long socketTimeoutMs = 10000;
+    private long responseTimeoutMs = 10000;
+    private long connectionRequestTimeoutMs = 2000;
+    private long keepAliveSeconds = 30;
+    private long idleEvictSeconds = 60;
+    private long connectionTtlSeconds = 300;
+    private long validateAfterInactivityMs = 2000;
+    private boolean logBodies = false;
+    private int logBodyMaxBytes = 2048;
+  }
+
+  /**
+   * Local candle store settings (groww.candle-store.*)
+   */
+  @Data
+  public static class CandleStore {
+
+    private boolean enabled = true;
+  }
+
+  /**
+   * Access token refresh settings (groww.token.*)
+   */
+  @Data
+  public static class Token {
+
+    private long refreshAheadSeconds = 300;
+    private long checkIntervalMs = 30000;
+    private long fallbackTtlMinutes = 60;
+  }
+
+  /**
+   * Client side quotas per API category (groww.rate-limit.*), defaults follow the broker limits
+   */
+  @Data
+  public static class RateLimit {
+
+    private boolean enabled = true;
+    // longest a read waits for a permit before it is failed with 429
+    private long readMaxWaitMs = 5000;
+    // longest an order placement, modification or cancellation waits for a permit
+    private long orderMaxWaitMs = 2000;
+    private Quota orders = new Quota(10, 250);
+    private Quota liveData = new Quota(10, 300);
+    private Quota nonTrading = new Quota(20, 500);
+  }
+
+  /**
+   * Retry, hedging and circuit breaker settings for Groww API calls (groww.resilience.*)
+   */
+  @Data
+  public static class Resilience {
+
+    // attempts per call including the first; POSTs are only retried when safe
+    private int maxAttempts = 3;
+    private long initialBackoffMs = 100;
+    private long maxBackoffMs = 2000;
+    // send a second GET when the first has not answered within this time, 0 disables hedging
+    private long hedgeAfterMs = 0;
+    // consecutive failures (IO errors and 5xx) that open the circuit of an endpoint
+    private int breakerFailureThreshold = 5;
+    private long breakerOpenMs = 10000;
+  }
+
+  /**
+   * Sharing of identical concurrent read calls (groww.coalescing.*)
+   */
+  @Data
+  public static class Coalescing {
+
+    private boolean enabled = true;
+    // how long a completed response keeps answering identical calls, per endpoint; 0 shares in-flight calls only
+    private Map<GrowwEndpoint, Long> ttlMs = new EnumMap<>(Map.of(
+        GrowwEndpoint.HOLDINGS, 1000L,
+        GrowwEndpoint.POSITIONS, 500L,
+        GrowwEndpoint.ORDER_LIST, 250L));
+  }
+
+  /**
+   * Local order book mirror and its reconciliation (groww.order-book.*)
+   */
+  @Data
+  public static class OrderBook {
+
+    private boolean enabled = true;
+    // how often open orders are reconciled against the order list
+    private long pollIntervalMs = 3000;
+    private int pageSize = 100;
+    private int maxPages = 10;
+    // open orders not confirmed by the broker for this long are fetched again instead of served from memory
+    private long maxStalenessMs = 10000;
+    // finished orders are dropped from the mirror after this long
+    private long retentionMs = 86_400_000;
+  }
+
+  /**
+   * Full scans of paginated lists (groww.paging.*)
+   */
+  @Data
+  public static class Paging {
+
+    // pages fetched at once; pages past the last one may be requested before it is seen
+    private int concurrency = 4;
+    private int maxPages = 50;
+    private int orderPageSize = 100;
+    private int tradePageSize = 50;
+  }
+
+  /**
+   * Batch order placement (groww.batch.*)
+   */
+  @Data
+  public static class Batch {
+
+    // orders accepted in one create_orders_batch call
+    private int maxLegs = 20;
+  }
+
+  /**
+   * Local checks of new orders against the instrument master (groww.pre-trade.*)
+   */
+  @Data
+  public static class PreTrade {
+
+    private boolean enabled = true;
+    // orders for symbols missing from the instrument master are rejected, disable while it is stale
+    private boolean rejectUnknownInstruments = true;
+  }
+
+  /**
+   * Splitting of orders above the freeze quantity (groww.slicing.*)
+   */
+  @Data
+  public static class Slicing {
+
+    // orders needing more child orders than this are rejected
+    private int maxSlices = 20;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Quota {
+
+    private int perSecond;
+    private int perMinute;
+  }
 
 }
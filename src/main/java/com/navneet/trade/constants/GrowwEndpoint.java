@@ -0,0 +1,39 @@
+package com.navneet.trade.constants;
+
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * Groww API endpoints, each resolved against groww.base-url from its configured path. Endpoints
+ * addressing a single order take the order id as a trailing path segment. Each endpoint counts
+ * against the quota of its rate limit category; token generation is not rate limited.
+ * @author navneet.prabhakar
+ */
+@Getter
+public enum GrowwEndpoint {
+  TOKEN("POST", false, null, GrowwConstants::getTokenUrl),
+  HISTORIC_DATA("GET", false, ApiCategory.LIVE_DATA, GrowwConstants::getHistoricDataUrl),
+  HOLDINGS("GET", false, ApiCategory.NON_TRADING, GrowwConstants::getHoldingsUrl),
+  POSITIONS("GET", false, ApiCategory.NON_TRADING, GrowwConstants::getPositionsUrl),
+  POSITIONS_TRADING("GET", false, ApiCategory.NON_TRADING, GrowwConstants::getPositionsTradingUrl),
+  ORDER_LIST("GET", false, ApiCategory.NON_TRADING, GrowwConstants::getOrderListUrl),
+  ORDER_DETAILS("GET", true, ApiCategory.NON_TRADING, GrowwConstants::getOrderDetailsUrl),
+  CREATE_ORDER("POST", false, ApiCategory.ORDERS, GrowwConstants::getCreateOrderUrl),
+  MODIFY_ORDER("POST", false, ApiCategory.ORDERS, GrowwConstants::getModifyOrderUrl),
+  CANCEL_ORDER("POST", false, ApiCategory.ORDERS, GrowwConstants::getCancelOrderUrl),
+  ORDER_STATUS("GET", true, ApiCategory.NON_TRADING, GrowwConstants::getOrderStatusUrl),
+  ORDER_STATUS_REFERENCE("GET", true, ApiCategory.NON_TRADING, GrowwConstants::getOrderStatusReferenceUrl),
+  ORDER_TRADES("GET", true, ApiCategory.NON_TRADING, GrowwConstants::getOrderTradesUrl);
+
+  private final String method;
+  private final boolean orderScoped;
+  private final ApiCategory category;
+  private final Function<GrowwConstants, String> path;
+
+  GrowwEndpoint(String method, boolean orderScoped, ApiCategory category, Function<GrowwConstants, String> path) {
+    this.method = method;
+    this.orderScoped = orderScoped;
+    this.category = category;
+    this.path = path;
+  }
+}
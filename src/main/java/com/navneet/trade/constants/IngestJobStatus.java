@@ -0,0 +1,18 @@
+package com.navneet.trade.constants;
+
+/**
+ * Lifecycle of an instrument master ingest job
+ * @author navneet.prabhakar
+ */
+public enum IngestJobStatus {
+  QUEUED,
+  RUNNING,
+  MERGING,
+  COMPLETED,
+  FAILED,
+  CANCELLED;
+
+  public boolean isFinished() {
+    return this == COMPLETED || this == FAILED || this == CANCELLED;
+  }
+}
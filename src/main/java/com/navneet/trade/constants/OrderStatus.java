@@ -16,5 +16,45 @@ public enum OrderStatus {
   CANCELLED,
   CANCELLATION_REQUESTED,
   MODIFICATION_REQUESTED,
-  COMPLETED
+  COMPLETED;
+
+  /**
+   * Statuses an order never leaves
+   */
+  public boolean isTerminal() {
+    return this == REJECTED || this == FAILED || this == CANCELLED || this == COMPLETED;
+  }
+
+  /**
+   * Order lifecycle: open orders (new, acknowledged, pending, or with a modification or
+   * cancellation requested) may move to any status but NEW, executed orders only towards delivery
+   * and completion, and terminal orders nowhere. Staying in the same status is always allowed.
+   */
+  public boolean canTransitionTo(OrderStatus next) {
+    if (next == this) {
+      return true;
+    }
+    if (isTerminal() || next == NEW) {
+      return false;
+    }
+    if (this == EXECUTED || this == DELIVERY_AWAITED) {
+      return next == DELIVERY_AWAITED || next == COMPLETED;
+    }
+    return true;
+  }
+
+  /**
+   * Parse a status reported by Groww
+   * @return The status, or null if it is absent or unknown
+   */
+  public static OrderStatus from(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
 }
@@ -1,12 +1,23 @@
 package com.navneet.trade.controller;
 
+import com.navneet.trade.models.response.IngestJobResponse;
 import com.navneet.trade.models.response.TokenResponse;
 import com.navneet.trade.service.GrowwService;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * @author navneet.prabhakar
@@ -24,9 +35,38 @@ public class GrowwController {
   }
 
   @GetMapping("/ingest-instruments")
-  public String ingestInstrumentsData(@RequestParam(name = "filepath") String filePath) {
-    service.ingestInstrumentsData(filePath);
-    return "Ingestion initiated for file: " + filePath;
+  public IngestJobResponse ingestInstrumentsData(@RequestParam(name = "filepath") String filePath) {
+    return service.ingestInstrumentsData(filePath);
+  }
+
+  // Raw CSV or gzipped CSV body, read straight from the request stream
+  @PostMapping(value = "/ingest-instruments", consumes = {"text/csv", "application/gzip",
+      MediaType.APPLICATION_OCTET_STREAM_VALUE})
+  public IngestJobResponse uploadInstrumentsData(HttpServletRequest request,
+      @RequestParam(name = "name", defaultValue = "instruments.csv") String name) throws IOException {
+    return service.uploadInstrumentsData(request.getInputStream(), name);
+  }
+
+  @PostMapping(value = "/ingest-instruments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public IngestJobResponse uploadInstrumentsFile(@RequestPart("file") MultipartFile file) throws IOException {
+    return service.uploadInstrumentsData(file.getInputStream(), file.getOriginalFilename());
+  }
+
+  @GetMapping("/ingest-jobs")
+  public List<IngestJobResponse> listIngestJobs() {
+    return service.listIngestJobs();
+  }
+
+  @GetMapping("/ingest-jobs/{jobId}")
+  public ResponseEntity<IngestJobResponse> getIngestJob(@PathVariable String jobId) {
+    IngestJobResponse job = service.getIngestJob(jobId);
+    return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+  }
+
+  @DeleteMapping("/ingest-jobs/{jobId}")
+  public ResponseEntity<IngestJobResponse> cancelIngestJob(@PathVariable String jobId) {
+    IngestJobResponse job = service.cancelIngestJob(jobId);
+    return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
   }
 
 }
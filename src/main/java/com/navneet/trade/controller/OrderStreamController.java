@@ -0,0 +1,62 @@
+package com.navneet.trade.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navneet.trade.constants.Segment;
+import com.navneet.trade.service.OrderService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams every order or trade of a paginated list as newline delimited JSON, one item per line
+ * written as soon as its page arrives, so clients can process large lists without waiting for the
+ * whole scan or holding it in memory.
+ *
+ * @author navneet.prabhakar
+ */
+@RestController
+@RequestMapping("v1/groww/orders")
+public class OrderStreamController {
+
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+  @Autowired private OrderService orderService;
+  @Autowired private ObjectMapper objectMapper;
+
+  @GetMapping("/stream")
+  public ResponseEntity<StreamingResponseBody> streamOrders(@RequestParam(name = "segment") Segment segment) {
+    return ndjson(out -> orderService.scanOrders(segment, writer(out)));
+  }
+
+  @GetMapping("/{orderId}/trades/stream")
+  public ResponseEntity<StreamingResponseBody> streamTrades(@PathVariable String orderId,
+      @RequestParam(name = "segment") Segment segment) {
+    return ndjson(out -> orderService.scanTradesForOrder(orderId, segment, writer(out)));
+  }
+
+  private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+    return ResponseEntity.ok().contentType(NDJSON).body(body);
+  }
+
+  private <T> Consumer<T> writer(OutputStream out) {
+    return item -> {
+      try {
+        out.write(objectMapper.writeValueAsBytes(item));
+        out.write('\n');
+        out.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+  }
+}
@@ -0,0 +1,75 @@
+package com.navneet.trade.entity;
+
+import com.navneet.trade.constants.IngestJobStatus;
+import com.navneet.trade.models.response.IngestResponse;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * State of one instrument master ingest, mirrored to the ingest_jobs table at every committed
+ * batch. Counters are written by the thread running the job and read by progress requests.
+ *
+ * @author navneet.prabhakar
+ */
+@Getter
+public class IngestJob {
+
+  private final String jobId;
+  private final String source;
+  private final String filePath;
+  private final long createdAt;
+  private final AtomicLong rowsParsed = new AtomicLong();
+
+  @Setter private volatile IngestJobStatus status = IngestJobStatus.QUEUED;
+  @Setter private volatile String error;
+  @Setter private volatile IngestResponse summary;
+  @Setter private volatile long finishedAt;
+
+  private volatile long startedAt;
+  private volatile long recordsCommitted;
+  private volatile long rowsStaged;
+  private volatile long rowsRejected;
+  private volatile boolean cancelRequested;
+
+  /**
+   * @param jobId Job id, also the ingest id of its staged rows
+   * @param source File path or upload name shown in progress
+   * @param filePath Server side file, null for uploads which cannot be resumed
+   * @param createdAt Creation time in epoch millis
+   */
+  public IngestJob(String jobId, String source, String filePath, long createdAt) {
+    this.jobId = jobId;
+    this.source = source;
+    this.filePath = filePath;
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * Restore the last checkpoint of a job that was interrupted by a restart
+   */
+  public void restore(long recordsCommitted, long rowsStaged, long rowsRejected) {
+    this.recordsCommitted = recordsCommitted;
+    this.rowsStaged = rowsStaged;
+    this.rowsRejected = rowsRejected;
+    this.rowsParsed.set(recordsCommitted);
+  }
+
+  public void start() {
+    this.startedAt = System.currentTimeMillis();
+    this.status = IngestJobStatus.RUNNING;
+  }
+
+  /**
+   * Record a batch of CSV records copied to staging
+   */
+  public void committed(int records, int staged, int rejected) {
+    this.recordsCommitted += records;
+    this.rowsStaged += staged;
+    this.rowsRejected += rejected;
+  }
+
+  public void requestCancel() {
+    this.cancelRequested = true;
+  }
+}
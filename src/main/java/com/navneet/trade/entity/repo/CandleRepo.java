@@ -0,0 +1,131 @@
+package com.navneet.trade.entity.repo;
+
+import com.navneet.trade.models.response.CandleSeries;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC repository for the local candle store. Candles are read and written column-wise through
+ * CandleSeries, so no entity object is created per candle.
+ *
+ * @author navneet.prabhakar
+ */
+@Repository
+public class CandleRepo {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private static final String UPSERT_CANDLE =
+      "INSERT INTO candles (exchange, segment, trading_symbol, interval_minutes, candle_time, open, high, low, close, volume) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+          + "ON CONFLICT (exchange, segment, trading_symbol, interval_minutes, candle_time) DO UPDATE SET "
+          + "open = EXCLUDED.open, high = EXCLUDED.high, low = EXCLUDED.low, close = EXCLUDED.close, volume = EXCLUDED.volume";
+
+  private static final String SELECT_CANDLES =
+      "SELECT candle_time, open, high, low, close, volume FROM candles "
+          + "WHERE exchange = ? AND segment = ? AND trading_symbol = ? AND interval_minutes = ? "
+          + "AND candle_time BETWEEN ? AND ? ORDER BY candle_time";
+
+  private static final String SELECT_RANGES =
+      "SELECT start_time, end_time FROM candle_ranges "
+          + "WHERE exchange = ? AND segment = ? AND trading_symbol = ? AND interval_minutes = ? "
+          + "AND start_time <= ? AND end_time >= ? ORDER BY start_time";
+
+  private static final String DELETE_RANGES =
+      "DELETE FROM candle_ranges "
+          + "WHERE exchange = ? AND segment = ? AND trading_symbol = ? AND interval_minutes = ? "
+          + "AND start_time <= ? AND end_time >= ?";
+
+  private static final String INSERT_RANGE =
+      "INSERT INTO candle_ranges (exchange, segment, trading_symbol, interval_minutes, start_time, end_time) "
+          + "VALUES (?, ?, ?, ?, ?, ?)";
+
+  /**
+   * Identifies one candle series in the store
+   */
+  public record SeriesKey(String exchange, String segment, String tradingSymbol, int intervalMinutes) {
+  }
+
+  /**
+   * Upsert all candles of the series in one JDBC batch
+   * @param key Series key
+   * @param series Candles to store
+   */
+  public void saveCandles(SeriesKey key, CandleSeries series) {
+    if (series == null || series.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(UPSERT_CANDLE, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(PreparedStatement ps, int i) throws SQLException {
+        ps.setString(1, key.exchange());
+        ps.setString(2, key.segment());
+        ps.setString(3, key.tradingSymbol());
+        ps.setInt(4, key.intervalMinutes());
+        ps.setLong(5, series.getTimestamps()[i]);
+        ps.setDouble(6, series.getOpen()[i]);
+        ps.setDouble(7, series.getHigh()[i]);
+        ps.setDouble(8, series.getLow()[i]);
+        ps.setDouble(9, series.getClose()[i]);
+        ps.setLong(10, series.getVolume()[i]);
+      }
+
+      @Override
+      public int getBatchSize() {
+        return series.getSize();
+      }
+    });
+  }
+
+  /**
+   * Load candles with candle_time in [from, to], ordered by time
+   * @param key Series key
+   * @param from Start time in epoch seconds, inclusive
+   * @param to End time in epoch seconds, inclusive
+   * @return CandleSeries with the stored candles
+   */
+  public CandleSeries findCandles(SeriesKey key, long from, long to) {
+    CandleSeries series = new CandleSeries();
+    jdbcTemplate.query(SELECT_CANDLES, (RowCallbackHandler) rs -> series.add(
+            rs.getLong(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5), rs.getLong(6)),
+        key.exchange(), key.segment(), key.tradingSymbol(), key.intervalMinutes(), from, to);
+    return series.trim();
+  }
+
+  /**
+   * Find fetched ranges overlapping [from, to]
+   * @return List of {start, end} pairs ordered by start
+   */
+  public List<long[]> findRanges(SeriesKey key, long from, long to) {
+    return jdbcTemplate.query(SELECT_RANGES, (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)},
+        key.exchange(), key.segment(), key.tradingSymbol(), key.intervalMinutes(), to, from);
+  }
+
+  /**
+   * Record [start, end] as fetched, merging it with overlapping or adjacent ranges so the series
+   * keeps a minimal set of disjoint ranges
+   */
+  @Transactional
+  public void saveRange(SeriesKey key, long start, long end) {
+    List<long[]> touching = findRanges(key, start - 1, end + 1);
+    long mergedStart = start;
+    long mergedEnd = end;
+    for (long[] range : touching) {
+      mergedStart = Math.min(mergedStart, range[0]);
+      mergedEnd = Math.max(mergedEnd, range[1]);
+    }
+    if (!touching.isEmpty()) {
+      jdbcTemplate.update(DELETE_RANGES, key.exchange(), key.segment(), key.tradingSymbol(),
+          key.intervalMinutes(), end + 1, start - 1);
+    }
+    jdbcTemplate.update(INSERT_RANGE, key.exchange(), key.segment(), key.tradingSymbol(),
+        key.intervalMinutes(), mergedStart, mergedEnd);
+  }
+}
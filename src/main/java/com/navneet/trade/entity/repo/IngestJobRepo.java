@@ -0,0 +1,69 @@
+package com.navneet.trade.entity.repo;
+
+import com.navneet.trade.constants.IngestJobStatus;
+import com.navneet.trade.entity.IngestJob;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for ingest job checkpoints and their staged rows. Writes join the caller's
+ * transaction, so a checkpoint commits together with the batch it describes.
+ *
+ * @author navneet.prabhakar
+ */
+@Repository
+public class IngestJobRepo {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private static final String INSERT_JOB =
+      "INSERT INTO ingest_jobs (job_id, source, file_path, status) VALUES (?, ?, ?, ?)";
+
+  private static final String UPDATE_JOB =
+      "UPDATE ingest_jobs SET status = ?, records_committed = ?, rows_staged = ?, rows_rejected = ?, "
+          + "error = ?, updated_at = now() WHERE job_id = ?";
+
+  private static final String SELECT_UNFINISHED =
+      "SELECT job_id, source, file_path, records_committed, rows_staged, rows_rejected, created_at "
+          + "FROM ingest_jobs WHERE status IN ('QUEUED', 'RUNNING', 'MERGING') ORDER BY created_at";
+
+  private static final String COUNT_STAGED = "SELECT count(*) FROM instruments_staging WHERE ingest_id = ?";
+
+  private static final String DELETE_STAGED = "DELETE FROM instruments_staging WHERE ingest_id = ?";
+
+  public void insert(IngestJob job) {
+    jdbcTemplate.update(INSERT_JOB, job.getJobId(), job.getSource(), job.getFilePath(), job.getStatus().name());
+  }
+
+  /**
+   * Persist status and checkpoint of the job
+   */
+  public void save(IngestJob job) {
+    jdbcTemplate.update(UPDATE_JOB, job.getStatus().name(), job.getRecordsCommitted(), job.getRowsStaged(),
+        job.getRowsRejected(), job.getError(), job.getJobId());
+  }
+
+  /**
+   * Jobs that were queued or running when the application stopped, restored to their last checkpoint
+   */
+  public List<IngestJob> findUnfinished() {
+    return jdbcTemplate.query(SELECT_UNFINISHED, (rs, rowNum) -> {
+      IngestJob job = new IngestJob(rs.getString("job_id"), rs.getString("source"),
+          rs.getString("file_path"), rs.getTimestamp("created_at").getTime());
+      job.restore(rs.getLong("records_committed"), rs.getLong("rows_staged"), rs.getLong("rows_rejected"));
+      job.setStatus(IngestJobStatus.QUEUED);
+      return job;
+    });
+  }
+
+  public long countStaged(String jobId) {
+    Long count = jdbcTemplate.queryForObject(COUNT_STAGED, Long.class, jobId);
+    return count == null ? 0 : count;
+  }
+
+  public void deleteStaged(String jobId) {
+    jdbcTemplate.update(DELETE_STAGED, jobId);
+  }
+}
@@ -2,6 +2,7 @@ package com.navneet.trade.entity.repo;
 
 import com.navneet.trade.entity.Instruments;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -22,4 +23,15 @@ public interface InstrumentsRepo extends JpaRepository<Instruments, Long> {
    */
   List<Instruments> findDistinctByNameContainingIgnoreCaseAndExchangeAndSegment(
       String name, String exchange, String segment);
+
+  /**
+   * Finds the instrument with the given trading symbol on an exchange and segment.
+   *
+   * @param exchange      The exchange of the instrument.
+   * @param segment       The segment of the instrument.
+   * @param tradingSymbol The trading symbol.
+   * @return The instrument, empty if it is not in the instrument master.
+   */
+  Optional<Instruments> findFirstByExchangeAndSegmentAndTradingSymbol(
+      String exchange, String segment, String tradingSymbol);
 }
@@ -0,0 +1,25 @@
+package com.navneet.trade.models.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Basket of orders placed together, e.g. the legs of a multi-leg FNO strategy
+ * @author navneet.prabhakar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchOrderRequest {
+
+  private List<CreateOrderRequest> orders;
+
+  // cancel the placed legs when any leg fails, so the basket is not left half executed
+  @JsonProperty("all_or_cancel")
+  private boolean allOrCancel;
+}
@@ -17,8 +17,8 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
-public class CreateOrderRequest {
+@Builder(toBuilder = true)
+public class CreateOrderRequest implements SegmentScoped {
 
   @JsonProperty("trading_symbol")
   private String tradingSymbol;
@@ -1,5 +1,6 @@
 package com.navneet.trade.models.request;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.navneet.trade.constants.CandleIntervals;
 import com.navneet.trade.constants.Exchange;
@@ -22,6 +23,12 @@ public class HistoricDataRequest {
   private Long startTime;
   @JsonProperty("end_time")
   private Long endTime;
+  @JsonAlias({"interval_in_minutes", "intervalInMinutes"})
+  private CandleIntervals interval;
+  // When true, candles are returned as a columnar candle_series instead of a list of candle objects
+  private Boolean compact;
+  // When true, candles for a coarser interval are built locally from stored 1 minute candles
+  private Boolean resample;
 
 
 }
@@ -0,0 +1,22 @@
+package com.navneet.trade.models.request;
+
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.constants.Segment;
+import lombok.Data;
+
+/**
+ * @author navneet.prabhakar
+ */
+@Data
+public class InstrumentSearchRequest {
+
+  private String query;
+  private Exchange exchange;
+  private Segment segment;
+  private String instrumentType;
+  private String expiryDate;
+  private Double strikePrice;
+  private Integer limit;
+  private Double minScore;
+
+}
@@ -9,7 +9,7 @@ import lombok.Data;
  * @author navneet.prabhakar
  */
 @Data
-public class ModifyOrderRequest {
+public class ModifyOrderRequest implements SegmentScoped {
 
   private Integer quantity;
   private Double price;
@@ -0,0 +1,18 @@
+package com.navneet.trade.models.request;
+
+import com.navneet.trade.constants.Exchange;
+import lombok.Data;
+
+/**
+ * @author navneet.prabhakar
+ */
+@Data
+public class OptionChainRequest {
+
+  private String underlying;
+  private Exchange exchange;
+  private String expiryDate;
+  private Double spotPrice;
+  private Integer strikeCount;
+
+}
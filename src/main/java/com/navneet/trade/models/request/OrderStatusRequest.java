@@ -8,7 +8,7 @@ import lombok.Data;
  * @author navneet.prabhakar
  */
 @Data
-public class OrderStatusRequest {
+public class OrderStatusRequest implements SegmentScoped {
   private Segment segment;
   @JsonProperty("groww_order_id")
   private String growwOrderId;
@@ -0,0 +1,12 @@
+package com.navneet.trade.models.request;
+
+import com.navneet.trade.constants.Segment;
+
+/**
+ * Request bodies addressed to a market segment, used to tag Groww API latency by segment
+ * @author navneet.prabhakar
+ */
+public interface SegmentScoped {
+
+  Segment getSegment();
+}
@@ -0,0 +1,55 @@
+package com.navneet.trade.models.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a batch order placement, one leg per order in request order
+ * @author navneet.prabhakar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchOrderResponse {
+
+  // SUCCESS when every leg was placed, PARTIAL when only some were, ROLLED_BACK when the placed legs
+  // of a failed all-or-cancel batch were cancelled, REJECTED when validation failed, FAILED otherwise
+  private String status;
+  // Why a batch was rejected as a whole, e.g. for its size
+  private String message;
+  private List<Leg> legs;
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  @Builder
+  public static class Leg {
+
+    private int index;
+
+    @JsonProperty("trading_symbol")
+    private String tradingSymbol;
+
+    @JsonProperty("order_reference_id")
+    private String orderReferenceId;
+
+    @JsonProperty("groww_order_id")
+    private String growwOrderId;
+
+    // PLACED, FAILED, NOT_SENT, INVALID, CANCELLED or CANCEL_FAILED
+    private String result;
+
+    @JsonProperty("order_status")
+    private String orderStatus;
+
+    private List<String> errors;
+
+    @JsonProperty("latency_ms")
+    private long latencyMs;
+  }
+}
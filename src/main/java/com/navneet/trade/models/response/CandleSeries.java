@@ -0,0 +1,151 @@
+package com.navneet.trade.models.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Columnar, primitive representation of OHLCV candles. Candle i is spread across the parallel
+ * arrays at index i, so a series of any length costs six arrays instead of one object per candle.
+ * Serialized as {"size":n,"timestamps":[..],"open":[..],"high":[..],"low":[..],"close":[..],"volume":[..]}.
+ *
+ * @author navneet.prabhakar
+ */
+@Getter
+@JsonPropertyOrder({"size", "timestamps", "open", "high", "low", "close", "volume"})
+public class CandleSeries {
+
+  private static final int DEFAULT_CAPACITY = 256;
+
+  private int size;
+  private long[] timestamps;
+  private double[] open;
+  private double[] high;
+  private double[] low;
+  private double[] close;
+  private long[] volume;
+
+  public CandleSeries() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public CandleSeries(int capacity) {
+    int initial = Math.max(capacity, 1);
+    this.timestamps = new long[initial];
+    this.open = new double[initial];
+    this.high = new double[initial];
+    this.low = new double[initial];
+    this.close = new double[initial];
+    this.volume = new long[initial];
+  }
+
+  /**
+   * Append a candle, growing the arrays when full
+   */
+  public void add(long timestamp, double open, double high, double low, double close, long volume) {
+    if (size == timestamps.length) {
+      grow(size + (size >> 1) + 1);
+    }
+    this.timestamps[size] = timestamp;
+    this.open[size] = open;
+    this.high[size] = high;
+    this.low[size] = low;
+    this.close[size] = close;
+    this.volume[size] = volume;
+    size++;
+  }
+
+  /**
+   * Shrink the arrays to the number of candles, so serialization emits exactly size values
+   * @return this series
+   */
+  public CandleSeries trim() {
+    if (timestamps.length != size) {
+      grow(size);
+    }
+    return this;
+  }
+
+  @JsonIgnore
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Convert to the row based representation used by HistoricDataResponse
+   * @return List of Candle objects, one per candle in the series
+   */
+  public List<HistoricDataResponse.Candle> toCandles() {
+    List<HistoricDataResponse.Candle> candles = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      HistoricDataResponse.Candle candle = new HistoricDataResponse.Candle();
+      candle.setTimestamp(timestamps[i]);
+      candle.setOpen(open[i]);
+      candle.setHigh(high[i]);
+      candle.setLow(low[i]);
+      candle.setClose(close[i]);
+      candle.setVolume(volume[i]);
+      candles.add(candle);
+    }
+    return candles;
+  }
+
+  private void grow(int capacity) {
+    timestamps = Arrays.copyOf(timestamps, capacity);
+    open = Arrays.copyOf(open, capacity);
+    high = Arrays.copyOf(high, capacity);
+    low = Arrays.copyOf(low, capacity);
+    close = Arrays.copyOf(close, capacity);
+    volume = Arrays.copyOf(volume, capacity);
+  }
+
+  /**
+   * Token level deserializer for the Groww candle format [[timestamp, open, high, low, close, volume], ...].
+   * Values are read straight off the parser into the primitive arrays, no per candle List, boxed
+   * Number or Candle object is created.
+   */
+  public static class CandleSeriesDeserializer extends JsonDeserializer<CandleSeries> {
+    @Override
+    public CandleSeries deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+      if (!parser.isExpectedStartArrayToken()) {
+        return (CandleSeries) context.handleUnexpectedToken(CandleSeries.class, parser);
+      }
+      CandleSeries series = new CandleSeries();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        if (!parser.isExpectedStartArrayToken()) {
+          return (CandleSeries) context.handleUnexpectedToken(CandleSeries.class, parser);
+        }
+        long timestamp = 0;
+        long volume = 0;
+        double open = 0;
+        double high = 0;
+        double low = 0;
+        double close = 0;
+        int field = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          switch (field++) {
+            case 0 -> timestamp = parser.getValueAsLong();
+            case 1 -> open = parser.getValueAsDouble();
+            case 2 -> high = parser.getValueAsDouble();
+            case 3 -> low = parser.getValueAsDouble();
+            case 4 -> close = parser.getValueAsDouble();
+            case 5 -> volume = parser.getValueAsLong();
+            default -> parser.skipChildren();
+          }
+        }
+        if (field >= 5) {
+          series.add(timestamp, open, high, low, close, volume);
+        }
+      }
+      return series.trim();
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.navneet.trade.models.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -36,12 +37,39 @@ public class HistoricDataResponse {
         return mapper.readValue(json, HistoricDataResponse.class);
     }
 
+    /**
+     * Builds a compact HistoricDataResponse carrying the columnar candle series
+     * @param seriesResponse response read with the CandleSeries deserializer
+     * @return HistoricDataResponse with candleSeries set and candles left null
+     */
+    public static HistoricDataResponse fromSeries(HistoricDataSeriesResponse seriesResponse) {
+        HistoricDataResponse response = new HistoricDataResponse();
+        response.setStatus(seriesResponse.getStatus());
+        HistoricDataSeriesResponse.Payload seriesPayload = seriesResponse.getPayload();
+        if (seriesPayload != null) {
+            Payload payload = new Payload();
+            payload.setCandleSeries(seriesPayload.getCandles());
+            payload.setClosingPrice(seriesPayload.getClosingPrice());
+            payload.setStartTime(seriesPayload.getStartTime());
+            payload.setEndTime(seriesPayload.getEndTime());
+            payload.setIntervalInMinutes(seriesPayload.getIntervalInMinutes());
+            response.setPayload(payload);
+        }
+        return response;
+    }
+
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Payload {
         @JsonDeserialize(contentUsing = CandleDeserializer.class)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         private List<Candle> candles;
 
+        // Columnar alternative to candles, populated when the request asks for compact output
+        @JsonProperty("candle_series")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private CandleSeries candleSeries;
+
         @JsonProperty("closing_price")
         private Double closingPrice;
 
@@ -0,0 +1,36 @@
+package com.navneet.trade.models.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Data;
+
+/**
+ * Historic data response read into a columnar CandleSeries instead of a list of Candle objects
+ * @author navneet.prabhakar
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class HistoricDataSeriesResponse {
+    private String status;
+    private Payload payload;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Payload {
+        @JsonDeserialize(using = CandleSeries.CandleSeriesDeserializer.class)
+        private CandleSeries candles;
+
+        @JsonProperty("closing_price")
+        private Double closingPrice;
+
+        @JsonProperty("start_time")
+        private String startTime;
+
+        @JsonProperty("end_time")
+        private String endTime;
+
+        @JsonProperty("interval_in_minutes")
+        private Integer intervalInMinutes;
+    }
+}
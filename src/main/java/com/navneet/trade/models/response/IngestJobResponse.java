@@ -0,0 +1,49 @@
+package com.navneet.trade.models.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.navneet.trade.constants.IngestJobStatus;
+import com.navneet.trade.entity.IngestJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author navneet.prabhakar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IngestJobResponse {
+
+  private String jobId;
+  private String source;
+  private IngestJobStatus status;
+  private Long rowsParsed;
+  private Long rowsStaged;
+  private Long rowsRejected;
+  private Long elapsedMs;
+  private Long rowsPerSecond;
+  private String error;
+  private IngestResponse summary;
+
+  public static IngestJobResponse fromJob(IngestJob job) {
+    long started = job.getStartedAt();
+    long end = job.getFinishedAt() > 0 ? job.getFinishedAt() : System.currentTimeMillis();
+    Long elapsedMs = started > 0 ? Math.max(1, end - started) : null;
+    return IngestJobResponse.builder()
+        .jobId(job.getJobId())
+        .source(job.getSource())
+        .status(job.getStatus())
+        .rowsParsed(job.getRowsParsed().get())
+        .rowsStaged(job.getRowsStaged())
+        .rowsRejected(job.getRowsRejected())
+        .elapsedMs(elapsedMs)
+        .rowsPerSecond(elapsedMs == null ? null : job.getRowsParsed().get() * 1000 / elapsedMs)
+        .error(job.getError())
+        .summary(job.getSummary())
+        .build();
+  }
+}
@@ -0,0 +1,26 @@
+package com.navneet.trade.models.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author navneet.prabhakar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IngestResponse {
+
+  private String filePath;
+  private Long rowsParsed;
+  private Long rowsRejected;
+  private Long rowsInserted;
+  private Long rowsUpdated;
+  private Long rowsUnchanged;
+  private Long rowsDelisted;
+  private Long rowsExpired;
+
+}
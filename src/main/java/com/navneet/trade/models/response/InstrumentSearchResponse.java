@@ -0,0 +1,30 @@
+package com.navneet.trade.models.response;
+
+import com.navneet.trade.entity.dto.InstrumentsDto;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author navneet.prabhakar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InstrumentSearchResponse {
+
+  private String query;
+  private List<Match> results;
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  @Builder
+  public static class Match {
+    private Double score;
+    private InstrumentsDto instrument;
+  }
+}
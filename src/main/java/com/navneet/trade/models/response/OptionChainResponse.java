@@ -0,0 +1,67 @@
+package com.navneet.trade.models.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.entity.Instruments;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author navneet.prabhakar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OptionChainResponse {
+
+  private String underlying;
+  private Exchange exchange;
+  private String expiryDate;
+  private List<String> expiries;
+  private Double atmStrike;
+  private List<Strike> strikes;
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  @Builder
+  public static class Strike {
+    private Double strikePrice;
+    private Boolean atm;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Leg call;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Leg put;
+  }
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  @Builder
+  public static class Leg {
+    private String tradingSymbol;
+    private String growwSymbol;
+    private String exchangeToken;
+    private Integer lotSize;
+    private Double tickSize;
+    private Integer freezeQuantity;
+
+    public static Leg fromEntity(Instruments instrument) {
+      if (instrument == null) {
+        return null;
+      }
+      return Leg.builder()
+          .tradingSymbol(instrument.getTradingSymbol())
+          .growwSymbol(instrument.getGrowwSymbol())
+          .exchangeToken(instrument.getExchangeToken())
+          .lotSize(instrument.getLotSize())
+          .tickSize(instrument.getTickSize())
+          .freezeQuantity(instrument.getFreezeQuantity())
+          .build();
+    }
+  }
+}
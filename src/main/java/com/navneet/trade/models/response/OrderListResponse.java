@@ -33,7 +33,7 @@ public class OrderListResponse {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
-    @Builder
+    @Builder(toBuilder = true)
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Order {
         @JsonProperty("groww_order_id")
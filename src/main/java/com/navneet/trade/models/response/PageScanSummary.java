@@ -0,0 +1,23 @@
+package com.navneet.trade.models.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a scan through all pages of a paginated Groww list
+ * @author navneet.prabhakar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PageScanSummary {
+
+  // pages whose items were delivered
+  private int pages;
+  private int items;
+  // true when the scan ended at a short page, false when a page failed or the page limit was reached
+  private boolean complete;
+}
@@ -0,0 +1,79 @@
+package com.navneet.trade.models.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregate fill view of an order placed as child orders within the freeze quantity
+ * @author navneet.prabhakar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SlicedOrderResponse {
+
+  // SUCCESS when every slice was placed, PARTIAL when only some were (see placed_children and failed_children),
+  // REJECTED when validation failed, FAILED otherwise
+  private String status;
+
+  @JsonProperty("order_reference_id")
+  private String orderReferenceId;
+
+  @JsonProperty("trading_symbol")
+  private String tradingSymbol;
+
+  private Integer quantity;
+
+  @JsonProperty("filled_quantity")
+  private long filledQuantity;
+
+  // quantity weighted price of the trades of all slices, null before any fill
+  @JsonProperty("average_price")
+  private Double averagePrice;
+
+  private String remark;
+
+  // order reference ids of the child orders the broker accepted, live even when the status is PARTIAL
+  @JsonProperty("placed_children")
+  private List<String> placedChildren;
+
+  // order reference ids of the child orders that were not placed
+  @JsonProperty("failed_children")
+  private List<String> failedChildren;
+
+  private List<Slice> slices;
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  @Builder
+  public static class Slice {
+
+    @JsonProperty("order_reference_id")
+    private String orderReferenceId;
+
+    @JsonProperty("groww_order_id")
+    private String growwOrderId;
+
+    private Integer quantity;
+
+    @JsonProperty("order_status")
+    private String orderStatus;
+
+    @JsonProperty("filled_quantity")
+    private Long filledQuantity;
+
+    @JsonProperty("average_price")
+    private Double averagePrice;
+
+    private String remark;
+
+    @JsonProperty("latency_ms")
+    private long latencyMs;
+  }
+}
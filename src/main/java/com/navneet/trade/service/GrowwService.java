@@ -4,11 +4,18 @@ import com.navneet.trade.constants.Segment;
 import com.navneet.trade.entity.dto.InstrumentsDto;
 import com.navneet.trade.models.request.EntityRequest;
 import com.navneet.trade.models.request.HistoricDataRequest;
+import com.navneet.trade.models.request.InstrumentSearchRequest;
+import com.navneet.trade.models.request.OptionChainRequest;
 import com.navneet.trade.models.response.HistoricDataResponse;
 import com.navneet.trade.models.response.HoldingsResponse;
+import com.navneet.trade.models.response.IngestJobResponse;
+import com.navneet.trade.models.response.InstrumentSearchResponse;
+import com.navneet.trade.models.response.OptionChainResponse;
 import com.navneet.trade.models.response.PositionsResponse;
 import com.navneet.trade.models.response.TokenResponse;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author navneet.prabhakar
@@ -32,12 +39,48 @@ public interface GrowwService {
   HistoricDataResponse getHistoricData(HistoricDataRequest request);
 
   /**
-   * Ingests instruments data from a specified CSV file path.
-   * This method reads the CSV file, processes the data, and stores it in the database.
+   * Queues an ingest of instruments data from a CSV or gzipped CSV file on the server.
+   * The job reads the file, processes the data, and applies it to the database as a diff:
+   * new instruments are inserted, changed ones updated, and instruments missing from the file
+   * or past their expiry are deleted.
    *
    * @param filePath The path to the CSV file containing the instruments data to be ingested.
+   * @return An IngestJobResponse with the job id to poll for progress.
    */
-  void ingestInstrumentsData(String filePath);
+  IngestJobResponse ingestInstrumentsData(String filePath);
+
+  /**
+   * Ingests instruments data streamed as a CSV or gzipped CSV upload.
+   * The stream is staged while it is read; the diff is then applied by a background job.
+   *
+   * @param body The uploaded content.
+   * @param name The name of the upload, shown in job progress.
+   * @return An IngestJobResponse with the job id to poll for progress.
+   */
+  IngestJobResponse uploadInstrumentsData(InputStream body, String name);
+
+  /**
+   * Fetches the progress of an ingest job.
+   *
+   * @param jobId The id of the ingest job.
+   * @return An IngestJobResponse, or null if the job is unknown.
+   */
+  IngestJobResponse getIngestJob(String jobId);
+
+  /**
+   * Lists the ingest jobs known to this instance, newest first.
+   *
+   * @return A list of IngestJobResponse objects.
+   */
+  List<IngestJobResponse> listIngestJobs();
+
+  /**
+   * Requests cancellation of an ingest job.
+   *
+   * @param jobId The id of the ingest job.
+   * @return An IngestJobResponse, or null if the job is unknown.
+   */
+  IngestJobResponse cancelIngestJob(String jobId);
 
   /**
    * Fetches entities based on the provided EntityRequest.
@@ -47,6 +90,22 @@ public interface GrowwService {
    */
   List<InstrumentsDto> fetchEntities(EntityRequest request);
 
+  /**
+   * Ranked instrument search with typo tolerance, returning the best matches first.
+   *
+   * @param request The InstrumentSearchRequest with query, exchange, segment, optional filters, limit and minimum score.
+   * @return An InstrumentSearchResponse with at most limit scored instruments.
+   */
+  InstrumentSearchResponse searchInstruments(InstrumentSearchRequest request);
+
+  /**
+   * Fetches the option chain of an underlying around the at-the-money strike.
+   *
+   * @param request The OptionChainRequest with underlying, exchange, optional expiry, spot price and strike count.
+   * @return An OptionChainResponse with the CE and PE contract of each strike.
+   */
+  OptionChainResponse fetchOptionChain(OptionChainRequest request);
+
   /**
    * Fetches the current holdings from Groww.
    *
@@ -70,4 +129,36 @@ public interface GrowwService {
    * @return A PositionsResponse containing the position data for the specified trading symbol.
    */
   PositionsResponse fetchPositionTradingSymbol(Segment segment, String tradingSymbol);
+
+  /**
+   * Non-blocking variant of {@link #getHistoricData(HistoricDataRequest)}.
+   *
+   * @param request The HistoricDataRequest containing the criteria for fetching historic data.
+   * @return A future completed with the HistoricDataResponse.
+   */
+  CompletableFuture<HistoricDataResponse> getHistoricDataAsync(HistoricDataRequest request);
+
+  /**
+   * Non-blocking variant of {@link #fetchHoldings()}.
+   *
+   * @return A future completed with the HoldingsResponse.
+   */
+  CompletableFuture<HoldingsResponse> fetchHoldingsAsync();
+
+  /**
+   * Non-blocking variant of {@link #fetchUserPositions(Segment)}.
+   *
+   * @param segment The segment for which to fetch positions.
+   * @return A future completed with the PositionsResponse.
+   */
+  CompletableFuture<PositionsResponse> fetchUserPositionsAsync(Segment segment);
+
+  /**
+   * Non-blocking variant of {@link #fetchPositionTradingSymbol(Segment, String)}.
+   *
+   * @param segment The segment for which to fetch the position.
+   * @param tradingSymbol The trading symbol for which to fetch the position.
+   * @return A future completed with the PositionsResponse.
+   */
+  CompletableFuture<PositionsResponse> fetchPositionTradingSymbolAsync(Segment segment, String tradingSymbol);
 }
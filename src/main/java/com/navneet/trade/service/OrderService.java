@@ -1,16 +1,22 @@
 package com.navneet.trade.service;
 
 import com.navneet.trade.constants.Segment;
+import com.navneet.trade.models.request.BatchOrderRequest;
 import com.navneet.trade.models.request.CancelOrderRequest;
 import com.navneet.trade.models.request.CreateOrderRequest;
 import com.navneet.trade.models.request.ModifyOrderRequest;
 import com.navneet.trade.models.request.OrderStatusRequest;
 import com.navneet.trade.models.request.OrderTradesRequest;
+import com.navneet.trade.models.response.BatchOrderResponse;
 import com.navneet.trade.models.response.CreateOrderResponse;
 import com.navneet.trade.models.response.ModifyOrderResponse;
 import com.navneet.trade.models.response.OrderListResponse;
 import com.navneet.trade.models.response.OrderStatusResponse;
 import com.navneet.trade.models.response.OrderTradesResponse;
+import com.navneet.trade.models.response.PageScanSummary;
+import com.navneet.trade.models.response.SlicedOrderResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * @author navneet.prabhakar
@@ -18,13 +24,32 @@ import com.navneet.trade.models.response.OrderTradesResponse;
 public interface OrderService {
 
   /**
-   * Creates a new buy or sell order based on the provided CreateOrderRequest.
+   * Creates a new buy or sell order based on the provided CreateOrderRequest. Orders failing
+   * pre-trade validation are not sent and come back with status REJECTED and the violations as remark.
    *
    * @param request The CreateOrderRequest containing the details of the order to be created.
    * @return A CreateOrderResponse containing the details of the created order, including its status and any relevant metadata.
    */
   CreateOrderResponse createNewOrder(CreateOrderRequest request);
 
+  /**
+   * Places a basket of orders concurrently after validating all of them against the instrument
+   * master. Nothing is sent when any order is invalid.
+   *
+   * @param request The BatchOrderRequest with the orders and whether placed orders are cancelled when any order fails.
+   * @return A BatchOrderResponse with the result and latency of every leg.
+   */
+  BatchOrderResponse createOrdersBatch(BatchOrderRequest request);
+
+  /**
+   * Creates an order above the exchange freeze quantity as lot aligned child orders within it,
+   * sent concurrently, each with an order reference id derived from the request's.
+   *
+   * @param request The CreateOrderRequest of the whole order.
+   * @return A SlicedOrderResponse with the combined fill and the status and fill of every child order.
+   */
+  SlicedOrderResponse createSlicedOrder(CreateOrderRequest request);
+
   /**
    * Modifies an existing order based on the provided ModifyOrderRequest.
    *
@@ -49,6 +74,25 @@ public interface OrderService {
    */
   OrderTradesResponse fetchTradesForOrder(OrderTradesRequest request);
 
+  /**
+   * Fetches every trade of an order, scanning the trade pages concurrently. The page fields of the
+   * request are ignored.
+   *
+   * @param request The OrderTradesRequest containing the order ID and segment.
+   * @return An OrderTradesResponse with all trades, status PARTIAL if the scan could not read every page.
+   */
+  OrderTradesResponse fetchAllTradesForOrder(OrderTradesRequest request);
+
+  /**
+   * Streams every trade of an order to the sink as the trade pages arrive.
+   *
+   * @param orderId Groww order id.
+   * @param segment The trading segment of the order.
+   * @param sink    Receives each trade, on the calling thread.
+   * @return Summary of the pages and trades delivered.
+   */
+  PageScanSummary scanTradesForOrder(String orderId, Segment segment, Consumer<OrderTradesResponse.Trade> sink);
+
   /**
    * Fetches the current status of a specific order based on the provided OrderStatusRequest.
    *
@@ -57,15 +101,42 @@ public interface OrderService {
    */
   OrderStatusResponse fetchOrderStatus(OrderStatusRequest request);
 
+  /**
+   * Fetches the current status of an order by its order reference id.
+   *
+   * @param segment          The trading segment of the order.
+   * @param orderReferenceId The order reference id the order was created with.
+   * @return An OrderStatusResponse containing the current status of the order.
+   */
+  OrderStatusResponse fetchOrderStatusByReference(Segment segment, String orderReferenceId);
+
   /**
    * Fetches the list of orders for a specific segment.
    *
    * @param segment The trading segment for which the order list is to be fetched.
    * @return An OrderListResponse containing the list of orders for the specified segment, including their details and any relevant metadata.
    * Note: The value of page and page_size is fixed (0, 100) , since this is for single person use, we can change the limits as per requirement in future.
+   * Orders returned are reconciled into the local order book.
    */
   OrderListResponse fetchOrderList(Segment segment);
 
+  /**
+   * Fetches every order of a segment, scanning the order list pages concurrently.
+   *
+   * @param segment The trading segment for which the orders are to be fetched.
+   * @return An OrderListResponse with all orders, status PARTIAL if the scan could not read every page.
+   */
+  OrderListResponse fetchAllOrders(Segment segment);
+
+  /**
+   * Streams every order of a segment to the sink as the order list pages arrive.
+   *
+   * @param segment The trading segment for which the orders are to be fetched.
+   * @param sink    Receives each order, on the calling thread.
+   * @return Summary of the pages and orders delivered.
+   */
+  PageScanSummary scanOrders(Segment segment, Consumer<OrderListResponse.Order> sink);
+
   /**
    * Fetches the details of a specific order based on the provided OrderStatusRequest.
    *
@@ -73,4 +144,60 @@ public interface OrderService {
    * @return An OrderListResponse containing the details of the specified order, including its status and any relevant metadata.
    */
   OrderListResponse fetchOrderDetails(OrderStatusRequest request);
+
+  /**
+   * Non-blocking variant of {@link #createNewOrder(CreateOrderRequest)}.
+   *
+   * @param request The CreateOrderRequest containing the details of the order to be created.
+   * @return A future completed with the CreateOrderResponse.
+   */
+  CompletableFuture<CreateOrderResponse> createNewOrderAsync(CreateOrderRequest request);
+
+  /**
+   * Non-blocking variant of {@link #modifyOrder(ModifyOrderRequest)}.
+   *
+   * @param request The ModifyOrderRequest containing the details of the order to be modified.
+   * @return A future completed with the ModifyOrderResponse.
+   */
+  CompletableFuture<ModifyOrderResponse> modifyOrderAsync(ModifyOrderRequest request);
+
+  /**
+   * Non-blocking variant of {@link #cancelOrder(CancelOrderRequest)}.
+   *
+   * @param request The CancelOrderRequest containing the details of the order to be cancelled.
+   * @return A future completed with the ModifyOrderResponse.
+   */
+  CompletableFuture<ModifyOrderResponse> cancelOrderAsync(CancelOrderRequest request);
+
+  /**
+   * Non-blocking variant of {@link #fetchTradesForOrder(OrderTradesRequest)}.
+   *
+   * @param request The OrderTradesRequest containing the details of the order for which trades are to be fetched.
+   * @return A future completed with the OrderTradesResponse.
+   */
+  CompletableFuture<OrderTradesResponse> fetchTradesForOrderAsync(OrderTradesRequest request);
+
+  /**
+   * Non-blocking variant of {@link #fetchOrderStatus(OrderStatusRequest)}.
+   *
+   * @param request The OrderStatusRequest containing the details of the order for which the status is to be fetched.
+   * @return A future completed with the OrderStatusResponse.
+   */
+  CompletableFuture<OrderStatusResponse> fetchOrderStatusAsync(OrderStatusRequest request);
+
+  /**
+   * Non-blocking variant of {@link #fetchOrderList(Segment)}.
+   *
+   * @param segment The trading segment for which the order list is to be fetched.
+   * @return A future completed with the OrderListResponse.
+   */
+  CompletableFuture<OrderListResponse> fetchOrderListAsync(Segment segment);
+
+  /**
+   * Non-blocking variant of {@link #fetchOrderDetails(OrderStatusRequest)}.
+   *
+   * @param request The OrderStatusRequest containing the details of the order for which the details are to be fetched.
+   * @return A future completed with the OrderListResponse.
+   */
+  CompletableFuture<OrderListResponse> fetchOrderDetailsAsync(OrderStatusRequest request);
 }
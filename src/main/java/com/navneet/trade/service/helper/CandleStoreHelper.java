@@ -0,0 +1,107 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.entity.repo.CandleRepo;
+import com.navneet.trade.entity.repo.CandleRepo.SeriesKey;
+import com.navneet.trade.models.request.HistoricDataRequest;
+import com.navneet.trade.models.response.CandleSeries;
+import com.navneet.trade.models.response.HistoricDataResponse;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Range aware local store for historic candles. Tracks which time ranges of a series have already
+ * been fetched from Groww, so only the missing sub-ranges need an API call.
+ *
+ * @author navneet.prabhakar
+ */
+@Slf4j
+@Component
+public class CandleStoreHelper {
+
+  @Autowired private CandleRepo candleRepo;
+  @Autowired private GrowwConstants constants;
+
+  /**
+   * Whether the request can be served through the store; needs an explicit interval and time range
+   * @param request HistoricDataRequest
+   * @return true if the store is enabled and the request is fully specified
+   */
+  public boolean supports(HistoricDataRequest request) {
+    return constants.getCandleStore().isEnabled()
+        && request.getInterval() != null
+        && request.getStartTime() != null
+        && request.getEndTime() != null
+        && request.getStartTime() <= request.getEndTime();
+  }
+
+  public SeriesKey seriesKey(HistoricDataRequest request) {
+    return new SeriesKey(request.getExchange().name(), request.getSegment().name(),
+        request.getTradingSymbol(), request.getInterval().getMinutes());
+  }
+
+  /**
+   * Compute the sub-ranges of [from, to] that have not been fetched yet
+   * @return List of {start, end} pairs, empty when the whole range is stored locally
+   */
+  public List<long[]> missingRanges(SeriesKey key, long from, long to) {
+    List<long[]> gaps = new ArrayList<>();
+    long cursor = from;
+    for (long[] range : candleRepo.findRanges(key, from, to)) {
+      if (range[0] > cursor) {
+        gaps.add(new long[] {cursor, range[0] - 1});
+      }
+      cursor = Math.max(cursor, range[1] + 1);
+      if (cursor > to) {
+        break;
+      }
+    }
+    if (cursor <= to) {
+      gaps.add(new long[] {cursor, to});
+    }
+    return gaps;
+  }
+
+  /**
+   * Store candles fetched for [from, to]. The range is only marked as fetched up to the last
+   * completed candle, so a still forming candle is fetched again on the next request.
+   */
+  public void store(SeriesKey key, long from, long to, CandleSeries series) {
+    candleRepo.saveCandles(key, series);
+    long lastFinal = System.currentTimeMillis() / 1000 - key.intervalMinutes() * 60L;
+    long coveredTo = Math.min(to, lastFinal);
+    if (from <= coveredTo) {
+      candleRepo.saveRange(key, from, coveredTo);
+    }
+    log.debug("Stored {} candles for {} in range [{}, {}]", series == null ? 0 : series.getSize(), key, from, to);
+  }
+
+  public CandleSeries load(SeriesKey key, long from, long to) {
+    return candleRepo.findCandles(key, from, to);
+  }
+
+  /**
+   * Build the tool response from locally stored candles
+   * @param request Original request, decides between candles and candle_series output
+   * @param series Candles for the requested range
+   * @return HistoricDataResponse
+   */
+  public HistoricDataResponse toResponse(HistoricDataRequest request, CandleSeries series) {
+    HistoricDataResponse.Payload payload = new HistoricDataResponse.Payload();
+    if (Boolean.TRUE.equals(request.getCompact())) {
+      payload.setCandleSeries(series);
+    } else {
+      payload.setCandles(series.toCandles());
+    }
+    payload.setStartTime(String.valueOf(request.getStartTime()));
+    payload.setEndTime(String.valueOf(request.getEndTime()));
+    payload.setIntervalInMinutes(request.getInterval().getMinutes());
+    HistoricDataResponse response = new HistoricDataResponse();
+    response.setStatus("SUCCESS");
+    response.setPayload(payload);
+    return response;
+  }
+}
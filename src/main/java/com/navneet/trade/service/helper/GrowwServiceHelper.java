@@ -1,34 +1,50 @@
 package com.navneet.trade.service.helper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.navneet.trade.constants.GrowwConstants;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.navneet.trade.constants.CacheConstants;
+import com.navneet.trade.constants.CandleIntervals;
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.constants.GrowwEndpoint;
 import com.navneet.trade.constants.Segment;
 import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.entity.repo.CandleRepo.SeriesKey;
 import com.navneet.trade.entity.repo.InstrumentsRepo;
 import com.navneet.trade.models.request.EntityRequest;
 import com.navneet.trade.models.request.HistoricDataRequest;
-import com.navneet.trade.models.request.TokenRequest;
+import com.navneet.trade.models.request.InstrumentSearchRequest;
+import com.navneet.trade.models.request.OptionChainRequest;
+import com.navneet.trade.models.response.CandleSeries;
 import com.navneet.trade.models.response.HistoricDataResponse;
+import com.navneet.trade.models.response.HistoricDataSeriesResponse;
 import com.navneet.trade.models.response.HoldingsResponse;
+import com.navneet.trade.models.response.OptionChainResponse;
 import com.navneet.trade.models.response.PositionsResponse;
 import com.navneet.trade.models.response.TokenResponse;
-import com.navneet.trade.utils.GrowwUtils;
+import com.navneet.trade.service.index.InstrumentIndex;
+import com.navneet.trade.service.index.OptionChainIndex;
+import com.navneet.trade.service.index.OptionChainIndex.ChainRow;
+import com.navneet.trade.service.index.RankedInstrument;
+import com.navneet.trade.utils.CacheRegistry;
+import com.navneet.trade.utils.CandleResampler;
+import com.navneet.trade.utils.EndpointRegistry;
+import com.navneet.trade.utils.LatencyMetrics;
+import com.navneet.trade.utils.RequestCoalescer;
 import com.navneet.trade.utils.RestUtils;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Predicate;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import org.apache.hc.core5.http.Header;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -39,38 +55,62 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class GrowwServiceHelper {
 
-  @Autowired private GrowwConstants constants;
-  @Autowired private GrowwUtils utils;
+  private static final int DEFAULT_SEARCH_LIMIT = 20;
+  private static final int MAX_SEARCH_LIMIT = 200;
+  private static final int DEFAULT_STRIKE_COUNT = 10;
+  private static final int MAX_STRIKE_COUNT = 50;
+  private static final String HOLDINGS_KEY = "holdings";
+  private static final String ALL_SEGMENTS = "ALL";
+  private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+  @Autowired private EndpointRegistry endpoints;
   @Autowired private RestUtils restUtils;
-  @Autowired private CacheManager cacheManager;
+  @Autowired private TokenManager tokenManager;
+  @Autowired private LatencyMetrics metrics;
+  @Autowired private RequestCoalescer coalescer;
   @Autowired private InstrumentsRepo instrumentsRepo;
+  @Autowired private CandleStoreHelper candleStoreHelper;
+  @Autowired private InstrumentIndex instrumentIndex;
+  @Autowired private CacheRegistry cacheRegistry;
+  @Autowired @Qualifier("growwRestExecutor") private ExecutorService executor;
 
-  private static final ObjectMapper mapper=new ObjectMapper();
+  private LoadingCache<String, HoldingsResponse> holdingsCache;
+  private LoadingCache<String, PositionsResponse> positionsCache;
+  private LoadingCache<Map<String, String>, HistoricDataSeriesResponse> candleCache;
+  private LoadingCache<InstrumentKey, Instruments> instrumentCache;
 
-  public TokenResponse getTokenFromCache() throws JsonProcessingException {
-    log.debug("Attempting to fetch token from cache");
-    Cache cache = cacheManager.getCache("growwToken");
-    if (cache != null) {
-      Cache.ValueWrapper valueWrapper = cache.get("token");
-      if (valueWrapper != null) {
-        log.info("Token found in cache");
-        return (TokenResponse) valueWrapper.get();
-      }
-    }
-    return null;
+  private record InstrumentKey(Exchange exchange, Segment segment, String tradingSymbol) {
   }
 
-  @Cacheable(value = "growwToken", key = "'token'")
-  public TokenResponse generateToken() throws JsonProcessingException {
-    TokenRequest request=utils.generateTokenRequest();
-    log.info("Generated TokenRequest: {}", request);
-    ResponseEntity<String> response=restUtils.restPostCall(constants.getBaseUrl()+constants.getTokenUrl(), generateAuthHeaders(),null, request );
-    if(response.getStatusCode().is2xxSuccessful()){
-      return mapper.readValue(response.getBody(), TokenResponse.class);
-    }else{
-      log.error("Failed to generate token. Status Code: {}, Response Body: {}", response.getStatusCode(), response.getBody());
-      return null;
-    }
+  @PostConstruct
+  public void initCaches() {
+    holdingsCache = cacheRegistry.loading(CacheConstants.HOLDINGS, key -> loadHoldings(),
+        holdings -> holdings.getPayload() == null || holdings.getPayload().getHoldings() == null ? 1
+            : holdings.getPayload().getHoldings().size());
+    positionsCache = cacheRegistry.loading(CacheConstants.POSITIONS,
+        key -> loadUserPositions(ALL_SEGMENTS.equals(key) ? null : Segment.valueOf(key)),
+        positions -> positions.getPayload() == null || positions.getPayload().getPositions() == null ? 1
+            : positions.getPayload().getPositions().size());
+    // failed fetches are not cached, so the next request for the range calls the API again
+    candleCache = cacheRegistry.loading(CacheConstants.HISTORIC_CANDLES,
+        params -> {
+          HistoricDataSeriesResponse series = loadHistoricSeries(params);
+          return isFetched(series) ? series : null;
+        },
+        series -> series.getPayload() == null || series.getPayload().getCandles() == null ? 1
+            : series.getPayload().getCandles().getSize());
+    instrumentCache = cacheRegistry.loading(CacheConstants.INSTRUMENTS,
+        key -> instrumentsRepo.findFirstByExchangeAndSegmentAndTradingSymbol(key.exchange().name(),
+            key.segment().name(), key.tradingSymbol()).orElse(null),
+        instrument -> 1);
+  }
+
+  /**
+   * Current Groww access token, generated if none is held or it has expired
+   * @return TokenResponse from the token manager
+   */
+  public TokenResponse getToken() {
+    return tokenManager.token();
   }
 
   /**
@@ -82,19 +122,141 @@ public class GrowwServiceHelper {
   public HistoricDataResponse fetchHistoricData(HistoricDataRequest request)
       throws JsonProcessingException {
     log.info("Fetching historic data with request: {}", request);
-    ResponseEntity<String> response=restUtils.restGetCall(constants.getBaseUrl()+constants.getHistoricDataUrl(),
-        generateHeaders(), generateHistoricDataParams(request));
-    if(response.getStatusCode().is2xxSuccessful()){
-      try {
-        return mapper.readValue(response.getBody(), HistoricDataResponse.class);
-      } catch (JsonProcessingException e) {
-        log.error("Error parsing historic data response: {}", e.getMessage());
+    if (candleStoreHelper.supports(request)) {
+      return fetchHistoricDataFromStore(request);
+    }
+    if (Boolean.TRUE.equals(request.getCompact())) {
+      HistoricDataSeriesResponse series = fetchHistoricSeries(request);
+      return series == null ? null : HistoricDataResponse.fromSeries(series);
+    }
+    ResponseEntity<HistoricDataResponse> response=restUtils.restGetCall(endpoints.url(GrowwEndpoint.HISTORIC_DATA),
+        generateHeaders(GrowwEndpoint.HISTORIC_DATA), generateHistoricDataParams(request), HistoricDataResponse.class);
+    return responseBody(response, "historic data");
+  }
+
+  /**
+   * Serve historic data through the local candle store. With resample set, the candles are built
+   * locally from stored 1 minute candles instead of fetching the requested interval
+   * @param request HistoricDataRequest with interval, start and end time set
+   * @return HistoricDataResponse, or null if fetching a missing range fails
+   * @throws JsonProcessingException If token retrieval fails
+   */
+  private HistoricDataResponse fetchHistoricDataFromStore(HistoricDataRequest request)
+      throws JsonProcessingException {
+    if (Boolean.TRUE.equals(request.getResample()) && request.getInterval() != CandleIntervals.ONE_MINUTE) {
+      HistoricDataRequest minuteRequest = withTimeRange(request, request.getStartTime(), request.getEndTime());
+      minuteRequest.setInterval(CandleIntervals.ONE_MINUTE);
+      CandleSeries minuteCandles = loadFromStore(minuteRequest);
+      if (minuteCandles == null) {
         return null;
       }
-    }else{
-      log.error("Failed to fetch historic data. Status Code: {}, Response Body: {}", response.getStatusCode(), response.getBody());
-      return null;
+      CandleSeries resampled = CandleResampler.resample(minuteCandles, request.getInterval(), request.getExchange());
+      log.info("Resampled {} 1minute candles into {} {} candles", minuteCandles.getSize(),
+          resampled.getSize(), request.getInterval().getInterval());
+      return candleStoreHelper.toResponse(request, resampled);
     }
+    CandleSeries series = loadFromStore(request);
+    return series == null ? null : candleStoreHelper.toResponse(request, series);
+  }
+
+  /**
+   * Load the requested range from the candle store, first fetching the missing sub-ranges
+   * @param request HistoricDataRequest with interval, start and end time set
+   * @return CandleSeries for the requested range, or null if fetching a missing range fails; a
+   *         failed range is not recorded as fetched
+   * @throws JsonProcessingException If token retrieval fails
+   */
+  private CandleSeries loadFromStore(HistoricDataRequest request) throws JsonProcessingException {
+    SeriesKey key = candleStoreHelper.seriesKey(request);
+    List<long[]> missingRanges = candleStoreHelper.missingRanges(key, request.getStartTime(), request.getEndTime());
+    log.info("Candle store for {} is missing {} range(s) of the request", key, missingRanges.size());
+    for (long[] range : missingRanges) {
+      HistoricDataSeriesResponse remote = fetchHistoricSeries(withTimeRange(request, range[0], range[1]));
+      if (!isFetched(remote)) {
+        log.warn("Fetching candles for {} in range [{}, {}] failed, status {}", key, range[0], range[1],
+            remote == null ? null : remote.getStatus());
+        return null;
+      }
+      candleStoreHelper.store(key, range[0], range[1], remote.getPayload().getCandles());
+    }
+    return candleStoreHelper.load(key, request.getStartTime(), request.getEndTime());
+  }
+
+  /**
+   * Fetch historic data from Groww API straight into a columnar CandleSeries
+   * @param request HistoricDataRequest
+   * @return HistoricDataSeriesResponse, or null if the call fails
+   * @throws JsonProcessingException If token retrieval fails
+   */
+  private HistoricDataSeriesResponse fetchHistoricSeries(HistoricDataRequest request)
+      throws JsonProcessingException {
+    Map<String, String> params = generateHistoricDataParams(request);
+    // Candles of a range that has fully closed no longer change, so they can be served from memory
+    if (request.getInterval() != null && request.getEndTime() != null
+        && request.getEndTime() <= System.currentTimeMillis() / 1000 - request.getInterval().getMinutes() * 60L) {
+      return candleCache.get(params);
+    }
+    return loadHistoricSeries(params);
+  }
+
+  private HistoricDataSeriesResponse loadHistoricSeries(Map<String, String> params) {
+    try {
+      ResponseEntity<HistoricDataSeriesResponse> response=restUtils.restGetCall(endpoints.url(GrowwEndpoint.HISTORIC_DATA),
+          generateHeaders(GrowwEndpoint.HISTORIC_DATA), params, HistoricDataSeriesResponse.class);
+      return responseBody(response, "historic data");
+    } catch (JsonProcessingException e) {
+      log.error("Error generating headers for historic data: {}", e.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * A SUCCESS response with a payload; its candles may be null for a range without trading
+   */
+  private static boolean isFetched(HistoricDataSeriesResponse response) {
+    return response != null && "SUCCESS".equals(response.getStatus()) && response.getPayload() != null;
+  }
+
+  private HistoricDataRequest withTimeRange(HistoricDataRequest request, long startTime, long endTime) {
+    HistoricDataRequest rangeRequest = new HistoricDataRequest();
+    rangeRequest.setExchange(request.getExchange());
+    rangeRequest.setSegment(request.getSegment());
+    rangeRequest.setTradingSymbol(request.getTradingSymbol());
+    rangeRequest.setInterval(request.getInterval());
+    rangeRequest.setStartTime(startTime);
+    rangeRequest.setEndTime(endTime);
+    rangeRequest.setCompact(true);
+    return rangeRequest;
+  }
+
+  /**
+   * Non-blocking variant of {@link #fetchHistoricData(HistoricDataRequest)}
+   * @param request HistoricDataRequest containing exchange, segment, groww symbol, time range, and candle interval
+   * @return Future completed with the HistoricDataResponse, or null if the call fails
+   */
+  public CompletableFuture<HistoricDataResponse> fetchHistoricDataAsync(HistoricDataRequest request) {
+    log.info("Fetching historic data asynchronously with request: {}", request);
+    if (candleStoreHelper.supports(request)) {
+      // Store path mixes JDBC and (possibly several) API calls, run it whole on a virtual thread
+      return CompletableFuture.supplyAsync(() -> {
+        try {
+          return fetchHistoricDataFromStore(request);
+        } catch (JsonProcessingException e) {
+          throw new RuntimeException(e);
+        }
+      }, executor);
+    }
+    Map<String, String> params = generateHistoricDataParams(request);
+    CompletableFuture<Header[]> headers = generateHeadersAsync(GrowwEndpoint.HISTORIC_DATA);
+    if (Boolean.TRUE.equals(request.getCompact())) {
+      return headers.thenCompose(prebuilt -> restUtils.restGetCallAsync(endpoints.url(GrowwEndpoint.HISTORIC_DATA),
+              prebuilt, params, HistoricDataSeriesResponse.class))
+          .thenApply(response -> responseBody(response, "historic data"))
+          .thenApply(series -> series == null ? null : HistoricDataResponse.fromSeries(series));
+    }
+    return headers.thenCompose(prebuilt -> restUtils.restGetCallAsync(endpoints.url(GrowwEndpoint.HISTORIC_DATA),
+            prebuilt, params, HistoricDataResponse.class))
+        .thenApply(response -> responseBody(response, "historic data"));
   }
 
   /**
@@ -106,66 +268,113 @@ public class GrowwServiceHelper {
     log.info("Fetching instruments with request: name={}, exchange={}, segment={}",
         request.getName(), request.getExchange(), request.getSegment());
 
-    // Fetch instruments from repository using the similar name search
-    List<Instruments> instruments = instrumentsRepo.findDistinctByNameContainingIgnoreCaseAndExchangeAndSegment(
-        request.getName(),
-        request.getExchange().name(),
-        request.getSegment().name()
-    );
+    // Serve from the in-memory index, the database is only hit until the index is loaded
+    List<Instruments> instruments;
+    if (instrumentIndex.isReady()) {
+      instruments = instrumentIndex.search(request.getName(), request.getExchange(), request.getSegment());
+    } else {
+      instruments = instrumentsRepo.findDistinctByNameContainingIgnoreCaseAndExchangeAndSegment(
+          request.getName(),
+          request.getExchange().name(),
+          request.getSegment().name()
+      );
+    }
 
     log.info("Found {} instruments matching the criteria", instruments.size());
 
-
     return instruments;
   }
 
 
   /**
-   * Ingest CSV file and insert instruments data in batch
-   * @param csvFilePath Path to the CSV file
-   * @param batchSize Number of records to insert per batch
-   * @return Number of records inserted
-   * @throws IOException If file reading fails
+   * Ranked instrument search with typo tolerance, returning only the top matches. Until the index
+   * is built, a rebuild is started in the background and the substring matches from the database
+   * are ranked instead, without typo tolerance.
+   * @param request Search request with query, partition, optional filters, limit and min score
+   * @return Matches ordered by descending score
    */
-  public int ingestInstrumentsFromCsv(String csvFilePath, int batchSize) throws IOException {
-    log.info("Starting CSV ingestion from file: {}", csvFilePath);
-
-    int totalRecords = 0;
-    List<Instruments> instrumentsBatch = new ArrayList<>();
-
-    try (BufferedReader reader = new BufferedReader(new FileReader(csvFilePath));
-         CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
-             .withFirstRecordAsHeader()
-             .withIgnoreHeaderCase()
-             .withTrim())) {
-
-      // Iterate through CSV records
-      for (CSVRecord csvRecord : csvParser) {
-        Instruments instrument = mapCsvRecordToInstrument(csvRecord);
-        instrumentsBatch.add(instrument);
-
-        // Insert batch when size is reached
-        if (instrumentsBatch.size() >= batchSize) {
-          instrumentsRepo.saveAll(instrumentsBatch);
-          totalRecords += instrumentsBatch.size();
-          log.info("Inserted batch of {} records. Total so far: {}", instrumentsBatch.size(), totalRecords);
-          instrumentsBatch.clear();
-        }
-      }
+  public List<RankedInstrument> searchInstruments(InstrumentSearchRequest request) {
+    int limit = request.getLimit() == null ? DEFAULT_SEARCH_LIMIT
+        : Math.max(1, Math.min(request.getLimit(), MAX_SEARCH_LIMIT));
+    double minScore = request.getMinScore() == null ? 0 : request.getMinScore();
+    List<RankedInstrument> results;
+    if (instrumentIndex.isReady()) {
+      results = instrumentIndex.rank(request.getQuery(), request.getExchange(), request.getSegment(),
+          searchFilter(request), limit, minScore);
+    } else {
+      instrumentIndex.rebuildAsync();
+      List<Instruments> candidates = request.getExchange() == null || request.getSegment() == null ? List.of()
+          : instrumentsRepo.findDistinctByNameContainingIgnoreCaseAndExchangeAndSegment(
+              request.getQuery(), request.getExchange().name(), request.getSegment().name());
+      results = InstrumentIndex.rank(candidates, request.getQuery(), searchFilter(request), limit, minScore);
+    }
+    log.info("Instrument search for '{}' returned {} results", request.getQuery(), results.size());
+    return results;
+  }
 
-      // Insert remaining records
-      if (!instrumentsBatch.isEmpty()) {
-        instrumentsRepo.saveAll(instrumentsBatch);
-        totalRecords += instrumentsBatch.size();
-        log.debug("Inserted final batch of {} records", instrumentsBatch.size());
-      }
+  private Predicate<Instruments> searchFilter(InstrumentSearchRequest request) {
+    Predicate<Instruments> filter = null;
+    if (request.getInstrumentType() != null) {
+      filter = instrument -> request.getInstrumentType().equalsIgnoreCase(instrument.getInstrumentType());
+    }
+    if (request.getExpiryDate() != null) {
+      Predicate<Instruments> expiry = instrument -> request.getExpiryDate().equals(instrument.getExpiryDate());
+      filter = filter == null ? expiry : filter.and(expiry);
+    }
+    if (request.getStrikePrice() != null) {
+      Predicate<Instruments> strike = instrument -> instrument.getStrikePrice() != null
+          && Math.abs(instrument.getStrikePrice() - request.getStrikePrice()) < 1e-6;
+      filter = filter == null ? strike : filter.and(strike);
+    }
+    return filter;
+  }
 
-      log.info("CSV ingestion completed. Total records inserted: {}", totalRecords);
-      return totalRecords;
-    } catch (IOException e) {
-      log.error("Error reading CSV file: {}", csvFilePath, e);
-      throw e;
+  /**
+   * Option chain of an underlying around the at-the-money strike, served from the instrument index
+   * @param request Underlying, exchange, optional expiry (nearest upcoming when absent), spot price and strike count
+   * @return Chain with the CE and PE contract of each strike, empty strikes if nothing matches, or
+   *         null while the index is being built in the background
+   */
+  public OptionChainResponse fetchOptionChain(OptionChainRequest request) {
+    if (!instrumentIndex.isReady()) {
+      instrumentIndex.rebuildAsync();
+      log.warn("Instrument index is loading, option chain for {} is not available yet", request.getUnderlying());
+      return null;
     }
+    Exchange exchange = request.getExchange() == null ? Exchange.NSE : request.getExchange();
+    OptionChainIndex optionChains = instrumentIndex.optionChains();
+    List<String> expiries = optionChains.expiries(exchange, request.getUnderlying());
+    String expiry = request.getExpiryDate() != null ? request.getExpiryDate()
+        : optionChains.nearestExpiry(exchange, request.getUnderlying(), LocalDate.now(IST));
+    int strikeCount = request.getStrikeCount() == null ? DEFAULT_STRIKE_COUNT
+        : Math.max(0, Math.min(request.getStrikeCount(), MAX_STRIKE_COUNT));
+
+    List<OptionChainResponse.Strike> strikes = new ArrayList<>();
+    Double atmStrike = null;
+    if (expiry != null) {
+      for (ChainRow row : optionChains.chain(exchange, request.getUnderlying(), expiry,
+          request.getSpotPrice(), strikeCount)) {
+        if (row.atm()) {
+          atmStrike = row.strike();
+        }
+        strikes.add(OptionChainResponse.Strike.builder()
+            .strikePrice(row.strike())
+            .atm(row.atm())
+            .call(OptionChainResponse.Leg.fromEntity(row.call()))
+            .put(OptionChainResponse.Leg.fromEntity(row.put()))
+            .build());
+      }
+    }
+    log.info("Option chain for {} {} expiry {} returned {} strikes", exchange, request.getUnderlying(),
+        expiry, strikes.size());
+    return OptionChainResponse.builder()
+        .underlying(request.getUnderlying())
+        .exchange(exchange)
+        .expiryDate(expiry)
+        .expiries(expiries)
+        .atmStrike(atmStrike)
+        .strikes(strikes)
+        .build();
   }
 
   /**
@@ -175,13 +384,19 @@ public class GrowwServiceHelper {
    */
   public HoldingsResponse fetchHoldings() throws JsonProcessingException {
     log.info("Fetching current holdings ");
-    ResponseEntity<String> response=restUtils.restGetCall(constants.getBaseUrl()+constants.getHoldingsUrl(),generateHeaders(), null);
-    if(response.getStatusCode().is2xxSuccessful()){
-      return mapper.readValue(response.getBody(), HoldingsResponse.class);
-    }else{
-      log.warn("Unable to fetch current holdings. Status Code: {}, Response Body: {}", response.getStatusCode(), response.getBody());
-    }
-    return null;
+    return holdingsCache.get(HOLDINGS_KEY);
+  }
+
+  private HoldingsResponse loadHoldings() {
+    return coalescer.coalesce(GrowwEndpoint.HOLDINGS, null, null, () -> {
+      try {
+        ResponseEntity<HoldingsResponse> response=restUtils.restGetCall(endpoints.url(GrowwEndpoint.HOLDINGS),generateHeaders(GrowwEndpoint.HOLDINGS), null, HoldingsResponse.class);
+        return responseBody(response, "current holdings");
+      } catch (JsonProcessingException e) {
+        log.error("Error generating headers for current holdings: {}", e.getMessage());
+      }
+      return null;
+    });
   }
 
   /**
@@ -192,20 +407,21 @@ public class GrowwServiceHelper {
    */
   public PositionsResponse fetchUserPositions(Segment segment){
     log.info("Fetching user positions for segment: {}", segment);
-    try {
-      Map<String,String> params = null==segment?null:Map.of("segment", segment.name());
-      ResponseEntity<String> response = restUtils.restGetCall(constants.getBaseUrl() + constants.getPositionsUrl(),
-          generateHeaders(), params);
-      if (response.getStatusCode().is2xxSuccessful()) {
-        return mapper.readValue(response.getBody(), PositionsResponse.class);
-      } else {
-        log.warn("Unable to fetch user positions. Status Code: {}, Response Body: {}",
-            response.getStatusCode(), response.getBody());
+    return positionsCache.get(segment == null ? ALL_SEGMENTS : segment.name());
+  }
+
+  private PositionsResponse loadUserPositions(Segment segment) {
+    Map<String,String> params = null==segment?null:Map.of("segment", segment.name());
+    return coalescer.coalesce(GrowwEndpoint.POSITIONS, null, params, () -> {
+      try {
+        ResponseEntity<PositionsResponse> response = restUtils.restGetCall(endpoints.url(GrowwEndpoint.POSITIONS),
+            generateHeaders(GrowwEndpoint.POSITIONS), params, PositionsResponse.class);
+        return responseBody(response, "user positions");
+      } catch (JsonProcessingException e) {
+        log.error("Error generating headers for user positions: {}", e.getMessage());
       }
-    } catch (JsonProcessingException e) {
-      log.error("Error parsing user positions response: {}", e.getMessage());
-    }
-    return null;
+      return null;
+    });
   }
 
   /**
@@ -217,134 +433,168 @@ public class GrowwServiceHelper {
    */
   public PositionsResponse fetchPositionTradingSymbol(Segment segment, String tradingSymbol){
     log.info("Fetching user positions for segment: {} and tradingSymbol: {}", segment, tradingSymbol);
-    try {
-      Map<String,String> params = Map.of(
-          "segment", segment.name(),
-          "trading_symbol", tradingSymbol
-      );
-      ResponseEntity<String> response = restUtils.restGetCall(constants.getBaseUrl() + constants.getPositionsUrl(),
-          generateHeaders(), params);
-      if (response.getStatusCode().is2xxSuccessful()) {
-        return mapper.readValue(response.getBody(), PositionsResponse.class);
-      } else {
-        log.warn("Unable to fetch positions for trading symbol. Status Code: {}, Response Body: {}",
-            response.getStatusCode(), response.getBody());
+    Map<String,String> params = Map.of(
+        "segment", segment.name(),
+        "trading_symbol", tradingSymbol
+    );
+    return coalescer.coalesce(GrowwEndpoint.POSITIONS, null, params, () -> {
+      try {
+        ResponseEntity<PositionsResponse> response = restUtils.restGetCall(endpoints.url(GrowwEndpoint.POSITIONS),
+            generateHeaders(GrowwEndpoint.POSITIONS), params, PositionsResponse.class);
+        return responseBody(response, "positions for trading symbol");
+      } catch (JsonProcessingException e) {
+        log.error("Error generating headers for positions for trading symbol: {}", e.getMessage());
       }
-    } catch (JsonProcessingException e) {
-      log.error("Error parsing positions for trading symbols response: {}", e.getMessage());
-    }
-    return null;
+      return null;
+    });
   }
 
   /**
-   * Generate authentication headers for token generation API call
-   * @return Map of headers for token generation API call
+   * Non-blocking variant of {@link #fetchHoldings()}
+   * @return Future completed with the HoldingsResponse, or null if the call fails
    */
-  private Map<String,String> generateAuthHeaders(){
-    return Map.of(
-        "Authorization", "Bearer "+constants.getApiKey(),
-        "Content-Type","application/json"
-    );
+  public CompletableFuture<HoldingsResponse> fetchHoldingsAsync() {
+    log.info("Fetching current holdings asynchronously");
+    HoldingsResponse cached = holdingsCache.getIfPresent(HOLDINGS_KEY);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return coalescer.coalesceAsync(GrowwEndpoint.HOLDINGS, null, null, () -> generateHeadersAsync(GrowwEndpoint.HOLDINGS)
+        .thenCompose(headers -> restUtils.restGetCallAsync(endpoints.url(GrowwEndpoint.HOLDINGS), headers, null, HoldingsResponse.class))
+        .thenApply(response -> responseBody(response, "current holdings"))).thenApply(holdings -> cache(holdingsCache, HOLDINGS_KEY, holdings));
   }
 
   /**
-   * Generate headers for API calls, including the token from cache
-   * @return Map of headers for API calls
-   * @throws JsonProcessingException If token retrieval fails
+   * Non-blocking variant of {@link #fetchUserPositions(Segment)}
+   * @param segment Segment for which to fetch positions (CASH, FNO, COMMODITY)
+   * @return Future completed with the PositionsResponse, or null if the call fails
    */
-  public Map<String, String> generateHeaders() throws JsonProcessingException {
-    TokenResponse token= getTokenFromCache();
-    if(token==null){
-      token=generateToken();
+  public CompletableFuture<PositionsResponse> fetchUserPositionsAsync(Segment segment) {
+    log.info("Fetching user positions asynchronously for segment: {}", segment);
+    String key = segment == null ? ALL_SEGMENTS : segment.name();
+    PositionsResponse cached = positionsCache.getIfPresent(key);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
     }
-    return Map.of(
-        "Authorization", "Bearer "+token.getToken(),
-        "Content-Type","application/json",
-        "X-API-VERSION","1.0"
-    );
+    Map<String,String> params = null==segment?null:Map.of("segment", segment.name());
+    return coalescer.coalesceAsync(GrowwEndpoint.POSITIONS, null, params, () -> generateHeadersAsync(GrowwEndpoint.POSITIONS)
+        .thenCompose(headers -> restUtils.restGetCallAsync(endpoints.url(GrowwEndpoint.POSITIONS), headers, params, PositionsResponse.class))
+        .thenApply(response -> responseBody(response, "user positions"))).thenApply(positions -> cache(positionsCache, key, positions));
   }
 
   /**
-   * Generate query parameters for historic data API call based on HistoricDataRequest
-   * @param request HistoricDataRequest containing exchange, segment, groww symbol, time range, and candle interval
-   * @return Map of query parameters for the API call
+   * Non-blocking variant of {@link #fetchPositionTradingSymbol(Segment, String)}
+   * @param segment Segment for which to fetch positions (CASH, FNO, COMMODITY)
+   * @param tradingSymbol Trading symbol for which to fetch positions
+   * @return Future completed with the PositionsResponse, or null if the call fails
    */
-  private Map<String, String> generateHistoricDataParams(HistoricDataRequest request){
-    return Map.of(
-        "exchange", request.getExchange().name(),
-        "segment", request.getSegment().name(),
-        "trading_symbol", request.getTradingSymbol(),
-        "start_time", String.valueOf(request.getStartTime()),
-        "end_time", String.valueOf(request.getEndTime())
+  public CompletableFuture<PositionsResponse> fetchPositionTradingSymbolAsync(Segment segment, String tradingSymbol) {
+    log.info("Fetching user positions asynchronously for segment: {} and tradingSymbol: {}", segment, tradingSymbol);
+    Map<String,String> params = Map.of(
+        "segment", segment.name(),
+        "trading_symbol", tradingSymbol
     );
+    return coalescer.coalesceAsync(GrowwEndpoint.POSITIONS, null, params, () -> generateHeadersAsync(GrowwEndpoint.POSITIONS)
+        .thenCompose(headers -> restUtils.restGetCallAsync(endpoints.url(GrowwEndpoint.POSITIONS), headers, params, PositionsResponse.class))
+        .thenApply(response -> responseBody(response, "positions for trading symbol")));
   }
 
   /**
-   * Map CSV record to Instruments entity
-   * @param csvRecord CSV record
-   * @return Instruments entity
+   * Instrument by its trading symbol, from the instrument index once it is built, otherwise from
+   * the instruments cache
+   * @param exchange Exchange of the instrument
+   * @param segment Segment of the instrument
+   * @param tradingSymbol Trading symbol, e.g. RELIANCE or NIFTY25JAN24000CE
+   * @return The instrument, or null if it is not in the instrument master
    */
-  private Instruments mapCsvRecordToInstrument(CSVRecord csvRecord) {
-    return Instruments.builder()
-        .exchange(getStringValue(csvRecord, "exchange"))
-        .exchangeToken(getStringValue(csvRecord, "exchange_token"))
-        .tradingSymbol(getStringValue(csvRecord, "trading_symbol"))
-        .growwSymbol(getStringValue(csvRecord, "groww_symbol"))
-        .name(getStringValue(csvRecord, "name"))
-        .instrumentType(getStringValue(csvRecord, "instrument_type"))
-        .segment(getStringValue(csvRecord, "segment"))
-        .series(getStringValue(csvRecord, "series"))
-        .isin(getStringValue(csvRecord, "isin"))
-        .underlyingSymbol(getStringValue(csvRecord, "underlying_symbol"))
-        .underlyingExchangeToken(getStringValue(csvRecord, "underlying_exchange_token"))
-        .expiryDate(getStringValue(csvRecord, "expiry_date"))
-        .strikePrice(getDoubleValue(csvRecord, "strike_price"))
-        .lotSize(getIntegerValue(csvRecord, "lot_size"))
-        .tickSize(getDoubleValue(csvRecord, "tick_size"))
-        .freezeQuantity(getIntegerValue(csvRecord, "freeze_quantity"))
-        .isReserved(getIntegerValue(csvRecord, "is_reserved"))
-        .buyAllowed(getIntegerValue(csvRecord, "buy_allowed"))
-        .sellAllowed(getIntegerValue(csvRecord, "sell_allowed"))
-        .internalTradingSymbol(getStringValue(csvRecord, "internal_trading_symbol"))
-        .isIntraday(getIntegerValue(csvRecord, "is_intraday"))
-        .build();
+  public Instruments findInstrument(Exchange exchange, Segment segment, String tradingSymbol) {
+    if (exchange == null || segment == null || tradingSymbol == null) {
+      return null;
+    }
+    if (instrumentIndex.isReady()) {
+      return instrumentIndex.find(exchange, segment, tradingSymbol);
+    }
+    return instrumentCache.get(new InstrumentKey(exchange, segment, tradingSymbol));
   }
 
   /**
-   * Safely get string value from CSV record
+   * Store a response fetched outside the cache loader, so async callers fill the cache too
    */
-  private String getStringValue(CSVRecord record, String columnName) {
-    try {
-      String value = record.get(columnName);
-      return value != null && !value.trim().isEmpty() ? value.trim() : null;
-    } catch (IllegalArgumentException e) {
-      return null;
+  private static <K, V> V cache(LoadingCache<K, V> cache, K key, V value) {
+    if (value != null) {
+      cache.put(key, value);
     }
+    return value;
   }
 
   /**
-   * Safely get double value from CSV record
+   * Extract the deserialized body of a successful response
+   * @param response Typed response from the Groww API
+   * @param action Description of the call, used for logging
+   * @return Response body, or null if the call failed
    */
-  private Double getDoubleValue(CSVRecord record, String columnName) {
-    try {
-      String value = record.get(columnName);
-      return value != null && !value.trim().isEmpty() ? Double.parseDouble(value.trim()) : null;
-    } catch (IllegalArgumentException e) {
+  private <T> T responseBody(ResponseEntity<T> response, String action) {
+    if (!response.getStatusCode().is2xxSuccessful()) {
+      log.warn("Unable to fetch {}. Status Code: {}", action, response.getStatusCode());
       return null;
     }
+    return response.getBody();
   }
 
   /**
-   * Safely get integer value from CSV record
+   * Headers for API calls, prebuilt by the token manager for the current token. Time spent
+   * acquiring the token is recorded as the token phase of the endpoint.
+   * @param endpoint Endpoint the headers are for
+   * @return Shared header array for API calls
+   * @throws JsonProcessingException If token retrieval fails
    */
-  private Integer getIntegerValue(CSVRecord record, String columnName) {
+  public Header[] generateHeaders(GrowwEndpoint endpoint) throws JsonProcessingException {
+    long start = System.nanoTime();
     try {
-      String value = record.get(columnName);
-      return value != null && !value.trim().isEmpty() ? Integer.parseInt(value.trim()) : null;
-    } catch (IllegalArgumentException e) {
-      return null;
+      return tokenManager.headers();
+    } finally {
+      metrics.phase("token", endpoint, System.nanoTime() - start);
     }
   }
 
+  /**
+   * Non-blocking variant of {@link #generateHeaders(GrowwEndpoint)}. Headers of a valid token are
+   * returned completed; when a token has to be generated first, that happens on a virtual thread
+   * instead of the caller's.
+   * @param endpoint Endpoint the headers are for
+   * @return Future completed with the shared header array for API calls
+   */
+  public CompletableFuture<Header[]> generateHeadersAsync(GrowwEndpoint endpoint) {
+    Header[] headers = tokenManager.currentHeaders();
+    if (headers != null) {
+      return CompletableFuture.completedFuture(headers);
+    }
+    return CompletableFuture.supplyAsync(() -> {
+      long start = System.nanoTime();
+      try {
+        return tokenManager.headers();
+      } finally {
+        metrics.phase("token", endpoint, System.nanoTime() - start);
+      }
+    }, executor);
+  }
+
+  /**
+   * Generate query parameters for historic data API call based on HistoricDataRequest
+   * @param request HistoricDataRequest containing exchange, segment, groww symbol, time range, and candle interval
+   * @return Map of query parameters for the API call
+   */
+  private Map<String, String> generateHistoricDataParams(HistoricDataRequest request){
+    Map<String, String> params = new LinkedHashMap<>();
+    params.put("exchange", request.getExchange().name());
+    params.put("segment", request.getSegment().name());
+    params.put("trading_symbol", request.getTradingSymbol());
+    params.put("start_time", String.valueOf(request.getStartTime()));
+    params.put("end_time", String.valueOf(request.getEndTime()));
+    if (request.getInterval() != null) {
+      params.put("interval_in_minutes", String.valueOf(request.getInterval().getMinutes()));
+    }
+    return params;
+  }
 
 }
@@ -0,0 +1,229 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.constants.CacheConstants;
+import com.navneet.trade.constants.IngestJobStatus;
+import com.navneet.trade.entity.IngestJob;
+import com.navneet.trade.entity.repo.IngestJobRepo;
+import com.navneet.trade.service.index.InstrumentIndex;
+import com.navneet.trade.utils.CacheRegistry;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs instrument master ingests as background jobs. Server side files are staged and merged on a
+ * single job thread, one job at a time; uploads are staged on the request thread while the body
+ * streams in and then queued for the merge. Jobs are checkpointed per committed batch, so file
+ * jobs interrupted by a restart resume where they stopped.
+ *
+ * @author navneet.prabhakar
+ */
+@Service
+@Slf4j
+public class IngestJobManager {
+
+  private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+  @Autowired private InstrumentIngestHelper ingestHelper;
+  @Autowired private IngestJobRepo ingestJobRepo;
+  @Autowired private InstrumentIndex instrumentIndex;
+  @Autowired private CacheRegistry cacheRegistry;
+  @Autowired @Qualifier("ingestJobExecutor") private ExecutorService jobExecutor;
+
+  private final Map<String, IngestJob> jobs = new ConcurrentHashMap<>();
+
+  /**
+   * Queue an ingest of a CSV or gzipped CSV file on the server
+   * @param filePath Path to the file
+   * @return The queued job
+   */
+  public IngestJob submitFile(String filePath) {
+    IngestJob job = register(filePath, filePath);
+    jobExecutor.submit(() -> runFileJob(job));
+    log.info("Queued ingest job {} for file {}", job.getJobId(), filePath);
+    return job;
+  }
+
+  /**
+   * Stage a CSV or gzipped CSV stream on the calling thread, then queue its merge. The stream is
+   * consumed as it arrives and never written to disk.
+   * @param body Request body or upload part
+   * @param name Name of the upload shown in progress
+   * @return The job, merging in the background unless staging failed or was cancelled
+   */
+  public IngestJob ingestStream(InputStream body, String name) {
+    IngestJob job = register("upload:" + name, null);
+    job.start();
+    ingestJobRepo.save(job);
+    try (Reader reader = openCsv(body)) {
+      ingestHelper.stage(reader, job);
+    } catch (CancellationException e) {
+      finish(job, IngestJobStatus.CANCELLED, null);
+      return job;
+    } catch (IOException | RuntimeException e) {
+      finish(job, IngestJobStatus.FAILED, e);
+      return job;
+    }
+    job.setStatus(IngestJobStatus.QUEUED);
+    jobExecutor.submit(() -> runMerge(job));
+    return job;
+  }
+
+  public IngestJob getJob(String jobId) {
+    return jobs.get(jobId);
+  }
+
+  /**
+   * Jobs known to this instance, newest first
+   */
+  public List<IngestJob> listJobs() {
+    return jobs.values().stream()
+        .sorted(Comparator.comparingLong(IngestJob::getCreatedAt).reversed())
+        .toList();
+  }
+
+  /**
+   * Request cancellation. Staging stops at the next record and its rows are discarded; a job that
+   * is already merging completes.
+   * @return The job, or null if it is unknown
+   */
+  public IngestJob cancel(String jobId) {
+    IngestJob job = jobs.get(jobId);
+    if (job != null && !job.getStatus().isFinished()) {
+      job.requestCancel();
+      log.info("Cancellation requested for ingest job {}", jobId);
+    }
+    return job;
+  }
+
+  /**
+   * Resume file jobs left queued or running by a previous run. If the staged rows no longer match
+   * the checkpoint (UNLOGGED tables are emptied by a database crash), the job restarts from the
+   * first record, which is safe because the merge is idempotent.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeUnfinishedJobs() {
+    List<IngestJob> unfinished;
+    try {
+      unfinished = ingestJobRepo.findUnfinished();
+    } catch (RuntimeException e) {
+      log.error("Unable to load unfinished ingest jobs: {}", e.getMessage());
+      return;
+    }
+    for (IngestJob job : unfinished) {
+      jobs.put(job.getJobId(), job);
+      if (job.getFilePath() == null) {
+        job.setError("Upload interrupted by a restart, upload the file again");
+        finish(job, IngestJobStatus.FAILED, null);
+        continue;
+      }
+      if (ingestJobRepo.countStaged(job.getJobId()) != job.getRowsStaged()) {
+        log.warn("Staged rows of ingest job {} do not match its checkpoint, restarting it", job.getJobId());
+        ingestJobRepo.deleteStaged(job.getJobId());
+        job.restore(0, 0, 0);
+      }
+      log.info("Resuming ingest job {} for file {} after {} records", job.getJobId(), job.getFilePath(),
+          job.getRecordsCommitted());
+      jobExecutor.submit(() -> runFileJob(job));
+    }
+  }
+
+  private IngestJob register(String source, String filePath) {
+    IngestJob job = new IngestJob(UUID.randomUUID().toString(), source, filePath, System.currentTimeMillis());
+    ingestJobRepo.insert(job);
+    jobs.put(job.getJobId(), job);
+    return job;
+  }
+
+  private void runFileJob(IngestJob job) {
+    if (job.isCancelRequested()) {
+      finish(job, IngestJobStatus.CANCELLED, null);
+      return;
+    }
+    job.start();
+    ingestJobRepo.save(job);
+    try (Reader reader = openCsv(new FileInputStream(job.getFilePath()))) {
+      ingestHelper.stage(reader, job);
+    } catch (CancellationException e) {
+      finish(job, IngestJobStatus.CANCELLED, null);
+      return;
+    } catch (IOException | RuntimeException e) {
+      finish(job, IngestJobStatus.FAILED, e);
+      return;
+    }
+    runMerge(job);
+  }
+
+  private void runMerge(IngestJob job) {
+    if (job.isCancelRequested()) {
+      finish(job, IngestJobStatus.CANCELLED, null);
+      return;
+    }
+    job.setStatus(IngestJobStatus.MERGING);
+    ingestJobRepo.save(job);
+    try {
+      job.setSummary(ingestHelper.merge(job));
+    } catch (IOException | RuntimeException e) {
+      finish(job, IngestJobStatus.FAILED, e);
+      return;
+    }
+    finish(job, IngestJobStatus.COMPLETED, null);
+    instrumentIndex.rebuild();
+    cacheRegistry.invalidate(CacheConstants.INSTRUMENTS);
+  }
+
+  /**
+   * Record the final state; staged rows of jobs that did not complete are discarded
+   */
+  private void finish(IngestJob job, IngestJobStatus status, Exception error) {
+    if (error != null) {
+      log.error("Ingest job {} failed: {}", job.getJobId(), error.getMessage(), error);
+      job.setError(error.getMessage());
+    }
+    job.setStatus(status);
+    job.setFinishedAt(System.currentTimeMillis());
+    try {
+      if (status != IngestJobStatus.COMPLETED) {
+        ingestJobRepo.deleteStaged(job.getJobId());
+      }
+      ingestJobRepo.save(job);
+    } catch (RuntimeException e) {
+      log.error("Unable to record final state of ingest job {}: {}", job.getJobId(), e.getMessage());
+    }
+    log.info("Ingest job {} {}", job.getJobId(), status);
+  }
+
+  /**
+   * Wrap a CSV stream, transparently decompressing it when it starts with the gzip magic bytes
+   */
+  private Reader openCsv(InputStream in) throws IOException {
+    BufferedInputStream buffered = new BufferedInputStream(in, STREAM_BUFFER_SIZE);
+    buffered.mark(2);
+    int first = buffered.read();
+    int second = buffered.read();
+    buffered.reset();
+    InputStream source = first == 0x1f && second == 0x8b
+        ? new GZIPInputStream(buffered, STREAM_BUFFER_SIZE)
+        : buffered;
+    return new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8), STREAM_BUFFER_SIZE);
+  }
+}
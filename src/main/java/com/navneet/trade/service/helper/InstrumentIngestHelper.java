@@ -0,0 +1,398 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.entity.IngestJob;
+import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.entity.repo.IngestJobRepo;
+import com.navneet.trade.models.response.IngestResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads the Groww instrument master CSV into the instruments table.
+ *
+ * @author navneet.prabhakar
+ */
+@Service
+@Slf4j
+public class InstrumentIngestHelper {
+
+  private static final int CHUNK_SIZE = 5000;
+
+  private static final String[] COLUMNS = {"exchange", "exchange_token", "trading_symbol",
+      "groww_symbol", "name", "instrument_type", "segment", "series", "isin", "underlying_symbol",
+      "underlying_exchange_token", "expiry_date", "strike_price", "lot_size", "tick_size",
+      "freeze_quantity", "is_reserved", "buy_allowed", "sell_allowed", "internal_trading_symbol",
+      "is_intraday", "row_hash"};
+
+  private static final String COLUMN_LIST = String.join(", ", COLUMNS);
+
+  private static final String COPY_SQL = "COPY instruments_staging (ingest_id, " + COLUMN_LIST
+      + ") FROM STDIN";
+
+  private static final String DELETE_EXPIRED_SQL = "DELETE FROM instruments WHERE expiry_date < ?";
+
+  private static final String DELETE_DELISTED_SQL = "DELETE FROM instruments i WHERE NOT EXISTS ("
+      + "SELECT 1 FROM instruments_staging s WHERE s.ingest_id = ? "
+      + "AND s.exchange = i.exchange AND s.exchange_token = i.exchange_token)";
+
+  // Inserts new keys, rewrites rows whose hash changed and leaves identical rows untouched
+  private static final String MERGE_SQL = "WITH source AS ("
+      + "SELECT DISTINCT ON (exchange, exchange_token) " + COLUMN_LIST + " FROM instruments_staging "
+      + "WHERE ingest_id = ? AND (expiry_date IS NULL OR expiry_date >= ?) "
+      + "ORDER BY exchange, exchange_token), "
+      + "merged AS (INSERT INTO instruments (" + COLUMN_LIST + ") SELECT " + COLUMN_LIST + " FROM source "
+      + "ON CONFLICT (exchange, exchange_token) DO UPDATE SET "
+      + Arrays.stream(COLUMNS).skip(2).map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", "))
+      + " WHERE instruments.row_hash IS DISTINCT FROM EXCLUDED.row_hash "
+      + "RETURNING (xmax = 0) AS inserted) "
+      + "SELECT (SELECT count(*) FROM source), count(*) FILTER (WHERE inserted), "
+      + "count(*) FILTER (WHERE NOT inserted) FROM merged";
+
+  private static final String CLEAR_STAGING_SQL = "DELETE FROM instruments_staging WHERE ingest_id = ?";
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private IngestJobRepo ingestJobRepo;
+  @Autowired @Qualifier("instrumentIngestExecutor") private ExecutorService executor;
+
+  /**
+   * Copy the CSV rows of an ingest job into instruments_staging. The reader thread only tokenizes
+   * the CSV; chunks of records are mapped, validated, hashed and encoded to COPY text format on the
+   * ingest pool and committed in file order, each chunk in one transaction with the job checkpoint.
+   * Records up to the job's last checkpoint are skipped, which resumes an interrupted job.
+   * @param source CSV content
+   * @param job Job receiving progress, checked for cancellation between records
+   * @throws IOException If reading or staging fails
+   * @throws CancellationException If the job is cancelled
+   */
+  public void stage(Reader source, IngestJob job) throws IOException {
+    log.info("Staging instruments for ingest job {} from {}", job.getJobId(), job.getSource());
+    long skip = job.getRecordsCommitted();
+    int maxInFlight = 2 * Runtime.getRuntime().availableProcessors();
+    Deque<Future<EncodedChunk>> pending = new ArrayDeque<>();
+
+    try (CSVParser csvParser = new CSVParser(source, CSVFormat.DEFAULT
+        .withFirstRecordAsHeader()
+        .withIgnoreHeaderCase()
+        .withTrim())) {
+      long skipped = 0;
+      List<CSVRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+      for (CSVRecord csvRecord : csvParser) {
+        if (skipped < skip) {
+          skipped++;
+          continue;
+        }
+        if (job.isCancelRequested()) {
+          throw new CancellationException("Ingest job " + job.getJobId() + " cancelled");
+        }
+        chunk.add(csvRecord);
+        job.getRowsParsed().incrementAndGet();
+        if (chunk.size() == CHUNK_SIZE) {
+          List<CSVRecord> records = chunk;
+          pending.add(executor.submit(() -> encode(records, job.getJobId())));
+          chunk = new ArrayList<>(CHUNK_SIZE);
+          // bound the encoded chunks held in memory
+          while (pending.size() >= maxInFlight) {
+            commit(job, pending.poll());
+          }
+        }
+      }
+      if (!chunk.isEmpty()) {
+        List<CSVRecord> records = chunk;
+        pending.add(executor.submit(() -> encode(records, job.getJobId())));
+      }
+      while (!pending.isEmpty()) {
+        commit(job, pending.poll());
+      }
+    } finally {
+      pending.forEach(future -> future.cancel(true));
+    }
+    log.info("Staged {} instruments for ingest job {}, {} rejected", job.getRowsStaged(), job.getJobId(),
+        job.getRowsRejected());
+  }
+
+  /**
+   * Apply the staged rows of a job as a diff keyed by (exchange, exchange_token). In one
+   * transaction expired derivatives and instruments missing from the file are deleted, new
+   * instruments inserted and only rows whose hash changed are updated, so running the same file
+   * twice writes nothing; the staged rows are cleared in the same transaction.
+   * @param job Job whose rows are staged
+   * @return Summary of the changes
+   * @throws IOException If nothing was staged or the merge fails
+   */
+  public IngestResponse merge(IngestJob job) throws IOException {
+    // an empty or unreadable file would otherwise delist every instrument
+    if (job.getRowsStaged() == 0) {
+      throw new IOException("No valid instruments found in " + job.getSource());
+    }
+    String today = LocalDate.now(ZoneId.of("Asia/Kolkata")).toString();
+    IngestResponse.IngestResponseBuilder summary = IngestResponse.builder().filePath(job.getSource());
+    try {
+      transactionTemplate.executeWithoutResult(status ->
+          jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            merge(connection, job.getJobId(), today, summary);
+            return null;
+          }));
+    } catch (DataAccessException | TransactionException e) {
+      throw new IOException("Failed to merge instruments of ingest job " + job.getJobId(), e);
+    }
+    IngestResponse response = summary
+        .rowsParsed(job.getRowsParsed().get())
+        .rowsRejected(job.getRowsRejected())
+        .build();
+    log.info("Ingest job {} merged: {} inserted, {} updated, {} unchanged, {} delisted, {} expired",
+        job.getJobId(), response.getRowsInserted(), response.getRowsUpdated(), response.getRowsUnchanged(),
+        response.getRowsDelisted(), response.getRowsExpired());
+    return response;
+  }
+
+  /**
+   * Apply the staged rows of one ingest run to the instruments table and clear them from staging
+   */
+  private void merge(Connection connection, String ingestId, String today,
+      IngestResponse.IngestResponseBuilder summary) throws SQLException {
+    try (PreparedStatement expired = connection.prepareStatement(DELETE_EXPIRED_SQL)) {
+      expired.setString(1, today);
+      summary.rowsExpired((long) expired.executeUpdate());
+    }
+    try (PreparedStatement delisted = connection.prepareStatement(DELETE_DELISTED_SQL)) {
+      delisted.setString(1, ingestId);
+      summary.rowsDelisted((long) delisted.executeUpdate());
+    }
+    try (PreparedStatement merge = connection.prepareStatement(MERGE_SQL)) {
+      merge.setString(1, ingestId);
+      merge.setString(2, today);
+      try (ResultSet resultSet = merge.executeQuery()) {
+        resultSet.next();
+        long source = resultSet.getLong(1);
+        long inserted = resultSet.getLong(2);
+        long updated = resultSet.getLong(3);
+        summary.rowsInserted(inserted).rowsUpdated(updated).rowsUnchanged(source - inserted - updated);
+      }
+    }
+    try (PreparedStatement clear = connection.prepareStatement(CLEAR_STAGING_SQL)) {
+      clear.setString(1, ingestId);
+      clear.executeUpdate();
+    }
+  }
+
+  /**
+   * Copy one encoded chunk to staging and advance the job checkpoint in the same transaction
+   */
+  private void commit(IngestJob job, Future<EncodedChunk> future) throws IOException {
+    EncodedChunk encoded;
+    try {
+      encoded = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Ingestion interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to encode instruments chunk", e.getCause());
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+          try {
+            return connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn(COPY_SQL, new ByteArrayInputStream(encoded.data()));
+          } catch (IOException e) {
+            throw new SQLException("COPY to instruments_staging failed", e);
+          }
+        });
+        job.committed(encoded.records(), encoded.rows(), encoded.rejected());
+        ingestJobRepo.save(job);
+      });
+    } catch (DataAccessException | TransactionException e) {
+      throw new IOException("Failed to stage instruments chunk of ingest job " + job.getJobId(), e);
+    }
+  }
+
+  /**
+   * Map, validate, hash and encode a chunk of records to COPY text format, runs on the ingest pool
+   */
+  private EncodedChunk encode(List<CSVRecord> records, String ingestId) {
+    MessageDigest md5 = md5();
+    StringBuilder out = new StringBuilder(records.size() * 240);
+    StringBuilder row = new StringBuilder(256);
+    int rows = 0;
+    int rejected = 0;
+    for (CSVRecord csvRecord : records) {
+      Instruments instrument = mapCsvRecordToInstrument(csvRecord);
+      if (!isValid(instrument)) {
+        rejected++;
+        log.debug("Rejected instrument at line {}", csvRecord.getRecordNumber() + 1);
+        continue;
+      }
+      row.setLength(0);
+      appendCopyRow(row, instrument);
+      byte[] hash = md5.digest(row.toString().getBytes(StandardCharsets.UTF_8));
+      out.append(ingestId).append('\t').append(row).append('\t')
+          .append(HexFormat.of().formatHex(hash)).append('\n');
+      rows++;
+    }
+    return new EncodedChunk(out.toString().getBytes(StandardCharsets.UTF_8), records.size(), rows, rejected);
+  }
+
+  private static MessageDigest md5() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("MD5 not available", e);
+    }
+  }
+
+  /**
+   * Rows without exchange, exchange token, trading symbol or segment cannot be traded or looked up
+   */
+  private boolean isValid(Instruments instrument) {
+    return instrument.getExchange() != null && instrument.getExchangeToken() != null
+        && instrument.getTradingSymbol() != null && instrument.getSegment() != null;
+  }
+
+  private void appendCopyRow(StringBuilder out, Instruments instrument) {
+    appendCopyValue(out, instrument.getExchange()).append('\t');
+    appendCopyValue(out, instrument.getExchangeToken()).append('\t');
+    appendCopyValue(out, instrument.getTradingSymbol()).append('\t');
+    appendCopyValue(out, instrument.getGrowwSymbol()).append('\t');
+    appendCopyValue(out, instrument.getName()).append('\t');
+    appendCopyValue(out, instrument.getInstrumentType()).append('\t');
+    appendCopyValue(out, instrument.getSegment()).append('\t');
+    appendCopyValue(out, instrument.getSeries()).append('\t');
+    appendCopyValue(out, instrument.getIsin()).append('\t');
+    appendCopyValue(out, instrument.getUnderlyingSymbol()).append('\t');
+    appendCopyValue(out, instrument.getUnderlyingExchangeToken()).append('\t');
+    appendCopyValue(out, instrument.getExpiryDate()).append('\t');
+    appendCopyValue(out, instrument.getStrikePrice()).append('\t');
+    appendCopyValue(out, instrument.getLotSize()).append('\t');
+    appendCopyValue(out, instrument.getTickSize()).append('\t');
+    appendCopyValue(out, instrument.getFreezeQuantity()).append('\t');
+    appendCopyValue(out, instrument.getIsReserved()).append('\t');
+    appendCopyValue(out, instrument.getBuyAllowed()).append('\t');
+    appendCopyValue(out, instrument.getSellAllowed()).append('\t');
+    appendCopyValue(out, instrument.getInternalTradingSymbol()).append('\t');
+    appendCopyValue(out, instrument.getIsIntraday());
+  }
+
+  /**
+   * Append a value in COPY text format: \N for null, backslash escapes for delimiters
+   */
+  private StringBuilder appendCopyValue(StringBuilder out, Object value) {
+    if (value == null) {
+      return out.append("\\N");
+    }
+    String text = value.toString();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '\\' -> out.append("\\\\");
+        case '\t' -> out.append("\\t");
+        case '\n' -> out.append("\\n");
+        case '\r' -> out.append("\\r");
+        default -> out.append(c);
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Map CSV record to Instruments entity, package-private for the ingest benchmark
+   */
+  Instruments mapCsvRecordToInstrument(CSVRecord csvRecord) {
+    return Instruments.builder()
+        .exchange(getStringValue(csvRecord, "exchange"))
+        .exchangeToken(getStringValue(csvRecord, "exchange_token"))
+        .tradingSymbol(getStringValue(csvRecord, "trading_symbol"))
+        .growwSymbol(getStringValue(csvRecord, "groww_symbol"))
+        .name(getStringValue(csvRecord, "name"))
+        .instrumentType(getStringValue(csvRecord, "instrument_type"))
+        .segment(getStringValue(csvRecord, "segment"))
+        .series(getStringValue(csvRecord, "series"))
+        .isin(getStringValue(csvRecord, "isin"))
+        .underlyingSymbol(getStringValue(csvRecord, "underlying_symbol"))
+        .underlyingExchangeToken(getStringValue(csvRecord, "underlying_exchange_token"))
+        .expiryDate(getStringValue(csvRecord, "expiry_date"))
+        .strikePrice(getDoubleValue(csvRecord, "strike_price"))
+        .lotSize(getIntegerValue(csvRecord, "lot_size"))
+        .tickSize(getDoubleValue(csvRecord, "tick_size"))
+        .freezeQuantity(getIntegerValue(csvRecord, "freeze_quantity"))
+        .isReserved(getIntegerValue(csvRecord, "is_reserved"))
+        .buyAllowed(getIntegerValue(csvRecord, "buy_allowed"))
+        .sellAllowed(getIntegerValue(csvRecord, "sell_allowed"))
+        .internalTradingSymbol(getStringValue(csvRecord, "internal_trading_symbol"))
+        .isIntraday(getIntegerValue(csvRecord, "is_intraday"))
+        .build();
+  }
+
+  /**
+   * Safely get string value from CSV record
+   */
+  private String getStringValue(CSVRecord record, String columnName) {
+    try {
+      String value = record.get(columnName);
+      return value != null && !value.trim().isEmpty() ? value.trim() : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Safely get double value from CSV record
+   */
+  private Double getDoubleValue(CSVRecord record, String columnName) {
+    try {
+      String value = record.get(columnName);
+      return value != null && !value.trim().isEmpty() ? Double.parseDouble(value.trim()) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Safely get integer value from CSV record
+   */
+  private Integer getIntegerValue(CSVRecord record, String columnName) {
+    try {
+      String value = record.get(columnName);
+      return value != null && !value.trim().isEmpty() ? Integer.parseInt(value.trim()) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private record EncodedChunk(byte[] data, int records, int rows, int rejected) {
+  }
+}
@@ -0,0 +1,312 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.constants.OrderStatus;
+import com.navneet.trade.constants.Segment;
+import com.navneet.trade.models.request.CancelOrderRequest;
+import com.navneet.trade.models.request.CreateOrderRequest;
+import com.navneet.trade.models.request.ModifyOrderRequest;
+import com.navneet.trade.models.response.CreateOrderResponse;
+import com.navneet.trade.models.response.ModifyOrderResponse;
+import com.navneet.trade.models.response.OrderListResponse;
+import com.navneet.trade.models.response.OrderListResponse.Order;
+import com.navneet.trade.models.response.OrderStatusResponse;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local mirror of the order book, keyed by groww_order_id and order_reference_id. Orders are
+ * recorded from the create, modify and cancel responses as soon as they return, and a background
+ * poller reconciles open orders against the order list, paging only until every open order of the
+ * segment has been seen. Status changes follow the {@link OrderStatus} lifecycle, so a stale page
+ * cannot move an order back. Status and detail queries are answered from memory while the mirrored
+ * order is finished or was confirmed within groww.order-book.max-staleness-ms.
+ *
+ * @author navneet.prabhakar
+ */
+@Service
+@Slf4j
+public class OrderBook {
+
+  private static final String SUCCESS = "SUCCESS";
+
+  @Autowired private GrowwConstants constants;
+  @Autowired private OrderServiceHelper orderServiceHelper;
+
+  private final Map<String, Entry> orders = new ConcurrentHashMap<>();
+  private final Map<String, String> byReference = new ConcurrentHashMap<>();
+
+  /**
+   * Mirrored order, its parsed status, when the broker last confirmed it, and whether it has been
+   * seen in full in an order list rather than only built from responses
+   */
+  private record Entry(Order order, OrderStatus status, long confirmedAt, boolean complete) {
+
+    boolean isOpen() {
+      return status == null || !status.isTerminal();
+    }
+  }
+
+  /**
+   * Mirrored order that can be served without asking the broker
+   * @param growwOrderId Groww order id
+   * @return The order, or null if it is unknown or too stale to serve
+   */
+  public Order find(String growwOrderId) {
+    Entry entry = servable(growwOrderId);
+    return entry == null ? null : entry.order();
+  }
+
+  /**
+   * Variant of {@link #find(String)} for order details, only returning orders with all fields known
+   */
+  public Order findDetails(String growwOrderId) {
+    Entry entry = servable(growwOrderId);
+    return entry == null || !entry.complete() ? null : entry.order();
+  }
+
+  /**
+   * Variant of {@link #find(String)} by order_reference_id
+   */
+  public Order findByReference(String orderReferenceId) {
+    String growwOrderId = orderReferenceId == null ? null : byReference.get(orderReferenceId);
+    return growwOrderId == null ? null : find(growwOrderId);
+  }
+
+  private Entry servable(String growwOrderId) {
+    if (!constants.getOrderBook().isEnabled() || growwOrderId == null) {
+      return null;
+    }
+    Entry entry = orders.get(growwOrderId);
+    if (entry == null) {
+      return null;
+    }
+    boolean fresh = System.currentTimeMillis() - entry.confirmedAt() <= constants.getOrderBook().getMaxStalenessMs();
+    return fresh || !entry.isOpen() ? entry : null;
+  }
+
+  public void recordCreated(CreateOrderRequest request, CreateOrderResponse response) {
+    if (response == null || response.getPayload() == null) {
+      return;
+    }
+    CreateOrderResponse.Payload payload = response.getPayload();
+    apply(Order.builder()
+        .growwOrderId(payload.getGrowwOrderId())
+        .orderStatus(name(payload.getOrderStatus()))
+        .orderReferenceId(payload.getOrderReferenceId() != null ? payload.getOrderReferenceId() : request.getOrderReferenceId())
+        .remark(payload.getRemark())
+        .tradingSymbol(request.getTradingSymbol())
+        .quantity(request.getQuantity() == null ? null : request.getQuantity().longValue())
+        .remainingQuantity(request.getQuantity() == null ? null : request.getQuantity().longValue())
+        .validity(request.getValidity())
+        .exchange(name(request.getExchange()))
+        .segment(name(request.getSegment()))
+        .product(name(request.getProduct()))
+        .orderType(name(request.getOrderType()))
+        .transactionType(name(request.getTransactionType()))
+        .build(), false);
+  }
+
+  public void recordModified(ModifyOrderRequest request, ModifyOrderResponse response) {
+    recordUpdate(request.getGrowwOrderId(), response);
+  }
+
+  public void recordCancelled(CancelOrderRequest request, ModifyOrderResponse response) {
+    recordUpdate(request.getGrowwOrderId(), response);
+  }
+
+  /**
+   * Record a status fetched from the broker
+   */
+  public void recordStatus(OrderStatusResponse response) {
+    if (response == null || response.getPayload() == null) {
+      return;
+    }
+    OrderStatusResponse.Payload payload = response.getPayload();
+    apply(Order.builder()
+        .growwOrderId(payload.getGrowwOrderId())
+        .orderStatus(payload.getOrderStatus())
+        .remark(payload.getRemark())
+        .filledQuantity(payload.getFilledQuantity())
+        .orderReferenceId(payload.getOrderReferenceId())
+        .build(), false);
+  }
+
+  /**
+   * Reconcile full orders from an order list or order details response
+   */
+  public void reconcile(OrderListResponse response) {
+    if (response != null && response.getPayload() != null && response.getPayload().getOrderList() != null) {
+      response.getPayload().getOrderList().forEach(order -> apply(order, true));
+    }
+  }
+
+  /**
+   * Reconcile one full order, e.g. streamed from an order list scan
+   */
+  public void reconcile(Order order) {
+    apply(order, true);
+  }
+
+  /**
+   * Page through the order list of each segment with open mirrored orders, until all of them have
+   * been seen, a short page is returned or groww.order-book.max-pages is reached. Finished orders
+   * past the retention are dropped.
+   */
+  @Scheduled(fixedDelayString = "${groww.order-book.poll-interval-ms:3000}")
+  public void poll() {
+    if (!constants.getOrderBook().isEnabled()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    orders.values().removeIf(entry -> !entry.isOpen()
+        && now - entry.confirmedAt() > constants.getOrderBook().getRetentionMs());
+    byReference.values().removeIf(growwOrderId -> !orders.containsKey(growwOrderId));
+    for (Segment segment : Segment.values()) {
+      Set<String> open = openOrders(segment);
+      if (!open.isEmpty()) {
+        try {
+          scan(segment, open);
+        } catch (RuntimeException e) {
+          log.warn("Order book reconciliation for {} failed: {}", segment, e.getMessage());
+        }
+      }
+    }
+  }
+
+  private void scan(Segment segment, Set<String> open) {
+    int pageSize = constants.getOrderBook().getPageSize();
+    for (int page = 0; page < constants.getOrderBook().getMaxPages() && !open.isEmpty(); page++) {
+      OrderListResponse response = orderServiceHelper.executeGetCall("Reconciling order book page", GrowwEndpoint.ORDER_LIST,
+          null, Map.of("segment", segment.name(), "page", String.valueOf(page), "page_size", String.valueOf(pageSize)),
+          OrderListResponse.class);
+      if (response == null || response.getPayload() == null || response.getPayload().getOrderList() == null) {
+        return;
+      }
+      List<Order> orderList = response.getPayload().getOrderList();
+      for (Order order : orderList) {
+        apply(order, true);
+        open.remove(order.getGrowwOrderId());
+      }
+      if (orderList.size() < pageSize) {
+        return;
+      }
+    }
+    if (!open.isEmpty()) {
+      log.debug("{} open {} orders not found within {} order list pages", open.size(), segment,
+          constants.getOrderBook().getMaxPages());
+    }
+  }
+
+  private Set<String> openOrders(Segment segment) {
+    Set<String> open = new HashSet<>();
+    orders.forEach((growwOrderId, entry) -> {
+      if (entry.isOpen() && segment.name().equals(entry.order().getSegment())) {
+        open.add(growwOrderId);
+      }
+    });
+    return open;
+  }
+
+  private void recordUpdate(String growwOrderId, ModifyOrderResponse response) {
+    if (response == null || response.getPayload() == null) {
+      return;
+    }
+    apply(Order.builder()
+        .growwOrderId(response.getPayload().getGrowwOrderId() != null ? response.getPayload().getGrowwOrderId() : growwOrderId)
+        .orderStatus(response.getPayload().getOrderStatus())
+        .build(), false);
+  }
+
+  /**
+   * Apply an update under the order's map entry lock
+   * @param incoming Full order from the order list, or a partial one built from a response
+   * @param snapshot Whether incoming is a full order replacing the mirrored one, rather than a
+   *                 partial update merged into it
+   */
+  private void apply(Order incoming, boolean snapshot) {
+    if (!constants.getOrderBook().isEnabled() || incoming == null || incoming.getGrowwOrderId() == null) {
+      return;
+    }
+    OrderStatus next = OrderStatus.from(incoming.getOrderStatus());
+    long now = System.currentTimeMillis();
+    Entry updated = orders.compute(incoming.getGrowwOrderId(), (growwOrderId, current) -> {
+      if (current == null) {
+        return new Entry(incoming, next, now, snapshot);
+      }
+      if (next != null && current.status() != null && !current.status().canTransitionTo(next)) {
+        log.debug("Ignoring order {} status {} after {}", growwOrderId, next, current.status());
+        return current;
+      }
+      Order merged = snapshot ? keepReference(incoming, current.order()) : merge(current.order(), incoming);
+      return new Entry(merged, next != null ? next : current.status(), now, snapshot || current.complete());
+    });
+    String reference = updated.order().getOrderReferenceId();
+    if (reference != null) {
+      byReference.put(reference, updated.order().getGrowwOrderId());
+    }
+  }
+
+  private static Order keepReference(Order snapshot, Order current) {
+    return snapshot.getOrderReferenceId() != null || current.getOrderReferenceId() == null ? snapshot
+        : snapshot.toBuilder().orderReferenceId(current.getOrderReferenceId()).build();
+  }
+
+  /**
+   * Copy of the mirrored order with the fields a response carries
+   */
+  private static Order merge(Order current, Order partial) {
+    Order.OrderBuilder merged = current.toBuilder();
+    if (partial.getOrderStatus() != null) {
+      merged.orderStatus(partial.getOrderStatus());
+    }
+    if (partial.getRemark() != null) {
+      merged.remark(partial.getRemark());
+    }
+    if (partial.getFilledQuantity() != null) {
+      merged.filledQuantity(partial.getFilledQuantity());
+    }
+    if (partial.getOrderReferenceId() != null) {
+      merged.orderReferenceId(partial.getOrderReferenceId());
+    }
+    return merged.build();
+  }
+
+  /**
+   * Status response of a mirrored order, shaped like the broker's
+   */
+  public static OrderStatusResponse statusResponse(Order order) {
+    return OrderStatusResponse.builder()
+        .status(SUCCESS)
+        .payload(OrderStatusResponse.Payload.builder()
+            .growwOrderId(order.getGrowwOrderId())
+            .orderStatus(order.getOrderStatus())
+            .remark(order.getRemark())
+            .filledQuantity(order.getFilledQuantity())
+            .orderReferenceId(order.getOrderReferenceId())
+            .build())
+        .build();
+  }
+
+  /**
+   * Order details response of a mirrored order, shaped like the broker's
+   */
+  public static OrderListResponse detailsResponse(Order order) {
+    return OrderListResponse.builder()
+        .status(SUCCESS)
+        .payload(OrderListResponse.Payload.builder().orderList(List.of(order)).build())
+        .build();
+  }
+
+  private static String name(Enum<?> value) {
+    return value == null ? null : value.name();
+  }
+}
@@ -1,10 +1,24 @@
 package com.navneet.trade.service.helper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.navneet.trade.constants.GrowwConstants;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.navneet.trade.constants.CacheConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.constants.OrderStatus;
+import com.navneet.trade.constants.Segment;
+import com.navneet.trade.models.request.CreateOrderRequest;
+import com.navneet.trade.models.request.ModifyOrderRequest;
+import com.navneet.trade.models.request.OrderStatusRequest;
+import com.navneet.trade.models.response.CreateOrderResponse;
+import com.navneet.trade.models.response.OrderListResponse;
+import com.navneet.trade.models.response.OrderStatusResponse;
+import com.navneet.trade.utils.CacheRegistry;
+import com.navneet.trade.utils.EndpointRegistry;
+import com.navneet.trade.utils.RequestCoalescer;
 import com.navneet.trade.utils.RestUtils;
+import jakarta.annotation.PostConstruct;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,38 +32,178 @@ import org.springframework.stereotype.Component;
 @Component
 public class OrderServiceHelper {
 
-  @Autowired private GrowwConstants constants;
+  @Autowired private EndpointRegistry endpoints;
   @Autowired private RestUtils restUtils;
   @Autowired private GrowwServiceHelper growwServiceHelper;
-  private static final ObjectMapper mapper = new ObjectMapper();
+  @Autowired private RequestCoalescer coalescer;
+  @Autowired private CacheRegistry cacheRegistry;
 
-  public <T> T executePostCall(String actionLog, String urlPath, Object request, Class<T> responseType) {
+  private LoadingCache<OrderKey, OrderListResponse> orderDetailsCache;
+
+  private record OrderKey(String growwOrderId, Segment segment) {
+  }
+
+  @PostConstruct
+  public void initCaches() {
+    orderDetailsCache = cacheRegistry.loading(CacheConstants.ORDER_DETAILS,
+        key -> executeGetCall("Fetching order details for order: {}", GrowwEndpoint.ORDER_DETAILS,
+            key.growwOrderId(), Map.of("segment", key.segment().name()), OrderListResponse.class),
+        details -> details.getPayload() == null || details.getPayload().getOrderList() == null ? 1
+            : details.getPayload().getOrderList().size());
+  }
+
+  /**
+   * Order details from the order details cache; modifying or cancelling the order evicts it
+   * @param growwOrderId Groww order id
+   * @param segment Segment of the order
+   * @return Order details, or null if the call fails
+   */
+  public OrderListResponse fetchOrderDetails(String growwOrderId, Segment segment) {
+    return orderDetailsCache.get(new OrderKey(growwOrderId, segment));
+  }
+
+  /**
+   * Non-blocking variant of {@link #fetchOrderDetails(String, Segment)}
+   */
+  public CompletableFuture<OrderListResponse> fetchOrderDetailsAsync(String growwOrderId, Segment segment) {
+    OrderKey key = new OrderKey(growwOrderId, segment);
+    OrderListResponse cached = orderDetailsCache.getIfPresent(key);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return executeGetCallAsync("Fetching order details for order: {}", GrowwEndpoint.ORDER_DETAILS, growwOrderId,
+        Map.of("segment", segment.name()), OrderListResponse.class)
+        .thenApply(details -> {
+          if (details != null) {
+            orderDetailsCache.put(key, details);
+          }
+          return details;
+        });
+  }
+
+  public <T> T executePostCall(String actionLog, GrowwEndpoint endpoint, Object request, Class<T> responseType) {
     try {
       log.info(actionLog, request);
-      ResponseEntity<String> response = restUtils.restPostCall(constants.getBaseUrl() + urlPath,
-          growwServiceHelper.generateHeaders(), null, request);
-      return handleResponse(response, responseType, "post");
+      ResponseEntity<T> response = restUtils.restPostCall(endpoints.url(endpoint),
+          growwServiceHelper.generateHeaders(endpoint), null, request, responseType);
+      evictOrderDetails(request);
+      if (isDuplicateCandidate(response, request, responseType)) {
+        CreateOrderRequest order = (CreateOrderRequest) request;
+        return responseType.cast(createdByReference(order, restUtils.restGetCall(
+            endpoints.url(GrowwEndpoint.ORDER_STATUS_REFERENCE, order.getOrderReferenceId()),
+            growwServiceHelper.generateHeaders(GrowwEndpoint.ORDER_STATUS_REFERENCE), segmentParams(order),
+            OrderStatusResponse.class)));
+      }
+      return handleResponse(response, "post");
     } catch (JsonProcessingException e) {
       throw new RuntimeException(e);
     }
   }
 
-  public <T> T executeGetCall(String actionLog, String urlPath, Map<String, String> params, Class<T> responseType) {
-    try {
-      log.info(actionLog);
-      ResponseEntity<String> response = restUtils.restGetCall(constants.getBaseUrl() + urlPath,
-          growwServiceHelper.generateHeaders(), params);
-      return handleResponse(response, responseType, "get");
-    } catch (JsonProcessingException e) {
-      throw new RuntimeException(e);
+  public <T> T executeGetCall(String actionLog, GrowwEndpoint endpoint, String orderId, Map<String, String> params,
+      Class<T> responseType) {
+    log.info(actionLog);
+    return coalescer.coalesce(endpoint, orderId, params, () -> {
+      try {
+        ResponseEntity<T> response = restUtils.restGetCall(url(endpoint, orderId),
+            growwServiceHelper.generateHeaders(endpoint), params, responseType);
+        return handleResponse(response, "get");
+      } catch (JsonProcessingException e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
+  public <T> CompletableFuture<T> executePostCallAsync(String actionLog, GrowwEndpoint endpoint, Object request,
+      Class<T> responseType) {
+    log.info(actionLog, request);
+    return growwServiceHelper.generateHeadersAsync(endpoint)
+        .thenCompose(headers -> restUtils.restPostCallAsync(endpoints.url(endpoint), headers, null, request, responseType))
+        .thenCompose(response -> {
+          evictOrderDetails(request);
+          if (isDuplicateCandidate(response, request, responseType)) {
+            CreateOrderRequest order = (CreateOrderRequest) request;
+            return growwServiceHelper.generateHeadersAsync(GrowwEndpoint.ORDER_STATUS_REFERENCE)
+                .thenCompose(headers -> restUtils.restGetCallAsync(
+                    endpoints.url(GrowwEndpoint.ORDER_STATUS_REFERENCE, order.getOrderReferenceId()), headers,
+                    segmentParams(order), OrderStatusResponse.class))
+                .thenApply(status -> responseType.cast(createdByReference(order, status)));
+          }
+          return CompletableFuture.completedFuture(handleResponse(response, "post"));
+        });
+  }
+
+  public <T> CompletableFuture<T> executeGetCallAsync(String actionLog, GrowwEndpoint endpoint, String orderId,
+      Map<String, String> params, Class<T> responseType) {
+    log.info(actionLog);
+    return coalescer.coalesceAsync(endpoint, orderId, params, () -> growwServiceHelper.generateHeadersAsync(endpoint)
+        .thenCompose(headers -> restUtils.restGetCallAsync(url(endpoint, orderId), headers, params, responseType))
+        .thenApply(response -> handleResponse(response, "get")));
+  }
+
+  /**
+   * Drop cached details and micro-cached reads of an order that was just modified or cancelled,
+   * otherwise the details cache would reload from a coalesced response of the old order
+   */
+  private void evictOrderDetails(Object request) {
+    String growwOrderId = request instanceof ModifyOrderRequest modify ? modify.getGrowwOrderId()
+        : request instanceof OrderStatusRequest status ? status.getGrowwOrderId() : null;
+    if (growwOrderId != null) {
+      coalescer.evict(GrowwEndpoint.ORDER_DETAILS, growwOrderId);
+      coalescer.evict(GrowwEndpoint.ORDER_STATUS, growwOrderId);
+      orderDetailsCache.asMap().keySet().removeIf(key -> growwOrderId.equals(key.growwOrderId()));
+    }
+  }
+
+  /**
+   * A create retried after an attempt that may have reached the broker can be rejected as a
+   * duplicate of the order its own first attempt placed
+   */
+  private static boolean isDuplicateCandidate(ResponseEntity<?> response, Object request, Class<?> responseType) {
+    return RestUtils.retriedAfterSend(response) && responseType == CreateOrderResponse.class
+        && request instanceof CreateOrderRequest order && order.getOrderReferenceId() != null;
+  }
+
+  /**
+   * Resolve a create rejected after a retry by its order reference; the read bypasses the request
+   * coalescer so a status cached before the order existed cannot hide it
+   * @return Create response of the order placed by an earlier attempt, or null if none exists
+   */
+  private CreateOrderResponse createdByReference(CreateOrderRequest order, ResponseEntity<OrderStatusResponse> status) {
+    OrderStatusResponse.Payload payload = status.getStatusCode().is2xxSuccessful() && status.getBody() != null
+        ? status.getBody().getPayload() : null;
+    if (payload == null || payload.getGrowwOrderId() == null) {
+      log.info("Create for reference {} rejected after a retry and no order has that reference",
+          order.getOrderReferenceId());
+      return null;
     }
+    log.warn("Create for reference {} rejected after a retry, order {} was placed by an earlier attempt",
+        order.getOrderReferenceId(), payload.getGrowwOrderId());
+    return CreateOrderResponse.builder()
+        .status(status.getBody().getStatus())
+        .payload(CreateOrderResponse.Payload.builder()
+            .growwOrderId(payload.getGrowwOrderId())
+            .orderStatus(OrderStatus.from(payload.getOrderStatus()))
+            .orderReferenceId(order.getOrderReferenceId())
+            .remark(payload.getRemark())
+            .build())
+        .build();
+  }
+
+  private static Map<String, String> segmentParams(CreateOrderRequest order) {
+    return order.getSegment() == null ? null : Map.of("segment", order.getSegment().name());
+  }
+
+  private String url(GrowwEndpoint endpoint, String orderId) {
+    return endpoint.isOrderScoped() ? endpoints.url(endpoint, orderId) : endpoints.url(endpoint);
   }
 
-  private <T> T handleResponse(ResponseEntity<String> response, Class<T> responseType, String method) throws JsonProcessingException {
+  // Body is already deserialized from the response stream by RestUtils
+  private <T> T handleResponse(ResponseEntity<T> response, String method) {
     if (response.getStatusCode().is2xxSuccessful()) {
-      return mapper.readValue(response.getBody(), responseType);
+      return response.getBody();
     } else {
-      log.info("Unable to execute {} call, response: {}", method, response);
+      log.info("Unable to execute {} call, status: {}", method, response.getStatusCode());
       return null;
     }
   }
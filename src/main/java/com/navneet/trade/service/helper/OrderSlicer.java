@@ -0,0 +1,63 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.models.request.CreateOrderRequest;
+import com.navneet.trade.utils.GrowwUtils;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits an order above the exchange freeze quantity into child orders the exchange accepts. Each
+ * child is a whole number of lots at most the freeze quantity, the children are as equal as the lot
+ * size allows, and each carries an order reference id derived from the parent's.
+ *
+ * @author navneet.prabhakar
+ */
+@Component
+@Slf4j
+public class OrderSlicer {
+
+  @Autowired private GrowwConstants constants;
+
+  /**
+   * @param order Order to slice, with its order reference id set
+   * @param instrument Instrument master row of the order's symbol
+   * @return Child orders in dispatch order, the order itself if it is within the freeze quantity,
+   *         or an empty list if it cannot be sliced within groww.slicing.max-slices
+   */
+  public List<CreateOrderRequest> slice(CreateOrderRequest order, Instruments instrument) {
+    int quantity = order.getQuantity() == null ? 0 : order.getQuantity();
+    Integer freezeQuantity = instrument.getFreezeQuantity();
+    if (freezeQuantity == null || freezeQuantity <= 0 || quantity <= freezeQuantity) {
+      return List.of(order);
+    }
+    int lotSize = instrument.getLotSize() == null ? 1 : Math.max(1, instrument.getLotSize());
+    int lotsPerSlice = freezeQuantity / lotSize;
+    if (lotsPerSlice == 0 || quantity % lotSize != 0) {
+      log.warn("Cannot slice {} x {} with lot size {} and freeze quantity {}", quantity,
+          order.getTradingSymbol(), lotSize, freezeQuantity);
+      return List.of();
+    }
+    int lots = quantity / lotSize;
+    int slices = (lots + lotsPerSlice - 1) / lotsPerSlice;
+    if (slices > constants.getSlicing().getMaxSlices()) {
+      log.warn("Slicing {} x {} needs {} orders, more than the {} allowed", quantity,
+          order.getTradingSymbol(), slices, constants.getSlicing().getMaxSlices());
+      return List.of();
+    }
+    List<CreateOrderRequest> children = new ArrayList<>(slices);
+    for (int i = 0; i < slices; i++) {
+      // spread the lots evenly, the first lots % slices children take one lot more
+      int childLots = lots / slices + (i < lots % slices ? 1 : 0);
+      children.add(order.toBuilder()
+          .quantity(childLots * lotSize)
+          .orderReferenceId(GrowwUtils.childReferenceId(order.getOrderReferenceId(), i + 1))
+          .build());
+    }
+    return children;
+  }
+}
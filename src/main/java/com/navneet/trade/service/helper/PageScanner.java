@@ -0,0 +1,91 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.models.response.PageScanSummary;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scans every page of a paginated Groww list. Up to groww.paging.concurrency pages are fetched at
+ * once; items are handed to the sink page by page in page order as soon as each page has arrived,
+ * without building a merged list. The scan stops at the first short page, and pages already
+ * requested beyond it are discarded.
+ * @author navneet.prabhakar
+ */
+@Component
+@Slf4j
+public class PageScanner {
+
+  @Autowired private GrowwConstants constants;
+
+  /**
+   * @param action Description of the list, used for logging
+   * @param pageSize Page size requested, a page with fewer items is the last one
+   * @param fetchPage Starts the fetch of a page by its number, from 0; completes with null on failure
+   * @param items Items of a fetched page
+   * @param sink Receives every item, on the calling thread
+   * @return Pages and items delivered and whether the list was read to its end
+   */
+  public <R, I> PageScanSummary scan(String action, int pageSize, IntFunction<CompletableFuture<R>> fetchPage,
+      Function<R, List<I>> items, Consumer<I> sink) {
+    int maxPages = constants.getPaging().getMaxPages();
+    int concurrency = Math.max(1, constants.getPaging().getConcurrency());
+    Deque<CompletableFuture<R>> window = new ArrayDeque<>(concurrency);
+    int requested = 0;
+    while (requested < Math.min(concurrency, maxPages)) {
+      window.add(fetchPage.apply(requested++));
+    }
+    int pages = 0;
+    int delivered = 0;
+    boolean complete = false;
+    try {
+      while (!window.isEmpty()) {
+        R response = join(window.poll());
+        if (response == null) {
+          log.warn("Scan of {} stopped, page {} could not be fetched", action, pages);
+          break;
+        }
+        List<I> pageItems = items.apply(response);
+        int size = pageItems == null ? 0 : pageItems.size();
+        if (pageItems != null) {
+          pageItems.forEach(sink);
+        }
+        pages++;
+        delivered += size;
+        if (size < pageSize) {
+          complete = true;
+          break;
+        }
+        if (requested < maxPages) {
+          window.add(fetchPage.apply(requested++));
+        }
+      }
+    } finally {
+      // Pages requested past the end are left to complete, their results are dropped
+      window.forEach(page -> page.cancel(false));
+    }
+    if (!complete && pages == maxPages) {
+      log.warn("Scan of {} stopped at the limit of {} pages", action, maxPages);
+    }
+    log.info("Scanned {} item(s) of {} in {} page(s)", delivered, action, pages);
+    return PageScanSummary.builder().pages(pages).items(delivered).complete(complete).build();
+  }
+
+  private static <R> R join(CompletableFuture<R> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      log.error("Page fetch failed: {}", e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+      return null;
+    }
+  }
+}
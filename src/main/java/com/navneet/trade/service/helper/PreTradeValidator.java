@@ -0,0 +1,110 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.OrderType;
+import com.navneet.trade.constants.ProductType;
+import com.navneet.trade.constants.TransactionType;
+import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.models.request.CreateOrderRequest;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks a new order against the instrument master before it is sent, so orders Groww would
+ * reject cost no round trip: the instrument must exist, the quantity must be a whole number of
+ * lots within the freeze quantity, prices must lie on the tick grid, the side must be allowed and
+ * intraday products need an intraday instrument. Instruments are looked up in the in-memory
+ * instrument index, so validation does not touch the database once the index is built.
+ *
+ * @author navneet.prabhakar
+ */
+@Component
+public class PreTradeValidator {
+
+  @Autowired private GrowwServiceHelper growwServiceHelper;
+  @Autowired private GrowwConstants constants;
+
+  /**
+   * @param request Order to validate
+   * @return Violations found, empty if the order may be sent
+   */
+  public List<String> validate(CreateOrderRequest request) {
+    List<String> violations = new ArrayList<>();
+    if (!constants.getPreTrade().isEnabled()) {
+      return violations;
+    }
+    if (request.getTradingSymbol() == null || request.getExchange() == null || request.getSegment() == null
+        || request.getTransactionType() == null || request.getOrderType() == null || request.getProduct() == null) {
+      violations.add("trading_symbol, exchange, segment, transaction_type, order_type and product are required");
+      return violations;
+    }
+    Instruments instrument = growwServiceHelper.findInstrument(request.getExchange(), request.getSegment(), request.getTradingSymbol());
+    if (instrument == null) {
+      if (!constants.getPreTrade().isRejectUnknownInstruments()) {
+        return violations;
+      }
+      violations.add("Unknown instrument " + request.getExchange() + " " + request.getSegment() + " " + request.getTradingSymbol());
+      return violations;
+    }
+    checkQuantity(request, instrument, violations);
+    checkPrices(request, instrument, violations);
+    checkSide(request, instrument, violations);
+    checkProduct(request, instrument, violations);
+    return violations;
+  }
+
+  private static void checkQuantity(CreateOrderRequest request, Instruments instrument, List<String> violations) {
+    Integer quantity = request.getQuantity();
+    if (quantity == null || quantity <= 0) {
+      violations.add("Quantity must be positive");
+      return;
+    }
+    Integer lotSize = instrument.getLotSize();
+    if (lotSize != null && lotSize > 1 && quantity % lotSize != 0) {
+      violations.add("Quantity " + quantity + " is not a multiple of the lot size " + lotSize);
+    }
+    Integer freezeQuantity = instrument.getFreezeQuantity();
+    if (freezeQuantity != null && freezeQuantity > 0 && quantity > freezeQuantity) {
+      violations.add("Quantity " + quantity + " exceeds the freeze quantity " + freezeQuantity
+          + ", use create_sliced_order to place it as several orders");
+    }
+  }
+
+  private static void checkPrices(CreateOrderRequest request, Instruments instrument, List<String> violations) {
+    OrderType orderType = request.getOrderType();
+    if (orderType == OrderType.LIMIT || orderType == OrderType.SL) {
+      checkPrice("Price", request.getPrice(), instrument.getTickSize(), violations);
+    }
+    if (orderType == OrderType.SL || orderType == OrderType.SL_M) {
+      checkPrice("Trigger price", request.getTriggerPrice(), instrument.getTickSize(), violations);
+    }
+  }
+
+  private static void checkPrice(String field, Double price, Double tickSize, List<String> violations) {
+    if (price == null || price <= 0) {
+      violations.add(field + " must be positive");
+      return;
+    }
+    if (tickSize != null && tickSize > 0
+        && BigDecimal.valueOf(price).remainder(BigDecimal.valueOf(tickSize)).signum() != 0) {
+      violations.add(field + " " + price + " is not a multiple of the tick size " + tickSize);
+    }
+  }
+
+  private static void checkSide(CreateOrderRequest request, Instruments instrument, List<String> violations) {
+    boolean buy = request.getTransactionType() == TransactionType.BUY;
+    Integer allowed = buy ? instrument.getBuyAllowed() : instrument.getSellAllowed();
+    if (allowed != null && allowed == 0) {
+      violations.add((buy ? "Buying " : "Selling ") + request.getTradingSymbol() + " is not allowed");
+    }
+  }
+
+  private static void checkProduct(CreateOrderRequest request, Instruments instrument, List<String> violations) {
+    if (request.getProduct() == ProductType.MIS && instrument.getIsIntraday() != null && instrument.getIsIntraday() == 0) {
+      violations.add(request.getTradingSymbol() + " is not available for intraday (MIS) orders");
+    }
+  }
+}
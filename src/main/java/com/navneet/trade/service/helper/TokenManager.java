@@ -0,0 +1,190 @@
+package com.navneet.trade.service.helper;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.models.request.TokenRequest;
+import com.navneet.trade.models.response.TokenResponse;
+import com.navneet.trade.utils.EndpointRegistry;
+import com.navneet.trade.utils.GrowwUtils;
+import com.navneet.trade.utils.RestUtils;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Owns the Groww access token. The current token and the request headers built from it are
+ * published together as one immutable snapshot, so the request path is a volatile read and an
+ * expiry check. Tokens are refreshed ahead of expiry by a scheduled check; concurrent callers that
+ * find no valid token share a single in-flight generation instead of each calling the token API.
+ *
+ * @author navneet.prabhakar
+ */
+@Service
+@Slf4j
+public class TokenManager {
+
+  private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+  @Autowired private GrowwConstants constants;
+  @Autowired private GrowwUtils utils;
+  @Autowired private RestUtils restUtils;
+  @Autowired private EndpointRegistry endpoints;
+
+  private volatile TokenState current;
+  private final AtomicReference<CompletableFuture<TokenState>> inFlight = new AtomicReference<>();
+
+  /**
+   * Token with the headers for Groww API calls, built once per token
+   */
+  private record TokenState(TokenResponse token, long expiresAtMillis, Header[] headers) {
+  }
+
+  /**
+   * Headers for Groww API calls carrying a valid token
+   * @return Header array shared by all requests until the token is refreshed, must not be modified
+   */
+  public Header[] headers() {
+    return validState().headers();
+  }
+
+  /**
+   * Headers of the current token without blocking
+   * @return Header array as from {@link #headers()}, or null when a token has to be generated first
+   */
+  public Header[] currentHeaders() {
+    TokenState state = current;
+    return state != null && System.currentTimeMillis() < state.expiresAtMillis() ? state.headers() : null;
+  }
+
+  /**
+   * Current valid token, generated if none is held or it has expired
+   * @return Token response from Groww
+   */
+  public TokenResponse token() {
+    return validState().token();
+  }
+
+  /**
+   * Refresh the token when it is within the refresh-ahead window of its expiry. Nothing is fetched
+   * before the first token is requested.
+   */
+  @Scheduled(fixedDelayString = "${groww.token.check-interval-ms:30000}")
+  public void refreshAhead() {
+    TokenState state = current;
+    long refreshAt = state == null ? Long.MAX_VALUE
+        : state.expiresAtMillis() - TimeUnit.SECONDS.toMillis(constants.getToken().getRefreshAheadSeconds());
+    if (System.currentTimeMillis() >= refreshAt) {
+      log.info("Token expires at {}, refreshing ahead of expiry", Instant.ofEpochMilli(state.expiresAtMillis()));
+      try {
+        refresh(state.expiresAtMillis()).join();
+      } catch (CompletionException e) {
+        log.error("Scheduled token refresh failed: {}", e.getCause().getMessage());
+      }
+    }
+  }
+
+  private TokenState validState() {
+    TokenState state = current;
+    if (state != null && System.currentTimeMillis() < state.expiresAtMillis()) {
+      return state;
+    }
+    try {
+      return refresh(System.currentTimeMillis()).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+    }
+  }
+
+  /**
+   * Start a token generation unless one is already running, in which case join it
+   * @param staleAtMillis Tokens expiring at or before this time are replaced; a newer token
+   *                      published by a generation that just finished is returned as is
+   */
+  private CompletableFuture<TokenState> refresh(long staleAtMillis) {
+    CompletableFuture<TokenState> promise = new CompletableFuture<>();
+    CompletableFuture<TokenState> running = inFlight.compareAndExchange(null, promise);
+    if (running != null) {
+      return running;
+    }
+    try {
+      TokenState state = current;
+      if (state == null || state.expiresAtMillis() <= staleAtMillis) {
+        state = generate();
+        current = state;
+      }
+      promise.complete(state);
+    } catch (RuntimeException e) {
+      promise.completeExceptionally(e);
+    } finally {
+      inFlight.set(null);
+    }
+    return promise;
+  }
+
+  private TokenState generate() {
+    TokenRequest request = utils.generateTokenRequest();
+    log.info("Generating Groww access token");
+    ResponseEntity<TokenResponse> response = restUtils.restPostCall(endpoints.url(GrowwEndpoint.TOKEN),
+        authHeaders(), null, request, TokenResponse.class);
+    TokenResponse token = response.getBody();
+    if (!response.getStatusCode().is2xxSuccessful() || token == null || token.getToken() == null) {
+      log.error("Failed to generate token. Status Code: {}", response.getStatusCode());
+      throw new IllegalStateException("Failed to generate Groww access token, status " + response.getStatusCode());
+    }
+    long expiresAt = expiresAtMillis(token.getExpiry());
+    log.info("Generated token valid until {}", Instant.ofEpochMilli(expiresAt));
+    return new TokenState(token, expiresAt, new Header[] {
+        new BasicHeader("Authorization", "Bearer " + token.getToken()),
+        new BasicHeader("Content-Type", "application/json"),
+        new BasicHeader("X-API-VERSION", "1.0")
+    });
+  }
+
+  /**
+   * Parse the token expiry: an ISO date time with offset, an ISO local date time in IST, or epoch
+   * seconds or millis. Falls back to the configured TTL when absent or unparsable.
+   */
+  private long expiresAtMillis(String expiry) {
+    long fallback = System.currentTimeMillis()
+        + TimeUnit.MINUTES.toMillis(constants.getToken().getFallbackTtlMinutes());
+    if (expiry == null || expiry.isBlank()) {
+      return fallback;
+    }
+    String value = expiry.trim();
+    try {
+      if (value.chars().allMatch(Character::isDigit)) {
+        long epoch = Long.parseLong(value);
+        return epoch < 100_000_000_000L ? epoch * 1000 : epoch;
+      }
+      try {
+        return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+      } catch (DateTimeParseException e) {
+        return LocalDateTime.parse(value).atZone(IST).toInstant().toEpochMilli();
+      }
+    } catch (DateTimeParseException | NumberFormatException e) {
+      log.warn("Unable to parse token expiry '{}', using a {} minute TTL", value,
+          constants.getToken().getFallbackTtlMinutes());
+      return fallback;
+    }
+  }
+
+  private Header[] authHeaders() {
+    return new Header[] {
+        new BasicHeader("Authorization", "Bearer " + constants.getApiKey()),
+        new BasicHeader("Content-Type", "application/json")
+    };
+  }
+}
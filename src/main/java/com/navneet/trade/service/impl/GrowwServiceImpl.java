@@ -2,18 +2,27 @@ package com.navneet.trade.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.navneet.trade.constants.Segment;
+import com.navneet.trade.entity.IngestJob;
 import com.navneet.trade.entity.Instruments;
 import com.navneet.trade.entity.dto.InstrumentsDto;
 import com.navneet.trade.models.request.EntityRequest;
 import com.navneet.trade.models.request.HistoricDataRequest;
+import com.navneet.trade.models.request.InstrumentSearchRequest;
+import com.navneet.trade.models.request.OptionChainRequest;
 import com.navneet.trade.models.response.HistoricDataResponse;
 import com.navneet.trade.models.response.HoldingsResponse;
+import com.navneet.trade.models.response.IngestJobResponse;
+import com.navneet.trade.models.response.InstrumentSearchResponse;
+import com.navneet.trade.models.response.OptionChainResponse;
 import com.navneet.trade.models.response.PositionsResponse;
 import com.navneet.trade.models.response.TokenResponse;
 import com.navneet.trade.service.GrowwService;
 import com.navneet.trade.service.helper.GrowwServiceHelper;
-import java.io.IOException;
+import com.navneet.trade.service.helper.IngestJobManager;
+import com.navneet.trade.utils.LatencyMetrics;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
@@ -29,20 +38,15 @@ import org.springframework.util.CollectionUtils;
 public class GrowwServiceImpl implements GrowwService {
 
   @Autowired private GrowwServiceHelper helper;
+  @Autowired private IngestJobManager ingestJobManager;
+  @Autowired private LatencyMetrics metrics;
 
 
   @Override
   public TokenResponse getToken() {
     try{
-      TokenResponse cache= helper.getTokenFromCache();
-      if(null!=cache){
-        log.info("Token retrieved from cache successfully");
-        return cache;
-      }else{
-        log.info("No valid token found in cache, generating new token");
-        return helper.generateToken();
-      }
-    }catch (JsonProcessingException e){
+      return helper.getToken();
+    }catch (IllegalStateException e){
       log.error("Error generating token: {}", e.getMessage());
     }
     return null;
@@ -54,23 +58,47 @@ public class GrowwServiceImpl implements GrowwService {
   @Override
   public HistoricDataResponse getHistoricData(@McpToolParam(description = "Historic data request with fields: "
       + "tradingSymbol (trading symbol), exchange (NSE/BSE/MCX), segment (CASH/FNO/COMMODITY), "
-      + "intervalInMinutes (1minute/2minute/3minute/5minute/10minute/15minute/30minute/1hour/4hour/1day/1week/1month), "
-      + "start_time (start time in epoch seconds), end_time (end time in epoch seconds)") HistoricDataRequest request) {
-    try {
-      return helper.fetchHistoricData(request);
-    } catch (JsonProcessingException e) {
-      throw new RuntimeException(e);
-    }
+      + "start_time (start time in epoch seconds), end_time (end time in epoch seconds), "
+      + "interval (1minute/2minute/3minute/5minute/10minute/15minute/30minute/1hour/4hour/1day/1week/1month, "
+      + "when set the candles are served from the local candle store and only missing ranges are fetched), "
+      + "compact (optional, true returns candle_series as parallel timestamps/open/high/low/close/volume arrays "
+      + "instead of a list of candle objects, recommended for large ranges), "
+      + "resample (optional, true builds the interval locally from stored 1minute candles aligned to the "
+      + "exchange session, avoids separate API fetches per timeframe)") HistoricDataRequest request) {
+    return metrics.tool("fetch_historic_data", request.getSegment(), () -> {
+      try {
+        return helper.fetchHistoricData(request);
+      } catch (JsonProcessingException e) {
+        throw new RuntimeException(e);
+      }
+    });
   }
 
   @Override
-  public void ingestInstrumentsData(String filePath) {
-    try {
-      int totalRecords=helper.ingestInstrumentsFromCsv(filePath, 2000);
-      log.info("Total records ingested: {}", totalRecords);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+  public IngestJobResponse ingestInstrumentsData(String filePath) {
+    return IngestJobResponse.fromJob(ingestJobManager.submitFile(filePath));
+  }
+
+  @Override
+  public IngestJobResponse uploadInstrumentsData(InputStream body, String name) {
+    return IngestJobResponse.fromJob(ingestJobManager.ingestStream(body, name));
+  }
+
+  @Override
+  public IngestJobResponse getIngestJob(String jobId) {
+    IngestJob job = ingestJobManager.getJob(jobId);
+    return job == null ? null : IngestJobResponse.fromJob(job);
+  }
+
+  @Override
+  public List<IngestJobResponse> listIngestJobs() {
+    return ingestJobManager.listJobs().stream().map(IngestJobResponse::fromJob).toList();
+  }
+
+  @Override
+  public IngestJobResponse cancelIngestJob(String jobId) {
+    IngestJob job = ingestJobManager.cancel(jobId);
+    return job == null ? null : IngestJobResponse.fromJob(job);
   }
 
   @McpTool(name="fetch_entities",
@@ -81,13 +109,47 @@ public class GrowwServiceImpl implements GrowwService {
   @Override
   public List<InstrumentsDto> fetchEntities(@McpToolParam(description = "Request containing name of "
       + "stock, exchange, and segment (CASH, FNO) for searching instruments with similar names") EntityRequest request) {
-    List<Instruments> entities= helper.fetchInstruments(request);
-    if(!CollectionUtils.isEmpty(entities)){
-      return entities.stream().map(InstrumentsDto::fromEntity).toList();
-    }else{
-      log.info("No entities found matching the request criteria: {}", request);
-      return List.of();
-    }
+    return metrics.tool("fetch_entities", request.getSegment(), () -> {
+      List<Instruments> entities= helper.fetchInstruments(request);
+      if(!CollectionUtils.isEmpty(entities)){
+        return entities.stream().map(InstrumentsDto::fromEntity).toList();
+      }else{
+        log.info("No entities found matching the request criteria: {}", request);
+        return List.of();
+      }
+    });
+  }
+
+  @McpTool(name="search_instruments",
+      description="Ranked search over financial instruments for an exchange (NSE, BSE, MCX) and segment "
+          + "(CASH, FNO, COMMODITY). Matches the query against instrument names and trading symbols with "
+          + "typo tolerance and returns only the best matches with a relevance score from 0 to 100. "
+          + "Prefer this over fetch_entities when the query may match many instruments.")
+  @Override
+  public InstrumentSearchResponse searchInstruments(@McpToolParam(description = "Request containing query, "
+      + "exchange, segment, optional filters instrumentType (e.g. CE, PE, FUT, EQ), expiryDate (yyyy-MM-dd) "
+      + "and strikePrice, limit (default 20, max 200) and minScore (0-100)") InstrumentSearchRequest request) {
+    return metrics.tool("search_instruments", request.getSegment(), () -> {
+      List<InstrumentSearchResponse.Match> results = helper.searchInstruments(request).stream()
+          .map(ranked -> InstrumentSearchResponse.Match.builder()
+              .score(ranked.score())
+              .instrument(InstrumentsDto.fromEntity(ranked.instrument()))
+              .build())
+          .toList();
+      return InstrumentSearchResponse.builder().query(request.getQuery()).results(results).build();
+    });
+  }
+
+  @McpTool(name="fetch_option_chain",
+      description="Retrieves the option chain of an underlying (e.g. NIFTY, BANKNIFTY, RELIANCE) for one expiry: "
+          + "the CE and PE contract of each strike around the at-the-money strike, with trading symbols, "
+          + "lot sizes, tick sizes and freeze quantities. Also lists all available expiries.")
+  @Override
+  public OptionChainResponse fetchOptionChain(@McpToolParam(description = "Request containing underlying, "
+      + "exchange (default NSE), optional expiryDate (yyyy-MM-dd, nearest upcoming expiry when absent), "
+      + "spotPrice to locate the ATM strike and strikeCount (strikes on each side of ATM, default 10, max 50)")
+      OptionChainRequest request) {
+    return metrics.tool("fetch_option_chain", null, () -> helper.fetchOptionChain(request));
   }
 
   @McpTool(name="fetch_holdings",
@@ -96,11 +158,13 @@ public class GrowwServiceImpl implements GrowwService {
           + "including quantity, average price, current market value, profit/loss, and other relevant metrics.")
   @Override
   public HoldingsResponse fetchHoldings() {
-    try{
-      return helper.fetchHoldings();
-    } catch (JsonProcessingException e) {
-      throw new RuntimeException(e);
-    }
+    return metrics.tool("fetch_holdings", null, () -> {
+      try{
+        return helper.fetchHoldings();
+      } catch (JsonProcessingException e) {
+        throw new RuntimeException(e);
+      }
+    });
   }
 
   @McpTool(name = "fetch_user_positions",
@@ -110,7 +174,7 @@ public class GrowwServiceImpl implements GrowwService {
           + "current market value, profit/loss, and other relevant metrics.")
   @Override
   public PositionsResponse fetchUserPositions(@McpToolParam(description = "Market segment (CASH, FNO, COMMODITY)") Segment segment) {
-    return helper.fetchUserPositions(segment);
+    return metrics.tool("fetch_user_positions", segment, () -> helper.fetchUserPositions(segment));
   }
 
   @McpTool(name = "fetch_position_trading_symbol",
@@ -121,6 +185,26 @@ public class GrowwServiceImpl implements GrowwService {
   @Override
   public PositionsResponse fetchPositionTradingSymbol(@McpToolParam(description = "Market segment (CASH, FNO, COMMODITY)")Segment segment,
       @McpToolParam(description = "Stock trading symbol") String tradingSymbol) {
-    return helper.fetchPositionTradingSymbol(segment, tradingSymbol);
+    return metrics.tool("fetch_position_trading_symbol", segment, () -> helper.fetchPositionTradingSymbol(segment, tradingSymbol));
+  }
+
+  @Override
+  public CompletableFuture<HistoricDataResponse> getHistoricDataAsync(HistoricDataRequest request) {
+    return helper.fetchHistoricDataAsync(request);
+  }
+
+  @Override
+  public CompletableFuture<HoldingsResponse> fetchHoldingsAsync() {
+    return helper.fetchHoldingsAsync();
+  }
+
+  @Override
+  public CompletableFuture<PositionsResponse> fetchUserPositionsAsync(Segment segment) {
+    return helper.fetchUserPositionsAsync(segment);
+  }
+
+  @Override
+  public CompletableFuture<PositionsResponse> fetchPositionTradingSymbolAsync(Segment segment, String tradingSymbol) {
+    return helper.fetchPositionTradingSymbolAsync(segment, tradingSymbol);
   }
 }
@@ -1,25 +1,46 @@
 package com.navneet.trade.service.impl;
 
 import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.constants.OrderStatus;
 import com.navneet.trade.constants.Segment;
+import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.models.request.BatchOrderRequest;
 import com.navneet.trade.models.request.CancelOrderRequest;
 import com.navneet.trade.models.request.CreateOrderRequest;
 import com.navneet.trade.models.request.ModifyOrderRequest;
 import com.navneet.trade.models.request.OrderStatusRequest;
 import com.navneet.trade.models.request.OrderTradesRequest;
+import com.navneet.trade.models.response.BatchOrderResponse;
 import com.navneet.trade.models.response.CreateOrderResponse;
 import com.navneet.trade.models.response.ModifyOrderResponse;
 import com.navneet.trade.models.response.OrderListResponse;
+import com.navneet.trade.models.response.OrderListResponse.Order;
 import com.navneet.trade.models.response.OrderStatusResponse;
 import com.navneet.trade.models.response.OrderTradesResponse;
+import com.navneet.trade.models.response.PageScanSummary;
+import com.navneet.trade.models.response.SlicedOrderResponse;
 import com.navneet.trade.service.OrderService;
+import com.navneet.trade.service.helper.GrowwServiceHelper;
+import com.navneet.trade.service.helper.OrderBook;
 import com.navneet.trade.service.helper.OrderServiceHelper;
+import com.navneet.trade.service.helper.OrderSlicer;
+import com.navneet.trade.service.helper.PageScanner;
+import com.navneet.trade.service.helper.PreTradeValidator;
+import com.navneet.trade.utils.GrowwUtils;
+import com.navneet.trade.utils.LatencyMetrics;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 /**
  * @author navneet.prabhakar
@@ -28,68 +49,607 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
-  @Autowired private GrowwConstants constants;
   @Autowired private OrderServiceHelper orderServiceHelper;
+  @Autowired private LatencyMetrics metrics;
+  @Autowired private OrderBook orderBook;
+  @Autowired private PageScanner pageScanner;
+  @Autowired private GrowwConstants constants;
+  @Autowired private PreTradeValidator preTradeValidator;
+  @Autowired private OrderSlicer orderSlicer;
+  @Autowired private GrowwServiceHelper growwServiceHelper;
+
+  private static final String SUCCESS = "SUCCESS";
+  private static final String PARTIAL = "PARTIAL";
+  private static final String FAILED = "FAILED";
+  private static final String REJECTED = "REJECTED";
+  private static final String ROLLED_BACK = "ROLLED_BACK";
+  // batch leg results
+  private static final String PLACED = "PLACED";
+  private static final String INVALID = "INVALID";
+  private static final String NOT_SENT = "NOT_SENT";
+  private static final String CANCELLED = "CANCELLED";
+  private static final String CANCEL_FAILED = "CANCEL_FAILED";
 
 
   @McpTool(name = "create_new_order", description = "Creates a new buy or sell order based on the provided request.")
   @Override
   public CreateOrderResponse createNewOrder(
       @McpToolParam(description = "The request containing order details such as trading symbol, quantity, price, order type, and product type.") CreateOrderRequest request) {
-    return orderServiceHelper.executePostCall("Creating new order with request: {}", constants.getCreateOrderUrl(), request, CreateOrderResponse.class);
+    return metrics.tool("create_new_order", request.getSegment(), () -> {
+      withReference(request);
+      List<String> violations = preTradeValidator.validate(request);
+      if (!violations.isEmpty()) {
+        return rejected(request, violations);
+      }
+      CreateOrderResponse response = orderServiceHelper.executePostCall("Creating new order with request: {}", GrowwEndpoint.CREATE_ORDER, request, CreateOrderResponse.class);
+      orderBook.recordCreated(request, response);
+      return response;
+    });
+  }
+
+  @McpTool(name = "create_sliced_order", description = "Creates an order above the exchange freeze quantity by splitting it into lot aligned child orders within the freeze quantity, sent concurrently. Returns the combined fill of the child orders.")
+  @Override
+  public SlicedOrderResponse createSlicedOrder(
+      @McpToolParam(description = "The order to slice, with the same fields as for create_new_order; child orders get order reference ids derived from its own.") CreateOrderRequest request) {
+    return metrics.tool("create_sliced_order", request.getSegment(), () -> {
+      withReference(request);
+      Instruments instrument = growwServiceHelper.findInstrument(request.getExchange(), request.getSegment(), request.getTradingSymbol());
+      List<CreateOrderRequest> children = instrument == null ? List.of(request) : orderSlicer.slice(request, instrument);
+      if (children.isEmpty()) {
+        return slicingRejected(request, List.of("Quantity " + request.getQuantity()
+            + " cannot be split into at most " + constants.getSlicing().getMaxSlices()
+            + " whole lot orders within the freeze quantity"));
+      }
+      List<String> violations = children.stream()
+          .flatMap(child -> preTradeValidator.validate(child).stream())
+          .distinct()
+          .toList();
+      if (!violations.isEmpty()) {
+        return slicingRejected(request, violations);
+      }
+      log.info("Placing {} x {} as {} order(s)", request.getQuantity(), request.getTradingSymbol(), children.size());
+      List<CompletableFuture<PlacedSlice>> dispatched = new ArrayList<>();
+      for (int i = 0; i < children.size(); i++) {
+        dispatched.add(placeSlice(i, children.get(i)));
+      }
+      List<PlacedSlice> placed = dispatched.stream().map(CompletableFuture::join).toList();
+      List<String> placedChildren = placed.stream().filter(PlacedSlice::placed)
+          .map(slice -> slice.slice().getOrderReferenceId()).toList();
+      List<String> failedChildren = placed.stream().filter(slice -> !slice.placed())
+          .map(slice -> slice.slice().getOrderReferenceId()).toList();
+      List<SlicedOrderResponse.Slice> slices = placed.stream().map(PlacedSlice::slice).toList();
+      long filled = 0;
+      double notional = 0;
+      long priced = 0;
+      for (SlicedOrderResponse.Slice slice : slices) {
+        long sliceFilled = slice.getFilledQuantity() == null ? 0 : slice.getFilledQuantity();
+        filled += sliceFilled;
+        if (slice.getAveragePrice() != null) {
+          notional += slice.getAveragePrice() * sliceFilled;
+          priced += sliceFilled;
+        }
+      }
+      boolean partial = !placedChildren.isEmpty() && !failedChildren.isEmpty();
+      if (partial) {
+        log.error("Sliced order {} partially placed: {} child order(s) live, {} failed", request.getOrderReferenceId(),
+            placedChildren.size(), failedChildren.size());
+      }
+      return SlicedOrderResponse.builder()
+          .status(failedChildren.isEmpty() ? SUCCESS : placedChildren.isEmpty() ? FAILED : PARTIAL)
+          .remark(partial ? "Only " + placedChildren.size() + " of " + slices.size()
+              + " child orders were placed; the placed ones stay live and are not cancelled" : null)
+          .placedChildren(placedChildren)
+          .failedChildren(failedChildren)
+          .orderReferenceId(request.getOrderReferenceId())
+          .tradingSymbol(request.getTradingSymbol())
+          .quantity(request.getQuantity())
+          .filledQuantity(filled)
+          .averagePrice(priced == 0 ? null : notional / priced)
+          .slices(slices)
+          .build();
+    });
+  }
+
+  /**
+   * Child order of a sliced order and whether the broker accepted it
+   */
+  private record PlacedSlice(SlicedOrderResponse.Slice slice, boolean placed) {
+  }
+
+  /**
+   * Send one child order, then read its status and first page of trades for the fill view. The
+   * status is read from the broker rather than the order book, which only mirrors the create
+   * response of an order this new.
+   */
+  private CompletableFuture<PlacedSlice> placeSlice(int index, CreateOrderRequest child) {
+    return placeLeg(index, child).thenCompose(leg -> {
+      SlicedOrderResponse.Slice slice = SlicedOrderResponse.Slice.builder()
+          .orderReferenceId(leg.getOrderReferenceId())
+          .growwOrderId(leg.getGrowwOrderId())
+          .quantity(child.getQuantity())
+          .orderStatus(leg.getOrderStatus())
+          .remark(leg.getErrors().isEmpty() ? null : String.join("; ", leg.getErrors()))
+          .latencyMs(leg.getLatencyMs())
+          .build();
+      if (!PLACED.equals(leg.getResult())) {
+        return CompletableFuture.completedFuture(new PlacedSlice(slice, false));
+      }
+      OrderTradesRequest tradesRequest = new OrderTradesRequest();
+      tradesRequest.setOrderId(leg.getGrowwOrderId());
+      tradesRequest.setSegment(child.getSegment());
+      tradesRequest.setPageNumber(0);
+      tradesRequest.setPageSize(constants.getPaging().getTradePageSize());
+      CompletableFuture<OrderStatusResponse> status = orderServiceHelper.executeGetCallAsync("Fetching order status of a slice", GrowwEndpoint.ORDER_STATUS, leg.getGrowwOrderId(), segmentParams(child.getSegment()), OrderStatusResponse.class)
+          .thenApply(response -> {
+            orderBook.recordStatus(response);
+            return response;
+          })
+          .exceptionally(error -> null);
+      CompletableFuture<OrderTradesResponse> trades = fetchTradesForOrderAsync(tradesRequest).exceptionally(error -> null);
+      return status.thenCombine(trades, (statusResponse, tradesResponse) -> {
+        applyFills(slice, statusResponse, tradesResponse);
+        return new PlacedSlice(slice, true);
+      });
+    });
+  }
+
+  /**
+   * Fill a slice's status, filled quantity and average price from its order status and trades
+   */
+  private static void applyFills(SlicedOrderResponse.Slice slice, OrderStatusResponse status, OrderTradesResponse trades) {
+    long filled = 0;
+    if (status != null && status.getPayload() != null) {
+      if (status.getPayload().getOrderStatus() != null) {
+        slice.setOrderStatus(status.getPayload().getOrderStatus());
+      }
+      if (status.getPayload().getFilledQuantity() != null) {
+        filled = status.getPayload().getFilledQuantity();
+      }
+    }
+    if (trades != null && trades.getPayload() != null && trades.getPayload().getTradeList() != null) {
+      long traded = 0;
+      double notional = 0;
+      for (OrderTradesResponse.Trade trade : trades.getPayload().getTradeList()) {
+        if (trade.getQuantity() != null && trade.getPrice() != null) {
+          traded += trade.getQuantity();
+          notional += trade.getPrice() * trade.getQuantity();
+        }
+      }
+      if (traded > 0) {
+        slice.setAveragePrice(notional / traded);
+      }
+      filled = Math.max(filled, traded);
+    }
+    slice.setFilledQuantity(filled);
+  }
+
+  private static SlicedOrderResponse slicingRejected(CreateOrderRequest request, List<String> violations) {
+    log.warn("Sliced order for {} rejected by pre-trade validation: {}", request.getTradingSymbol(), violations);
+    return SlicedOrderResponse.builder()
+        .status(REJECTED)
+        .orderReferenceId(request.getOrderReferenceId())
+        .tradingSymbol(request.getTradingSymbol())
+        .quantity(request.getQuantity())
+        .remark(String.join("; ", violations))
+        .slices(List.of())
+        .build();
+  }
+
+  @McpTool(name = "create_orders_batch", description = "Places a basket of orders concurrently, e.g. the legs of a multi-leg strategy. Every order is validated against the instrument master first and nothing is sent if any order is invalid; with all_or_cancel the placed orders are cancelled when any order fails.")
+  @Override
+  public BatchOrderResponse createOrdersBatch(
+      @McpToolParam(description = "The request containing the list of orders and the all_or_cancel flag.") BatchOrderRequest request) {
+    return metrics.tool("create_orders_batch", null, () -> {
+      List<CreateOrderRequest> orders = request.getOrders() == null ? List.of() : request.getOrders();
+      int maxLegs = constants.getBatch().getMaxLegs();
+      if (orders.isEmpty() || orders.size() > maxLegs) {
+        log.error("Rejected batch of {} orders, 1 to {} orders are accepted", orders.size(), maxLegs);
+        return BatchOrderResponse.builder()
+            .status(REJECTED)
+            .message("A batch takes 1 to " + maxLegs + " orders, got " + orders.size())
+            .legs(List.of())
+            .build();
+      }
+      orders.forEach(this::withReference);
+      List<List<String>> violations = orders.stream().map(preTradeValidator::validate).toList();
+      if (violations.stream().anyMatch(errors -> !errors.isEmpty())) {
+        log.warn("Batch of {} orders rejected by pre-trade validation", orders.size());
+        List<BatchOrderResponse.Leg> legs = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+          legs.add(leg(i, orders.get(i), violations.get(i).isEmpty() ? NOT_SENT : INVALID, violations.get(i), 0));
+        }
+        return BatchOrderResponse.builder().status(REJECTED).legs(legs).build();
+      }
+      List<CompletableFuture<BatchOrderResponse.Leg>> dispatched = new ArrayList<>();
+      for (int i = 0; i < orders.size(); i++) {
+        dispatched.add(placeLeg(i, orders.get(i)));
+      }
+      List<BatchOrderResponse.Leg> legs = dispatched.stream().map(CompletableFuture::join).toList();
+      long placed = legs.stream().filter(leg -> PLACED.equals(leg.getResult())).count();
+      if (placed == legs.size()) {
+        return BatchOrderResponse.builder().status(SUCCESS).legs(legs).build();
+      }
+      if (!request.isAllOrCancel()) {
+        return BatchOrderResponse.builder().status(placed == 0 ? FAILED : PARTIAL).legs(legs).build();
+      }
+      log.warn("{} of {} batch orders failed, cancelling the {} placed", legs.size() - placed, legs.size(), placed);
+      List<CompletableFuture<Boolean>> cancels = legs.stream()
+          .map(leg -> rollbackLeg(leg, orders.get(leg.getIndex()).getSegment()))
+          .toList();
+      CompletableFuture.allOf(cancels.toArray(CompletableFuture[]::new)).join();
+      boolean rolledBack = cancels.stream().allMatch(CompletableFuture::join);
+      boolean anyLive = legs.stream()
+          .anyMatch(leg -> CANCELLED.equals(leg.getResult()) || CANCEL_FAILED.equals(leg.getResult()));
+      return BatchOrderResponse.builder()
+          .status(!anyLive ? FAILED : rolledBack ? ROLLED_BACK : PARTIAL)
+          .legs(legs)
+          .build();
+    });
+  }
+
+  /**
+   * Send one order of a batch, completing with its leg once the broker answered
+   */
+  private CompletableFuture<BatchOrderResponse.Leg> placeLeg(int index, CreateOrderRequest order) {
+    long start = System.nanoTime();
+    return sendOrderAsync(order).handle((response, error) -> {
+      long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      CreateOrderResponse.Payload payload = response == null ? null : response.getPayload();
+      boolean accepted = error == null && payload != null && payload.getGrowwOrderId() != null
+          && (payload.getOrderStatus() == null || !payload.getOrderStatus().isTerminal());
+      List<String> errors = new ArrayList<>();
+      if (error != null) {
+        errors.add(error.getCause() != null ? error.getCause().getMessage() : error.getMessage());
+      } else if (payload != null && payload.getRemark() != null && !accepted) {
+        errors.add(payload.getRemark());
+      }
+      BatchOrderResponse.Leg leg = leg(index, order, accepted ? PLACED : FAILED, errors, latencyMs);
+      if (payload != null) {
+        leg.setGrowwOrderId(payload.getGrowwOrderId());
+        leg.setOrderStatus(payload.getOrderStatus() == null ? null : payload.getOrderStatus().name());
+      }
+      return leg;
+    });
+  }
+
+  /**
+   * Undo one leg of a failed all-or-cancel batch. Placed legs are cancelled. A failed leg without a
+   * groww_order_id may still have been placed when the request failed in transit or timed out, so
+   * it is looked up by its order_reference_id and cancelled if the broker has it open.
+   * @return Whether the leg is not left open
+   */
+  private CompletableFuture<Boolean> rollbackLeg(BatchOrderResponse.Leg leg, Segment segment) {
+    if (PLACED.equals(leg.getResult())) {
+      return cancelLeg(leg, segment);
+    }
+    if (leg.getGrowwOrderId() != null || leg.getOrderReferenceId() == null) {
+      return CompletableFuture.completedFuture(true);
+    }
+    return orderServiceHelper.executeGetCallAsync("Resolving failed batch order by reference", GrowwEndpoint.ORDER_STATUS_REFERENCE, leg.getOrderReferenceId(), segmentParams(segment), OrderStatusResponse.class)
+        .exceptionally(error -> null)
+        .thenCompose(response -> {
+          OrderStatusResponse.Payload payload = response == null ? null : response.getPayload();
+          if (payload == null || payload.getGrowwOrderId() == null) {
+            return CompletableFuture.completedFuture(true);
+          }
+          orderBook.recordStatus(response);
+          OrderStatus status = OrderStatus.from(payload.getOrderStatus());
+          leg.setGrowwOrderId(payload.getGrowwOrderId());
+          leg.setOrderStatus(payload.getOrderStatus());
+          if (status != null && status.isTerminal()) {
+            return CompletableFuture.completedFuture(true);
+          }
+          log.warn("Failed batch order {} was placed as {}, cancelling it", leg.getOrderReferenceId(), payload.getGrowwOrderId());
+          return cancelLeg(leg, segment);
+        });
+  }
+
+  /**
+   * Cancel a placed leg of a failed all-or-cancel batch
+   * @return Whether the cancellation was accepted
+   */
+  private CompletableFuture<Boolean> cancelLeg(BatchOrderResponse.Leg leg, Segment segment) {
+    CancelOrderRequest cancel = new CancelOrderRequest();
+    cancel.setSegment(segment);
+    cancel.setGrowwOrderId(leg.getGrowwOrderId());
+    return cancelOrderAsync(cancel).handle((response, error) -> {
+      boolean cancelled = error == null && response != null && SUCCESS.equals(response.getStatus());
+      leg.setResult(cancelled ? CANCELLED : CANCEL_FAILED);
+      if (cancelled && response.getPayload() != null && response.getPayload().getOrderStatus() != null) {
+        leg.setOrderStatus(response.getPayload().getOrderStatus());
+      } else if (!cancelled) {
+        log.error("Failed to cancel batch order {}", leg.getGrowwOrderId());
+      }
+      return cancelled;
+    });
+  }
+
+  private static BatchOrderResponse.Leg leg(int index, CreateOrderRequest order, String result, List<String> errors, long latencyMs) {
+    return BatchOrderResponse.Leg.builder()
+        .index(index)
+        .tradingSymbol(order.getTradingSymbol())
+        .orderReferenceId(order.getOrderReferenceId())
+        .result(result)
+        .errors(errors)
+        .latencyMs(latencyMs)
+        .build();
   }
 
   @McpTool(name = "modify_order", description = "Modifies an existing order based on the provided request.")
   @Override
   public ModifyOrderResponse modifyOrder(
       @McpToolParam(description = "The request containing the order ID to modify and new order parameters such as price and quantity.") ModifyOrderRequest request) {
-    return orderServiceHelper.executePostCall("Modifying order with request: {}", constants.getModifyOrderUrl(), request, ModifyOrderResponse.class);
+    return metrics.tool("modify_order", request.getSegment(), () -> {
+      ModifyOrderResponse response = orderServiceHelper.executePostCall("Modifying order with request: {}", GrowwEndpoint.MODIFY_ORDER, request, ModifyOrderResponse.class);
+      orderBook.recordModified(request, response);
+      return response;
+    });
   }
 
   @McpTool(name = "cancel_order", description = "Cancels an existing order based on the provided request.")
   @Override
   public ModifyOrderResponse cancelOrder(
       @McpToolParam(description = "The request containing the order ID to be cancelled.") CancelOrderRequest request) {
-    return orderServiceHelper.executePostCall("Cancelling order with request: {}", constants.getCancelOrderUrl(), request, ModifyOrderResponse.class);
+    return metrics.tool("cancel_order", request.getSegment(), () -> {
+      ModifyOrderResponse response = orderServiceHelper.executePostCall("Cancelling order with request: {}", GrowwEndpoint.CANCEL_ORDER, request, ModifyOrderResponse.class);
+      orderBook.recordCancelled(request, response);
+      return response;
+    });
   }
 
   @McpTool(name = "fetch_trades_for_order", description = "Fetches the trades associated with a specific order based on the provided request.")
   @Override
   public OrderTradesResponse fetchTradesForOrder(
       @McpToolParam(description = "The request containing the order ID to fetch associated trades for.") OrderTradesRequest request) {
-    Map<String, String> params = Map.of(
-        "segment", request.getSegment().name(),
-        "page", String.valueOf(request.getPageNumber()),
-        "page_size", String.valueOf(request.getPageSize())
-    );
-    return orderServiceHelper.executeGetCall("Fetching trades for order with request: {}", constants.getOrderTradesUrl() + request.getOrderId(), params, OrderTradesResponse.class);
+    return metrics.tool("fetch_trades_for_order", request.getSegment(), () ->
+        orderServiceHelper.executeGetCall("Fetching trades for order with request: {}", GrowwEndpoint.ORDER_TRADES, request.getOrderId(), tradesParams(request), OrderTradesResponse.class));
+  }
+
+  @McpTool(name = "fetch_all_trades_for_order", description = "Fetches all trades of a specific order, reading every page of trades.")
+  @Override
+  public OrderTradesResponse fetchAllTradesForOrder(
+      @McpToolParam(description = "The request containing the order ID and segment; page fields are ignored.") OrderTradesRequest request) {
+    return metrics.tool("fetch_all_trades_for_order", request.getSegment(), () -> {
+      List<OrderTradesResponse.Trade> trades = new ArrayList<>();
+      PageScanSummary scan = scanTradesForOrder(request.getOrderId(), request.getSegment(), trades::add);
+      if (scan.getPages() == 0) {
+        return null;
+      }
+      return OrderTradesResponse.builder()
+          .status(scan.isComplete() ? SUCCESS : PARTIAL)
+          .payload(OrderTradesResponse.Payload.builder().tradeList(trades).build())
+          .build();
+    });
+  }
+
+  @Override
+  public PageScanSummary scanTradesForOrder(String orderId, Segment segment, Consumer<OrderTradesResponse.Trade> sink) {
+    int pageSize = constants.getPaging().getTradePageSize();
+    return pageScanner.scan("trades of order " + orderId, pageSize,
+        page -> orderServiceHelper.executeGetCallAsync("Fetching trades page for order", GrowwEndpoint.ORDER_TRADES, orderId,
+            pageParams(segment, page, pageSize), OrderTradesResponse.class),
+        response -> response.getPayload() == null ? null : response.getPayload().getTradeList(),
+        sink);
   }
 
   @McpTool(name = "fetch_order_status", description = "Fetches the current status of a specific order based on the provided request.")
   @Override
   public OrderStatusResponse fetchOrderStatus(
       @McpToolParam(description = "The request containing the order ID to fetch the status for.") OrderStatusRequest request) {
-    Map<String, String> params = Map.of("segment", request.getSegment().name());
-    return orderServiceHelper.executeGetCall("Fetching order status for order with request: {}", constants.getOrderStatusUrl() + request.getGrowwOrderId(), params, OrderStatusResponse.class);
+    return metrics.tool("fetch_order_status", request.getSegment(), () -> {
+      Order mirrored = orderBook.find(request.getGrowwOrderId());
+      if (mirrored != null) {
+        return OrderBook.statusResponse(mirrored);
+      }
+      OrderStatusResponse response = orderServiceHelper.executeGetCall("Fetching order status for order with request: {}", GrowwEndpoint.ORDER_STATUS, request.getGrowwOrderId(), segmentParams(request.getSegment()), OrderStatusResponse.class);
+      orderBook.recordStatus(response);
+      return response;
+    });
+  }
+
+  @McpTool(name = "fetch_order_status_by_reference", description = "Fetches the current status of an order by the order reference id it was placed with.")
+  @Override
+  public OrderStatusResponse fetchOrderStatusByReference(
+      @McpToolParam(description = "Segment name supported CASH, FNO, COMMODITY") Segment segment,
+      @McpToolParam(description = "The order reference id given or generated when the order was created") String orderReferenceId) {
+    return metrics.tool("fetch_order_status_by_reference", segment, () -> {
+      Order mirrored = orderBook.findByReference(orderReferenceId);
+      if (mirrored != null) {
+        return OrderBook.statusResponse(mirrored);
+      }
+      OrderStatusResponse response = orderServiceHelper.executeGetCall("Fetching order status for order reference", GrowwEndpoint.ORDER_STATUS_REFERENCE, orderReferenceId, segmentParams(segment), OrderStatusResponse.class);
+      orderBook.recordStatus(response);
+      return response;
+    });
   }
 
   @McpTool(name = "fetch_order_list", description = "Fetches the list of orders for a specific segment.")
   @Override
   public OrderListResponse fetchOrderList(
       @McpToolParam(description = "Segment name supported CASH, FNO, COMMODITY") Segment segment) {
-    Map<String, String> params = Map.of(
-        "segment", segment.name(),
-        "page", "0",
-        "page_size", "100"
-    );
-    return orderServiceHelper.executeGetCall("Fetching order list for segment: {}", constants.getOrderListUrl(), params, OrderListResponse.class);
+    return metrics.tool("fetch_order_list", segment, () -> {
+      OrderListResponse response = orderServiceHelper.executeGetCall("Fetching order list for segment: {}", GrowwEndpoint.ORDER_LIST, null, orderListParams(segment), OrderListResponse.class);
+      orderBook.reconcile(response);
+      return response;
+    });
+  }
+
+  @McpTool(name = "fetch_all_orders", description = "Fetches all orders for a specific segment, reading every page of the order list.")
+  @Override
+  public OrderListResponse fetchAllOrders(
+      @McpToolParam(description = "Segment name supported CASH, FNO, COMMODITY") Segment segment) {
+    return metrics.tool("fetch_all_orders", segment, () -> {
+      List<Order> orders = new ArrayList<>();
+      PageScanSummary scan = scanOrders(segment, orders::add);
+      if (scan.getPages() == 0) {
+        return null;
+      }
+      return OrderListResponse.builder()
+          .status(scan.isComplete() ? SUCCESS : PARTIAL)
+          .payload(OrderListResponse.Payload.builder().orderList(orders).build())
+          .build();
+    });
+  }
+
+  @Override
+  public PageScanSummary scanOrders(Segment segment, Consumer<Order> sink) {
+    int pageSize = constants.getPaging().getOrderPageSize();
+    return pageScanner.scan("order list " + segment, pageSize,
+        page -> orderServiceHelper.executeGetCallAsync("Fetching order list page", GrowwEndpoint.ORDER_LIST, null,
+            pageParams(segment, page, pageSize), OrderListResponse.class),
+        response -> response.getPayload() == null ? null : response.getPayload().getOrderList(),
+        order -> {
+          orderBook.reconcile(order);
+          sink.accept(order);
+        });
   }
 
   @McpTool(name = "fetch_order_details", description = "Fetches the details of a specific order based on the provided request.")
   @Override
   public OrderListResponse fetchOrderDetails(
       @McpToolParam(description = "The request containing the order ID to fetch the status for.") OrderStatusRequest request) {
-    Map<String, String> params = Map.of("segment", request.getSegment().name());
-    return orderServiceHelper.executeGetCall("Fetching order details for request: {}", constants.getOrderDetailsUrl() + request.getGrowwOrderId(), params, OrderListResponse.class);
+    return metrics.tool("fetch_order_details", request.getSegment(), () -> {
+      Order mirrored = orderBook.findDetails(request.getGrowwOrderId());
+      if (mirrored != null) {
+        return OrderBook.detailsResponse(mirrored);
+      }
+      OrderListResponse response = orderServiceHelper.fetchOrderDetails(request.getGrowwOrderId(), request.getSegment());
+      orderBook.reconcile(response);
+      return response;
+    });
+  }
+
+  @Override
+  public CompletableFuture<CreateOrderResponse> createNewOrderAsync(CreateOrderRequest request) {
+    withReference(request);
+    List<String> violations = preTradeValidator.validate(request);
+    if (!violations.isEmpty()) {
+      return CompletableFuture.completedFuture(rejected(request, violations));
+    }
+    return sendOrderAsync(request);
+  }
+
+  /**
+   * Send an order that passed pre-trade validation
+   */
+  private CompletableFuture<CreateOrderResponse> sendOrderAsync(CreateOrderRequest request) {
+    return orderServiceHelper.executePostCallAsync("Creating new order with request: {}", GrowwEndpoint.CREATE_ORDER, request, CreateOrderResponse.class)
+        .thenApply(response -> {
+          orderBook.recordCreated(request, response);
+          return response;
+        });
+  }
+
+  @Override
+  public CompletableFuture<ModifyOrderResponse> modifyOrderAsync(ModifyOrderRequest request) {
+    return orderServiceHelper.executePostCallAsync("Modifying order with request: {}", GrowwEndpoint.MODIFY_ORDER, request, ModifyOrderResponse.class)
+        .thenApply(response -> {
+          orderBook.recordModified(request, response);
+          return response;
+        });
+  }
+
+  @Override
+  public CompletableFuture<ModifyOrderResponse> cancelOrderAsync(CancelOrderRequest request) {
+    return orderServiceHelper.executePostCallAsync("Cancelling order with request: {}", GrowwEndpoint.CANCEL_ORDER, request, ModifyOrderResponse.class)
+        .thenApply(response -> {
+          orderBook.recordCancelled(request, response);
+          return response;
+        });
+  }
+
+  @Override
+  public CompletableFuture<OrderTradesResponse> fetchTradesForOrderAsync(OrderTradesRequest request) {
+    return orderServiceHelper.executeGetCallAsync("Fetching trades for order with request: {}", GrowwEndpoint.ORDER_TRADES, request.getOrderId(), tradesParams(request), OrderTradesResponse.class);
+  }
+
+  @Override
+  public CompletableFuture<OrderStatusResponse> fetchOrderStatusAsync(OrderStatusRequest request) {
+    Order mirrored = orderBook.find(request.getGrowwOrderId());
+    if (mirrored != null) {
+      return CompletableFuture.completedFuture(OrderBook.statusResponse(mirrored));
+    }
+    return orderServiceHelper.executeGetCallAsync("Fetching order status for order with request: {}", GrowwEndpoint.ORDER_STATUS, request.getGrowwOrderId(), segmentParams(request.getSegment()), OrderStatusResponse.class)
+        .thenApply(response -> {
+          orderBook.recordStatus(response);
+          return response;
+        });
+  }
+
+  @Override
+  public CompletableFuture<OrderListResponse> fetchOrderListAsync(Segment segment) {
+    return orderServiceHelper.executeGetCallAsync("Fetching order list for segment: {}", GrowwEndpoint.ORDER_LIST, null, orderListParams(segment), OrderListResponse.class)
+        .thenApply(response -> {
+          orderBook.reconcile(response);
+          return response;
+        });
+  }
+
+  @Override
+  public CompletableFuture<OrderListResponse> fetchOrderDetailsAsync(OrderStatusRequest request) {
+    Order mirrored = orderBook.findDetails(request.getGrowwOrderId());
+    if (mirrored != null) {
+      return CompletableFuture.completedFuture(OrderBook.detailsResponse(mirrored));
+    }
+    return orderServiceHelper.fetchOrderDetailsAsync(request.getGrowwOrderId(), request.getSegment())
+        .thenApply(response -> {
+          orderBook.reconcile(response);
+          return response;
+        });
+  }
+
+  /**
+   * Rejection of an order that failed pre-trade validation, shaped like the broker's so callers
+   * handle it like an order Groww rejected
+   */
+  private static CreateOrderResponse rejected(CreateOrderRequest request, List<String> violations) {
+    log.warn("Order for {} rejected by pre-trade validation: {}", request.getTradingSymbol(), violations);
+    return CreateOrderResponse.builder()
+        .status(REJECTED)
+        .payload(CreateOrderResponse.Payload.builder()
+            .orderStatus(OrderStatus.REJECTED)
+            .orderReferenceId(request.getOrderReferenceId())
+            .remark(String.join("; ", violations))
+            .build())
+        .build();
+  }
+
+  /**
+   * Give the order an order_reference_id when the caller did not, so a retried create cannot
+   * place it twice
+   */
+  private CreateOrderRequest withReference(CreateOrderRequest request) {
+    if (!StringUtils.hasText(request.getOrderReferenceId())) {
+      request.setOrderReferenceId(GrowwUtils.generateOrderReferenceId());
+    }
+    return request;
+  }
+
+  private Map<String, String> segmentParams(Segment segment) {
+    return Map.of("segment", segment.name());
+  }
+
+  private Map<String, String> tradesParams(OrderTradesRequest request) {
+    return Map.of(
+        "segment", request.getSegment().name(),
+        "page", String.valueOf(request.getPageNumber()),
+        "page_size", String.valueOf(request.getPageSize())
+    );
+  }
+
+  private Map<String, String> pageParams(Segment segment, int page, int pageSize) {
+    return Map.of(
+        "segment", segment.name(),
+        "page", String.valueOf(page),
+        "page_size", String.valueOf(pageSize)
+    );
+  }
+
+  private Map<String, String> orderListParams(Segment segment) {
+    return Map.of(
+        "segment", segment.name(),
+        "page", "0",
+        "page_size", "100"
+    );
   }
 }
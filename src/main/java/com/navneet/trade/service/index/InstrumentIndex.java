@@ -0,0 +1,183 @@
+package com.navneet.trade.service.index;
+
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.constants.Segment;
+import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.entity.repo.InstrumentsRepo;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the instrument master, partitioned by exchange and segment. Loaded at startup
+ * and after every ingest; a rebuild creates a complete new snapshot and swaps it in atomically, so
+ * searches never see a half built index.
+ *
+ * @author navneet.prabhakar
+ */
+@Slf4j
+@Component
+public class InstrumentIndex {
+
+  @Autowired private InstrumentsRepo instrumentsRepo;
+  @Autowired @Qualifier("growwRestExecutor") private ExecutorService executor;
+
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+  private volatile Map<Exchange, Map<Segment, InstrumentPartition>> partitions;
+  private volatile OptionChainIndex optionChains = OptionChainIndex.EMPTY;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.error("Unable to build instrument index, searches fall back to the database: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Reload all instruments from the database and swap in a freshly built index
+   */
+  public synchronized void rebuild() {
+    long start = System.currentTimeMillis();
+    List<Instruments> instruments = instrumentsRepo.findAll();
+
+    Map<Exchange, Map<Segment, List<Instruments>>> grouped = new EnumMap<>(Exchange.class);
+    Map<Exchange, List<Instruments>> options = new EnumMap<>(Exchange.class);
+    for (Instruments instrument : instruments) {
+      Exchange exchange = parse(Exchange.class, instrument.getExchange());
+      Segment segment = parse(Segment.class, instrument.getSegment());
+      if (exchange != null && segment != null) {
+        grouped.computeIfAbsent(exchange, e -> new EnumMap<>(Segment.class))
+            .computeIfAbsent(segment, s -> new ArrayList<>())
+            .add(instrument);
+        if (segment != Segment.CASH && instrument.getUnderlyingSymbol() != null) {
+          options.computeIfAbsent(exchange, e -> new ArrayList<>()).add(instrument);
+        }
+      }
+    }
+    Map<Exchange, Map<Segment, InstrumentPartition>> built = new EnumMap<>(Exchange.class);
+    grouped.forEach((exchange, bySegment) -> {
+      Map<Segment, InstrumentPartition> segmentPartitions = new EnumMap<>(Segment.class);
+      bySegment.forEach((segment, rows) -> segmentPartitions.put(segment, InstrumentPartition.build(rows)));
+      built.put(exchange, segmentPartitions);
+    });
+    OptionChainIndex chains = OptionChainIndex.build(options);
+    // option chains first, isReady() is keyed on the partitions
+    optionChains = chains;
+    partitions = built;
+    log.info("Instrument index built with {} instruments in {} ms", instruments.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Start a rebuild in the background unless one is already running, so a request that finds the
+   * index not ready never waits on loading the whole instrument table
+   */
+  public void rebuildAsync() {
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+    executor.execute(() -> {
+      try {
+        rebuild();
+      } catch (RuntimeException e) {
+        log.error("Background instrument index rebuild failed: {}", e.getMessage());
+      } finally {
+        rebuilding.set(false);
+      }
+    });
+  }
+
+  public boolean isReady() {
+    return partitions != null;
+  }
+
+  /**
+   * Find instruments whose name or trading symbol contains the given text, ignoring case
+   * @param name Substring to search for
+   * @param exchange Exchange partition
+   * @param segment Segment partition
+   * @return Matching instruments, empty if the partition does not exist
+   */
+  public List<Instruments> search(String name, Exchange exchange, Segment segment) {
+    InstrumentPartition partition = partition(exchange, segment);
+    return partition == null ? List.of() : partition.findContaining(name);
+  }
+
+  /**
+   * Instrument by its exact trading symbol, answered from memory
+   * @param exchange Exchange partition
+   * @param segment Segment partition
+   * @param tradingSymbol Trading symbol as in the instrument master
+   * @return The instrument, null if it is not indexed
+   */
+  public Instruments find(Exchange exchange, Segment segment, String tradingSymbol) {
+    InstrumentPartition partition = partition(exchange, segment);
+    return partition == null || tradingSymbol == null ? null : partition.findBySymbol(tradingSymbol);
+  }
+
+  /**
+   * Rank instruments of a partition against the query, keeping only the best matches
+   * @param query Search text, matched against name and trading symbol with typo tolerance
+   * @param exchange Exchange partition
+   * @param segment Segment partition
+   * @param filter Optional filter applied before scoring
+   * @param limit Maximum number of results
+   * @param minScore Minimum score between 0 and 100
+   * @return Matches ordered by descending score
+   */
+  public List<RankedInstrument> rank(String query, Exchange exchange, Segment segment,
+      Predicate<Instruments> filter, int limit, double minScore) {
+    InstrumentPartition partition = partition(exchange, segment);
+    return partition == null ? List.of() : partition.rank(query, filter, limit, minScore);
+  }
+
+  /**
+   * Rank instruments loaded outside the index, e.g. from the database while it is being built
+   * @param rows Candidate instruments
+   * @see #rank(String, Exchange, Segment, Predicate, int, double)
+   */
+  public static List<RankedInstrument> rank(List<Instruments> rows, String query,
+      Predicate<Instruments> filter, int limit, double minScore) {
+    return InstrumentPartition.build(rows).rank(query, filter, limit, minScore);
+  }
+
+  /**
+   * Current option chain lookup, empty until the index is built
+   */
+  public OptionChainIndex optionChains() {
+    return optionChains;
+  }
+
+  private InstrumentPartition partition(Exchange exchange, Segment segment) {
+    Map<Exchange, Map<Segment, InstrumentPartition>> current = partitions;
+    if (current == null) {
+      return null;
+    }
+    Map<Segment, InstrumentPartition> bySegment = current.get(exchange);
+    return bySegment == null ? null : bySegment.get(segment);
+  }
+
+  private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Enum.valueOf(type, value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
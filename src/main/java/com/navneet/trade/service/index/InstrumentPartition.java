@@ -0,0 +1,266 @@
+package com.navneet.trade.service.index;
+
+import com.navneet.trade.entity.Instruments;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Immutable trigram index over the instruments of one exchange and segment. Every row contributes
+ * the trigrams of its normalized name and trading symbol; postings are stored in compressed
+ * sparse row form (sorted trigram keys, offsets and one shared row array), so the whole index is
+ * a handful of primitive arrays. Exact trading symbols are also hashed for order validation.
+ *
+ * @author navneet.prabhakar
+ */
+final class InstrumentPartition {
+
+  private final Instruments[] instruments;
+  private final String[] names;
+  private final String[] symbols;
+  private final int[] trigramKeys;
+  private final int[] offsets;
+  private final int[] postings;
+  private final Map<String, Instruments> bySymbol;
+
+  private InstrumentPartition(Instruments[] instruments, String[] names, String[] symbols,
+      int[] trigramKeys, int[] offsets, int[] postings, Map<String, Instruments> bySymbol) {
+    this.instruments = instruments;
+    this.bySymbol = bySymbol;
+    this.names = names;
+    this.symbols = symbols;
+    this.trigramKeys = trigramKeys;
+    this.offsets = offsets;
+    this.postings = postings;
+  }
+
+  static InstrumentPartition build(List<Instruments> rows) {
+    int size = rows.size();
+    Instruments[] instruments = rows.toArray(new Instruments[0]);
+    String[] names = new String[size];
+    String[] symbols = new String[size];
+    Map<String, Instruments> bySymbol = HashMap.newHashMap(size);
+    // (trigram << 32 | row) pairs, sorted and de-duplicated into postings
+    long[] pairs = new long[Math.max(16, size * 16)];
+    int pairCount = 0;
+    for (int row = 0; row < size; row++) {
+      names[row] = normalize(instruments[row].getName());
+      symbols[row] = normalize(instruments[row].getTradingSymbol());
+      if (instruments[row].getTradingSymbol() != null) {
+        bySymbol.putIfAbsent(instruments[row].getTradingSymbol(), instruments[row]);
+      }
+      for (String text : new String[] {names[row], symbols[row]}) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+          if (pairCount == pairs.length) {
+            pairs = Arrays.copyOf(pairs, pairs.length * 2);
+          }
+          pairs[pairCount++] = ((long) trigram(text, i) << 32) | row;
+        }
+      }
+    }
+    Arrays.sort(pairs, 0, pairCount);
+
+    int[] keys = new int[pairCount];
+    int[] offsets = new int[pairCount + 1];
+    int[] postings = new int[pairCount];
+    int keyCount = 0;
+    int postingCount = 0;
+    long previous = -1;
+    for (int i = 0; i < pairCount; i++) {
+      long pair = pairs[i];
+      if (pair == previous) {
+        continue;
+      }
+      int key = (int) (pair >>> 32);
+      if (keyCount == 0 || keys[keyCount - 1] != key) {
+        keys[keyCount] = key;
+        offsets[keyCount] = postingCount;
+        keyCount++;
+      }
+      postings[postingCount++] = (int) pair;
+      previous = pair;
+    }
+    offsets[keyCount] = postingCount;
+    return new InstrumentPartition(instruments, names, symbols, Arrays.copyOf(keys, keyCount),
+        Arrays.copyOf(offsets, keyCount + 1), Arrays.copyOf(postings, postingCount), bySymbol);
+  }
+
+  int size() {
+    return instruments.length;
+  }
+
+  /**
+   * Instrument with exactly this trading symbol, the first in master file order if repeated
+   */
+  Instruments findBySymbol(String tradingSymbol) {
+    return bySymbol.get(tradingSymbol);
+  }
+
+  /**
+   * Find instruments whose name or trading symbol contains the query, ignoring case
+   * @param query Substring to search for
+   * @return Matching instruments in master file order
+   */
+  List<Instruments> findContaining(String query) {
+    String normalized = normalize(query);
+    List<Instruments> result = new ArrayList<>();
+    if (normalized.length() < 3) {
+      for (int row = 0; row < instruments.length; row++) {
+        if (matches(row, normalized)) {
+          result.add(instruments[row]);
+        }
+      }
+      return result;
+    }
+    // Verify candidates of the rarest trigram, every match must contain all query trigrams
+    int bestKey = -1;
+    int bestLength = Integer.MAX_VALUE;
+    for (int i = 0; i + 3 <= normalized.length(); i++) {
+      int keyIndex = Arrays.binarySearch(trigramKeys, trigram(normalized, i));
+      if (keyIndex < 0) {
+        return result;
+      }
+      int length = offsets[keyIndex + 1] - offsets[keyIndex];
+      if (length < bestLength) {
+        bestLength = length;
+        bestKey = keyIndex;
+      }
+    }
+    for (int p = offsets[bestKey]; p < offsets[bestKey + 1]; p++) {
+      int row = postings[p];
+      if (matches(row, normalized)) {
+        result.add(instruments[row]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Rank instruments against the query and keep only the best matches. Candidates are rows that
+   * share enough trigrams with the query to be within the tolerated number of typos; each one is
+   * scored and offered to a bounded heap, so the full match set is never materialized.
+   * @param query Search text
+   * @param filter Optional filter applied before scoring
+   * @param limit Maximum number of results
+   * @param minScore Minimum score to be included
+   * @return Matches ordered by descending score
+   */
+  List<RankedInstrument> rank(String query, Predicate<Instruments> filter, int limit, double minScore) {
+    String normalized = normalize(query);
+    if (normalized.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    int maxEdits = InstrumentScorer.maxEdits(normalized.length());
+    TopK top = new TopK(limit);
+    if (normalized.length() < 3) {
+      for (int row = 0; row < instruments.length; row++) {
+        offer(top, row, normalized, filter, maxEdits, minScore);
+      }
+    } else {
+      int[] queryKeys = new int[normalized.length() - 2];
+      for (int i = 0; i < queryKeys.length; i++) {
+        queryKeys[i] = trigram(normalized, i);
+      }
+      Arrays.sort(queryKeys);
+      int distinct = 0;
+      for (int i = 0; i < queryKeys.length; i++) {
+        if (i == 0 || queryKeys[i] != queryKeys[i - 1]) {
+          queryKeys[distinct++] = queryKeys[i];
+        }
+      }
+      // one typo breaks at most three trigrams
+      int required = Math.max(1, distinct - 3 * maxEdits);
+      // Merge the row sorted posting lists of the query trigrams, counting in how many lists each
+      // row appears, so work and garbage are bounded by the postings read, not the partition size
+      int[] cursors = new int[distinct];
+      int[] ends = new int[distinct];
+      int lists = 0;
+      for (int k = 0; k < distinct; k++) {
+        int keyIndex = Arrays.binarySearch(trigramKeys, queryKeys[k]);
+        if (keyIndex >= 0) {
+          cursors[lists] = offsets[keyIndex];
+          ends[lists] = offsets[keyIndex + 1];
+          lists++;
+        }
+      }
+      while (lists >= required) {
+        int row = Integer.MAX_VALUE;
+        for (int l = 0; l < lists; l++) {
+          if (cursors[l] < ends[l] && postings[cursors[l]] < row) {
+            row = postings[cursors[l]];
+          }
+        }
+        if (row == Integer.MAX_VALUE) {
+          break;
+        }
+        int hits = 0;
+        for (int l = 0; l < lists; l++) {
+          if (cursors[l] < ends[l] && postings[cursors[l]] == row) {
+            hits++;
+            cursors[l]++;
+          }
+        }
+        if (hits >= required) {
+          offer(top, row, normalized, filter, maxEdits, minScore);
+        }
+      }
+    }
+    int[] rows = new int[top.size()];
+    double[] scores = new double[top.size()];
+    int count = top.drain(rows, scores);
+    List<RankedInstrument> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(new RankedInstrument(instruments[rows[i]], scores[i]));
+    }
+    return result;
+  }
+
+  private void offer(TopK top, int row, String normalized, Predicate<Instruments> filter,
+      int maxEdits, double minScore) {
+    if (filter != null && !filter.test(instruments[row])) {
+      return;
+    }
+    double score = InstrumentScorer.score(normalized, names[row], symbols[row], maxEdits);
+    if (score > 0 && score >= minScore) {
+      top.offer(row, score);
+    }
+  }
+
+  private boolean matches(int row, String normalized) {
+    return names[row].contains(normalized) || symbols[row].contains(normalized);
+  }
+
+  static String normalize(String value) {
+    return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+  }
+
+  /**
+   * Pack three characters into an 18 bit key using a 6 bit alphabet. Rare characters share a code,
+   * which only adds candidates that the contains check then rejects.
+   */
+  static int trigram(String text, int start) {
+    return (charCode(text.charAt(start)) << 12)
+        | (charCode(text.charAt(start + 1)) << 6)
+        | charCode(text.charAt(start + 2));
+  }
+
+  private static int charCode(char c) {
+    if (c >= 'A' && c <= 'Z') {
+      return c - 'A' + 1;
+    }
+    if (c >= '0' && c <= '9') {
+      return c - '0' + 27;
+    }
+    return switch (c) {
+      case ' ' -> 37;
+      case '-' -> 38;
+      case '&' -> 39;
+      case '.' -> 40;
+      default -> 41;
+    };
+  }
+}
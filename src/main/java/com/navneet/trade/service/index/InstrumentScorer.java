@@ -0,0 +1,163 @@
+package com.navneet.trade.service.index;
+
+/**
+ * Relevance scoring of an instrument against a normalized query. Scores range from 0 to 100:
+ * exact symbol, exact name, symbol prefix, name prefix, whole token, token prefix, substring and
+ * finally edit distance matches, with longer targets ranked slightly below shorter ones.
+ *
+ * @author navneet.prabhakar
+ */
+final class InstrumentScorer {
+
+  static final double EXACT_SYMBOL = 100;
+  static final double EXACT_NAME = 95;
+  static final double SYMBOL_PREFIX = 90;
+  static final double NAME_PREFIX = 85;
+  static final double TOKEN = 80;
+  static final double TOKEN_PREFIX = 70;
+  static final double SUBSTRING = 60;
+  static final double FUZZY = 50;
+  static final double FUZZY_STEP = 15;
+
+  private InstrumentScorer() {
+  }
+
+  /**
+   * Number of typos tolerated for a query of the given length
+   */
+  static int maxEdits(int queryLength) {
+    if (queryLength < 4) {
+      return 0;
+    }
+    return queryLength < 8 ? 1 : 2;
+  }
+
+  static double score(String query, String name, String symbol, int maxEdits) {
+    if (symbol.equals(query)) {
+      return EXACT_SYMBOL;
+    }
+    if (name.equals(query)) {
+      return EXACT_NAME;
+    }
+    if (symbol.startsWith(query)) {
+      return SYMBOL_PREFIX - lengthPenalty(symbol.length() - query.length());
+    }
+    if (name.startsWith(query)) {
+      return NAME_PREFIX - lengthPenalty(name.length() - query.length());
+    }
+    int tokenMatch = Math.max(tokenMatch(name, query), tokenMatch(symbol, query));
+    if (tokenMatch == 2) {
+      return TOKEN;
+    }
+    if (tokenMatch == 1) {
+      return TOKEN_PREFIX;
+    }
+    if (symbol.contains(query)) {
+      return SUBSTRING - lengthPenalty(symbol.length() - query.length());
+    }
+    if (name.contains(query)) {
+      return SUBSTRING - lengthPenalty(name.length() - query.length());
+    }
+    if (maxEdits == 0) {
+      return 0;
+    }
+    int distance = maxEdits + 1;
+    int extra = 0;
+    if (symbol.length() >= query.length()) {
+      distance = distance(query, symbol, 0, query.length(), maxEdits);
+      extra = symbol.length() - query.length();
+    }
+    int nameDistance = distance(query, name, 0, name.length(), maxEdits);
+    if (nameDistance < distance) {
+      distance = nameDistance;
+      extra = 0;
+    }
+    int start = 0;
+    while (start < name.length() && distance > 1) {
+      int end = tokenEnd(name, start);
+      int tokenDistance = distance(query, name, start, end, maxEdits);
+      if (tokenDistance < distance) {
+        distance = tokenDistance;
+        extra = name.length() - (end - start);
+      }
+      start = end + 1;
+    }
+    if (distance > maxEdits) {
+      return 0;
+    }
+    return FUZZY - FUZZY_STEP * (distance - 1) - lengthPenalty(extra);
+  }
+
+  private static double lengthPenalty(int extraChars) {
+    return Math.min(9.0, extraChars * 0.25);
+  }
+
+  /**
+   * @return 2 if a token of the text equals the query, 1 if a token starts with it, otherwise 0
+   */
+  private static int tokenMatch(String text, String query) {
+    int best = 0;
+    int start = 0;
+    while (start < text.length()) {
+      int end = tokenEnd(text, start);
+      if (end - start >= query.length() && text.regionMatches(start, query, 0, query.length())) {
+        if (end - start == query.length()) {
+          return 2;
+        }
+        best = 1;
+      }
+      start = end + 1;
+    }
+    return best;
+  }
+
+  private static int tokenEnd(String text, int start) {
+    int end = start;
+    while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+      end++;
+    }
+    return end;
+  }
+
+  /**
+   * Optimal string alignment distance between the query and text[from, to), giving up as soon as
+   * it exceeds max
+   * @return The distance, or max + 1 if it is larger than max
+   */
+  static int distance(String query, String text, int from, int to, int max) {
+    int n = query.length();
+    int m = to - from;
+    if (Math.abs(n - m) > max) {
+      return max + 1;
+    }
+    int[] previous2 = new int[m + 1];
+    int[] previous = new int[m + 1];
+    int[] current = new int[m + 1];
+    for (int j = 0; j <= m; j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= n; i++) {
+      current[0] = i;
+      int rowMin = i;
+      char qc = query.charAt(i - 1);
+      for (int j = 1; j <= m; j++) {
+        char tc = text.charAt(from + j - 1);
+        int cost = qc == tc ? 0 : 1;
+        int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+        if (i > 1 && j > 1 && qc == text.charAt(from + j - 2) && query.charAt(i - 2) == tc) {
+          value = Math.min(value, previous2[j - 2] + 1);
+        }
+        current[j] = value;
+        rowMin = Math.min(rowMin, value);
+      }
+      if (rowMin > max) {
+        return max + 1;
+      }
+      int[] recycled = previous2;
+      previous2 = previous;
+      previous = current;
+      current = recycled;
+    }
+    return Math.min(previous[m], max + 1);
+  }
+}
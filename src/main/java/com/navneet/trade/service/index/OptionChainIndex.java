@@ -0,0 +1,159 @@
+package com.navneet.trade.service.index;
+
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.entity.Instruments;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable option chain lookup built from the instrument master: exchange and underlying to
+ * expiries in ascending order, each holding a strike-sorted array with the CE and PE contract of
+ * every strike.
+ *
+ * @author navneet.prabhakar
+ */
+public final class OptionChainIndex {
+
+  static final OptionChainIndex EMPTY = new OptionChainIndex(Map.of());
+
+  private final Map<String, Chain> chains;
+
+  private OptionChainIndex(Map<String, Chain> chains) {
+    this.chains = chains;
+  }
+
+  static OptionChainIndex build(Map<Exchange, List<Instruments>> optionsByExchange) {
+    // exchange:underlying -> expiry -> strike -> [CE, PE]
+    Map<String, TreeMap<String, TreeMap<Double, Instruments[]>>> grouped = new HashMap<>();
+    optionsByExchange.forEach((exchange, options) -> {
+      for (Instruments option : options) {
+        int side = side(option.getInstrumentType());
+        if (side < 0 || option.getUnderlyingSymbol() == null || option.getExpiryDate() == null
+            || option.getStrikePrice() == null) {
+          continue;
+        }
+        grouped.computeIfAbsent(key(exchange, option.getUnderlyingSymbol()), k -> new TreeMap<>())
+            .computeIfAbsent(option.getExpiryDate(), e -> new TreeMap<>())
+            .computeIfAbsent(option.getStrikePrice(), s -> new Instruments[2])[side] = option;
+      }
+    });
+    Map<String, Chain> chains = new HashMap<>(grouped.size() * 2);
+    grouped.forEach((key, byExpiry) -> {
+      String[] expiries = byExpiry.keySet().toArray(new String[0]);
+      Strikes[] strikes = new Strikes[expiries.length];
+      for (int e = 0; e < expiries.length; e++) {
+        TreeMap<Double, Instruments[]> byStrike = byExpiry.get(expiries[e]);
+        double[] strikePrices = new double[byStrike.size()];
+        Instruments[] calls = new Instruments[byStrike.size()];
+        Instruments[] puts = new Instruments[byStrike.size()];
+        int i = 0;
+        for (Map.Entry<Double, Instruments[]> entry : byStrike.entrySet()) {
+          strikePrices[i] = entry.getKey();
+          calls[i] = entry.getValue()[0];
+          puts[i] = entry.getValue()[1];
+          i++;
+        }
+        strikes[e] = new Strikes(strikePrices, calls, puts);
+      }
+      chains.put(key, new Chain(expiries, strikes));
+    });
+    return new OptionChainIndex(chains);
+  }
+
+  /**
+   * Expiries available for an underlying, ascending
+   */
+  public List<String> expiries(Exchange exchange, String underlying) {
+    Chain chain = chains.get(key(exchange, underlying));
+    return chain == null ? List.of() : List.of(chain.expiries);
+  }
+
+  /**
+   * First expiry of an underlying on or after the given day, the latest one if all have passed
+   * @param today Current day, compared against the ISO dates of the instrument master
+   * @return The expiry, null if the underlying has no options
+   */
+  public String nearestExpiry(Exchange exchange, String underlying, LocalDate today) {
+    Chain chain = chains.get(key(exchange, underlying));
+    if (chain == null || chain.expiries.length == 0) {
+      return null;
+    }
+    int index = Arrays.binarySearch(chain.expiries, today.toString());
+    int upcoming = index >= 0 ? index : -index - 1;
+    return chain.expiries[Math.min(upcoming, chain.expiries.length - 1)];
+  }
+
+  /**
+   * Strikes of one expiry around the at-the-money strike
+   * @param exchange Exchange of the contracts
+   * @param underlying Underlying symbol, e.g. NIFTY
+   * @param expiry Expiry date as stored in the instrument master
+   * @param spotPrice Price used to locate the ATM strike, the middle strike when null
+   * @param strikeCount Number of strikes on each side of ATM
+   * @return Chain rows ordered by strike, empty if the underlying or expiry is unknown
+   */
+  public List<ChainRow> chain(Exchange exchange, String underlying, String expiry, Double spotPrice,
+      int strikeCount) {
+    Chain chain = chains.get(key(exchange, underlying));
+    if (chain == null) {
+      return List.of();
+    }
+    int expiryIndex = Arrays.binarySearch(chain.expiries, expiry);
+    if (expiryIndex < 0) {
+      return List.of();
+    }
+    Strikes strikes = chain.strikes[expiryIndex];
+    int atm = spotPrice == null ? strikes.prices.length / 2 : nearest(strikes.prices, spotPrice);
+    int from = Math.max(0, atm - strikeCount);
+    int to = Math.min(strikes.prices.length, atm + strikeCount + 1);
+    List<ChainRow> rows = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      rows.add(new ChainRow(strikes.prices[i], strikes.calls[i], strikes.puts[i], i == atm));
+    }
+    return rows;
+  }
+
+  private static int nearest(double[] prices, double spot) {
+    int index = Arrays.binarySearch(prices, spot);
+    if (index >= 0) {
+      return index;
+    }
+    int insertion = -index - 1;
+    if (insertion == 0) {
+      return 0;
+    }
+    if (insertion == prices.length) {
+      return prices.length - 1;
+    }
+    return spot - prices[insertion - 1] <= prices[insertion] - spot ? insertion - 1 : insertion;
+  }
+
+  private static int side(String instrumentType) {
+    if ("CE".equalsIgnoreCase(instrumentType)) {
+      return 0;
+    }
+    return "PE".equalsIgnoreCase(instrumentType) ? 1 : -1;
+  }
+
+  private static String key(Exchange exchange, String underlying) {
+    return exchange.name() + ':' + underlying.trim().toUpperCase(Locale.ROOT);
+  }
+
+  /**
+   * One strike of the chain with its call and put, either may be null
+   */
+  public record ChainRow(double strike, Instruments call, Instruments put, boolean atm) {
+  }
+
+  private record Chain(String[] expiries, Strikes[] strikes) {
+  }
+
+  private record Strikes(double[] prices, Instruments[] calls, Instruments[] puts) {
+  }
+}
@@ -0,0 +1,11 @@
+package com.navneet.trade.service.index;
+
+import com.navneet.trade.entity.Instruments;
+
+/**
+ * Instrument returned by a ranked search together with its relevance score.
+ *
+ * @author navneet.prabhakar
+ */
+public record RankedInstrument(Instruments instrument, double score) {
+}
@@ -0,0 +1,96 @@
+package com.navneet.trade.service.index;
+
+/**
+ * Bounded min-heap keeping the best scoring rows. The root is always the weakest retained entry,
+ * so a new candidate only costs a comparison unless it beats it.
+ *
+ * @author navneet.prabhakar
+ */
+final class TopK {
+
+  private final int[] rows;
+  private final double[] scores;
+  private int size;
+
+  TopK(int capacity) {
+    this.rows = new int[capacity];
+    this.scores = new double[capacity];
+  }
+
+  int size() {
+    return size;
+  }
+
+  void offer(int row, double score) {
+    if (size < rows.length) {
+      rows[size] = row;
+      scores[size] = score;
+      siftUp(size++);
+    } else if (size > 0 && weaker(rows[0], scores[0], row, score)) {
+      rows[0] = row;
+      scores[0] = score;
+      siftDown(0);
+    }
+  }
+
+  /**
+   * Empty the heap into the given arrays, best entry first
+   * @return Number of entries written
+   */
+  int drain(int[] outRows, double[] outScores) {
+    int count = size;
+    for (int i = count - 1; i >= 0; i--) {
+      outRows[i] = rows[0];
+      outScores[i] = scores[0];
+      size--;
+      rows[0] = rows[size];
+      scores[0] = scores[size];
+      siftDown(0);
+    }
+    return count;
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!weaker(rows[index], scores[index], rows[parent], scores[parent])) {
+        return;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    while (true) {
+      int left = 2 * index + 1;
+      if (left >= size) {
+        return;
+      }
+      int weakest = left;
+      int right = left + 1;
+      if (right < size && weaker(rows[right], scores[right], rows[left], scores[left])) {
+        weakest = right;
+      }
+      if (!weaker(rows[weakest], scores[weakest], rows[index], scores[index])) {
+        return;
+      }
+      swap(index, weakest);
+      index = weakest;
+    }
+  }
+
+  /** Lower score is weaker; on equal scores the later row in master file order is weaker. */
+  private static boolean weaker(int rowA, double scoreA, int rowB, double scoreB) {
+    return scoreA < scoreB || (scoreA == scoreB && rowA > rowB);
+  }
+
+  private void swap(int i, int j) {
+    int row = rows[i];
+    rows[i] = rows[j];
+    rows[j] = row;
+    double score = scores[i];
+    scores[i] = scores[j];
+    scores[j] = score;
+  }
+}
@@ -0,0 +1,79 @@
+package com.navneet.trade.utils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.navneet.trade.constants.CacheConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the named caches declared under cache.specs. Each cache gets its own TTL, weight bound and
+ * refresh-after-write, records statistics published as cache.gets (hit/miss), cache.evictions,
+ * cache.size and cache.load metrics tagged by cache name, and is registered with the Spring cache
+ * manager so it also shows on /actuator/caches. Loaders returning null are not cached.
+ * @author navneet.prabhakar
+ */
+@Component
+@Slf4j
+public class CacheRegistry {
+
+  @Autowired private CacheConstants cacheConstants;
+  @Autowired private CacheManager cacheManager;
+  @Autowired private MeterRegistry registry;
+  // background refreshes run on virtual threads, they are usually Groww API calls
+  @Autowired @Qualifier("growwRestExecutor") private ExecutorService executor;
+
+  /**
+   * Create the named cache
+   * @param name Cache name, must be declared under cache.specs
+   * @param loader Loads the value of a key, null when there is none or loading failed
+   * @param weight Weight of a value against the cache's max weight, e.g. its row count
+   * @return Loading cache; get blocks on a missing key, a stale key is refreshed in the background
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public <K, V> LoadingCache<K, V> loading(String name, Function<K, V> loader, ToIntFunction<V> weight) {
+    CacheConstants.Spec spec = cacheConstants.getSpecs().get(name);
+    if (spec == null) {
+      throw new IllegalStateException("No cache spec configured for cache." + name);
+    }
+    Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats().executor(executor);
+    if (spec.getExpireAfterWriteMs() > 0) {
+      builder.expireAfterWrite(spec.getExpireAfterWriteMs(), TimeUnit.MILLISECONDS);
+    }
+    if (spec.getRefreshAfterWriteMs() > 0) {
+      builder.refreshAfterWrite(spec.getRefreshAfterWriteMs(), TimeUnit.MILLISECONDS);
+    }
+    if (spec.getMaxWeight() > 0) {
+      Weigher<K, V> weigher = (key, value) -> Math.max(1, weight.applyAsInt(value));
+      builder.maximumWeight(spec.getMaxWeight()).weigher((Weigher) weigher);
+    }
+    LoadingCache<K, V> cache = builder.build(loader::apply);
+    ((CaffeineCacheManager) cacheManager).registerCustomCache(name, (LoadingCache) cache);
+    CaffeineCacheMetrics.monitor(registry, cache, name);
+    log.info("Cache {} ready: expire after write {} ms, refresh after write {} ms, max weight {}", name,
+        spec.getExpireAfterWriteMs(), spec.getRefreshAfterWriteMs(), spec.getMaxWeight());
+    return cache;
+  }
+
+  /**
+   * Drop all entries of the named cache, e.g. after the data behind it changed
+   */
+  public void invalidate(String name) {
+    Cache cache = cacheManager.getCache(name);
+    if (cache != null) {
+      cache.invalidate();
+    }
+  }
+}
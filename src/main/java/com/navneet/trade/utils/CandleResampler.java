@@ -0,0 +1,108 @@
+package com.navneet.trade.utils;
+
+import com.navneet.trade.constants.CandleIntervals;
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.models.response.CandleSeries;
+
+/**
+ * Builds coarser candles from a finer, time ordered CandleSeries: open of the first candle, max
+ * high, min low, close of the last candle and summed volume per bucket. Works directly on the
+ * primitive arrays, the only allocation is the output series.
+ * <p>
+ * Intraday buckets are aligned to the exchange session open (09:15 IST for NSE/BSE, 09:00 IST for
+ * MCX), daily buckets to IST midnight, weekly buckets to Monday and monthly buckets to the first
+ * day of the calendar month.
+ *
+ * @author navneet.prabhakar
+ */
+public final class CandleResampler {
+
+  private static final long IST_OFFSET_SECONDS = 19800;
+  private static final long SECONDS_PER_DAY = 86400;
+
+  private CandleResampler() {
+  }
+
+  /**
+   * Resample the series into the target interval
+   * @param source Time ordered candles, timestamps in epoch seconds
+   * @param target Target interval, must be a multiple of the source interval
+   * @param exchange Exchange of the instrument, decides the session alignment
+   * @return Resampled CandleSeries
+   */
+  public static CandleSeries resample(CandleSeries source, CandleIntervals target, Exchange exchange) {
+    int size = source.getSize();
+    long[] timestamps = source.getTimestamps();
+    double[] open = source.getOpen();
+    double[] high = source.getHigh();
+    double[] low = source.getLow();
+    double[] close = source.getClose();
+    long[] volume = source.getVolume();
+    int minutes = target.getMinutes();
+    int sessionOpen = exchange.getSessionOpen().toSecondOfDay();
+
+    CandleSeries result = new CandleSeries(Math.max(16, size / Math.max(1, minutes)));
+    int i = 0;
+    while (i < size) {
+      long bucket = bucketStart(timestamps[i], minutes, sessionOpen);
+      double bucketOpen = open[i];
+      double bucketHigh = high[i];
+      double bucketLow = low[i];
+      double bucketClose = close[i];
+      long bucketVolume = volume[i];
+      int j = i + 1;
+      while (j < size && bucketStart(timestamps[j], minutes, sessionOpen) == bucket) {
+        bucketHigh = Math.max(bucketHigh, high[j]);
+        bucketLow = Math.min(bucketLow, low[j]);
+        bucketClose = close[j];
+        bucketVolume += volume[j];
+        j++;
+      }
+      result.add(bucket, bucketOpen, bucketHigh, bucketLow, bucketClose, bucketVolume);
+      i = j;
+    }
+    return result.trim();
+  }
+
+  /**
+   * Start of the bucket containing the timestamp
+   * @param timestamp Epoch seconds
+   * @param minutes Bucket size in minutes (1day = 1440, 1week = 10080, 1month = 43200)
+   * @param sessionOpen Session open as seconds of the IST day
+   * @return Bucket start in epoch seconds
+   */
+  static long bucketStart(long timestamp, int minutes, int sessionOpen) {
+    long local = timestamp + IST_OFFSET_SECONDS;
+    long day = Math.floorDiv(local, SECONDS_PER_DAY);
+    long bucketDay;
+    if (minutes < CandleIntervals.ONE_DAY.getMinutes()) {
+      long secondOfDay = local - day * SECONDS_PER_DAY;
+      long size = minutes * 60L;
+      long bucketSecond = Math.floorDiv(secondOfDay - sessionOpen, size) * size + sessionOpen;
+      return day * SECONDS_PER_DAY + bucketSecond - IST_OFFSET_SECONDS;
+    } else if (minutes == CandleIntervals.ONE_DAY.getMinutes()) {
+      bucketDay = day;
+    } else if (minutes == CandleIntervals.ONE_WEEK.getMinutes()) {
+      // Epoch day 0 (1970-01-01) is a Thursday
+      bucketDay = day - Math.floorMod(day + 3, 7);
+    } else {
+      bucketDay = firstDayOfMonth(day);
+    }
+    return bucketDay * SECONDS_PER_DAY - IST_OFFSET_SECONDS;
+  }
+
+  /**
+   * Epoch day of the first day of the month containing the given epoch day, using the civil
+   * calendar algorithm from H. Hinnant so no date objects are created
+   */
+  private static long firstDayOfMonth(long epochDay) {
+    long z = epochDay + 719468;
+    long era = Math.floorDiv(z, 146097);
+    long dayOfEra = z - era * 146097;
+    long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    long monthIndex = (5 * dayOfYear + 2) / 153;
+    long dayOfMonth = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+    return epochDay - (dayOfMonth - 1);
+  }
+}
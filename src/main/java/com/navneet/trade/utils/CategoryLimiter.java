@@ -0,0 +1,110 @@
+package com.navneet.trade.utils;
+
+import com.navneet.trade.constants.GrowwConstants.Quota;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets for one API category, refilled continuously at the per second and per minute
+ * quotas; a permit needs a token from both. Callers wait up to their deadline for a permit. Order
+ * placement has a category of its own, so it never queues behind reads.
+ * @author navneet.prabhakar
+ */
+final class CategoryLimiter {
+
+  private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitTurn = lock.newCondition();
+
+  private final double secondCapacity;
+  private final double minuteCapacity;
+  private final double secondTokensPerNano;
+  private final double minuteTokensPerNano;
+
+  private double secondTokens;
+  private double minuteTokens;
+  private long refilledAt;
+  private int waiting;
+
+  CategoryLimiter(Quota quota) {
+    secondCapacity = quota.getPerSecond();
+    minuteCapacity = quota.getPerMinute();
+    secondTokensPerNano = quota.getPerSecond() / (double) TimeUnit.SECONDS.toNanos(1);
+    minuteTokensPerNano = quota.getPerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+    secondTokens = secondCapacity;
+    minuteTokens = minuteCapacity;
+    refilledAt = System.nanoTime();
+  }
+
+  /**
+   * Take a permit, waiting at most maxWaitNanos for one
+   * @return true when a permit was taken, false when the wait would exceed the deadline
+   */
+  boolean acquire(long maxWaitNanos) throws InterruptedException {
+    long deadline = System.nanoTime() + maxWaitNanos;
+    lock.lock();
+    try {
+      waiting++;
+      try {
+        while (true) {
+          long now = System.nanoTime();
+          refill(now);
+          if (secondTokens >= 1 && minuteTokens >= 1) {
+            secondTokens--;
+            minuteTokens--;
+            return true;
+          }
+          long remaining = deadline - now;
+          if (remaining <= 0) {
+            return false;
+          }
+          permitTurn.awaitNanos(Math.max(MIN_PARK_NANOS, Math.min(remaining, nanosUntilPermit())));
+        }
+      } finally {
+        waiting--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Empty the per second bucket after the broker throttled a call, so queued callers back off
+   * until it refills
+   */
+  void drain() {
+    lock.lock();
+    try {
+      refill(System.nanoTime());
+      secondTokens = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int waiting() {
+    lock.lock();
+    try {
+      return waiting;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void refill(long now) {
+    long elapsed = now - refilledAt;
+    if (elapsed > 0) {
+      secondTokens = Math.min(secondCapacity, secondTokens + elapsed * secondTokensPerNano);
+      minuteTokens = Math.min(minuteCapacity, minuteTokens + elapsed * minuteTokensPerNano);
+      refilledAt = now;
+    }
+  }
+
+  private long nanosUntilPermit() {
+    double secondWait = secondTokens >= 1 ? 0 : (1 - secondTokens) / secondTokensPerNano;
+    double minuteWait = minuteTokens >= 1 ? 0 : (1 - minuteTokens) / minuteTokensPerNano;
+    return (long) Math.ceil(Math.max(secondWait, minuteWait));
+  }
+}
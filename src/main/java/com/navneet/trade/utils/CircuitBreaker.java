@@ -0,0 +1,85 @@
+package com.navneet.trade.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consecutive failure circuit breaker for one endpoint. Opens after the failure threshold, fails
+ * calls fast while open, and after the open period lets a single probe through; the probe's
+ * outcome closes or reopens the circuit.
+ * @author navneet.prabhakar
+ */
+final class CircuitBreaker {
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+  private boolean probeInFlight;
+
+  CircuitBreaker(int failureThreshold, long openMillis) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+  }
+
+  /**
+   * @return true when the call may be sent, false while the circuit is open or a probe is running
+   */
+  synchronized boolean allowRequest() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (System.nanoTime() - openedAt < openNanos) {
+          return false;
+        }
+        state = State.HALF_OPEN;
+        probeInFlight = true;
+        return true;
+      default:
+        if (probeInFlight) {
+          return false;
+        }
+        probeInFlight = true;
+        return true;
+    }
+  }
+
+  synchronized void onSuccess() {
+    state = State.CLOSED;
+    consecutiveFailures = 0;
+    probeInFlight = false;
+  }
+
+  /**
+   * @return true when this failure opened the circuit
+   */
+  synchronized boolean onFailure() {
+    probeInFlight = false;
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+      state = State.OPEN;
+      openedAt = System.nanoTime();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * A granted call was not sent (e.g. no rate limit permit), free the probe slot without a verdict
+   */
+  synchronized void release() {
+    probeInFlight = false;
+  }
+
+  synchronized State state() {
+    return state;
+  }
+}
@@ -0,0 +1,99 @@
+package com.navneet.trade.utils;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import jakarta.annotation.PostConstruct;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Groww endpoint URLs resolved once at startup from GrowwConstants. Each endpoint keeps its
+ * absolute URL, or for order scoped endpoints a template the order id is appended to, so the
+ * request path does no base URL concatenation or URI resolution.
+ * @author navneet.prabhakar
+ */
+@Component
+@Slf4j
+public class EndpointRegistry {
+
+  @Autowired private GrowwConstants constants;
+
+  private final Map<GrowwEndpoint, String> urls = new EnumMap<>(GrowwEndpoint.class);
+  private final Map<String, GrowwEndpoint> byUrl = new HashMap<>();
+  // Order scoped templates, longest first so order/status/reference/ wins over order/status/
+  private final List<GrowwEndpoint> orderScoped = new ArrayList<>();
+
+  /**
+   * Resolve every endpoint against the base URL, failing startup on a missing or malformed path
+   */
+  @PostConstruct
+  public void compile() {
+    URI base = URI.create(constants.getBaseUrl().endsWith("/") ? constants.getBaseUrl() : constants.getBaseUrl() + "/");
+    for (GrowwEndpoint endpoint : GrowwEndpoint.values()) {
+      String path = endpoint.getPath().apply(constants);
+      if (!StringUtils.hasText(path)) {
+        throw new IllegalStateException("No path configured for Groww endpoint " + endpoint);
+      }
+      String url = base.resolve(path.trim()).toString();
+      if (endpoint.isOrderScoped() && !url.endsWith("/")) {
+        url = url + "/";
+      }
+      urls.put(endpoint, url);
+      if (endpoint.isOrderScoped()) {
+        orderScoped.add(endpoint);
+      } else {
+        byUrl.put(url, endpoint);
+      }
+    }
+    orderScoped.sort(Comparator.comparingInt((GrowwEndpoint endpoint) -> urls.get(endpoint).length()).reversed());
+    log.info("Compiled {} Groww endpoints against {}", urls.size(), base);
+  }
+
+  /**
+   * Absolute URL of an endpoint
+   */
+  public String url(GrowwEndpoint endpoint) {
+    return urls.get(endpoint);
+  }
+
+  /**
+   * Absolute URL of an order scoped endpoint for the given order id
+   * @param endpoint Order scoped endpoint
+   * @param orderId Groww order id or order reference id, appended as the last path segment
+   */
+  public String url(GrowwEndpoint endpoint, String orderId) {
+    if (!endpoint.isOrderScoped()) {
+      throw new IllegalArgumentException(endpoint + " does not take an order id");
+    }
+    if (!StringUtils.hasText(orderId)) {
+      throw new IllegalArgumentException("Order id is required for " + endpoint);
+    }
+    return urls.get(endpoint) + RestUtils.encode(orderId);
+  }
+
+  /**
+   * Endpoint a URL built by this registry belongs to, used to tag metrics
+   * @return The endpoint, or null for a URL not built from the registry
+   */
+  public GrowwEndpoint endpointOf(String url) {
+    GrowwEndpoint endpoint = byUrl.get(url);
+    if (endpoint != null) {
+      return endpoint;
+    }
+    for (GrowwEndpoint scoped : orderScoped) {
+      if (url.startsWith(urls.get(scoped))) {
+        return scoped;
+      }
+    }
+    return null;
+  }
+}
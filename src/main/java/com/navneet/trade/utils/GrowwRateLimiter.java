@@ -0,0 +1,104 @@
+package com.navneet.trade.utils;
+
+import com.navneet.trade.constants.ApiCategory;
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client side rate limiting of Groww API calls per category (groww.rate-limit.*). Calls over the
+ * quota are queued instead of being sent into a broker 429: reads wait up to read-max-wait-ms and
+ * order placement, modification and cancellation up to order-max-wait-ms.
+ * Publishes groww.ratelimit.queue.depth, groww.ratelimit.wait and groww.ratelimit.broker.throttled.
+ * @author navneet.prabhakar
+ */
+@Component
+@Slf4j
+public class GrowwRateLimiter {
+
+  @Autowired private GrowwConstants constants;
+  @Autowired private MeterRegistry registry;
+
+  private final Map<ApiCategory, CategoryLimiter> limiters = new EnumMap<>(ApiCategory.class);
+
+  @PostConstruct
+  public void init() {
+    GrowwConstants.RateLimit config = constants.getRateLimit();
+    limiters.put(ApiCategory.ORDERS, new CategoryLimiter(config.getOrders()));
+    limiters.put(ApiCategory.LIVE_DATA, new CategoryLimiter(config.getLiveData()));
+    limiters.put(ApiCategory.NON_TRADING, new CategoryLimiter(config.getNonTrading()));
+    limiters.forEach((category, limiter) -> Gauge.builder("groww.ratelimit.queue.depth", limiter, CategoryLimiter::waiting)
+        .description("Groww API calls waiting for a rate limit permit")
+        .tag("category", category.name())
+        .register(registry));
+  }
+
+  /**
+   * Wait for a permit for a call to the endpoint
+   * @return true when the call may proceed, false when no permit was available within the wait bound
+   */
+  public boolean acquire(GrowwEndpoint endpoint) {
+    if (endpoint == null) {
+      return true;
+    }
+    return acquire(endpoint, endpoint.getCategory() == ApiCategory.ORDERS
+        ? constants.getRateLimit().getOrderMaxWaitMs()
+        : constants.getRateLimit().getReadMaxWaitMs());
+  }
+
+  /**
+   * Take a permit only if one is free right now, for optional calls such as hedged requests
+   */
+  public boolean tryAcquire(GrowwEndpoint endpoint) {
+    return endpoint == null || acquire(endpoint, 0);
+  }
+
+  private boolean acquire(GrowwEndpoint endpoint, long maxWaitMs) {
+    if (!constants.getRateLimit().isEnabled() || endpoint.getCategory() == null) {
+      return true;
+    }
+    long start = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = limiters.get(endpoint.getCategory()).acquire(TimeUnit.MILLISECONDS.toNanos(maxWaitMs));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    Timer.builder("groww.ratelimit.wait")
+        .description("Time Groww API calls waited for a rate limit permit")
+        .tags("category", endpoint.getCategory().name(), "outcome", acquired ? "acquired" : "rejected")
+        .register(registry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    if (!acquired) {
+      log.warn("No {} rate limit permit for {} within {} ms", endpoint.getCategory(), endpoint, maxWaitMs);
+    }
+    return acquired;
+  }
+
+  /**
+   * The broker answered 429 despite the client side quota, back off the category
+   */
+  public void throttled(GrowwEndpoint endpoint) {
+    if (endpoint == null || endpoint.getCategory() == null) {
+      return;
+    }
+    limiters.get(endpoint.getCategory()).drain();
+    Counter.builder("groww.ratelimit.broker.throttled")
+        .description("Groww API calls throttled by the broker")
+        .tag("category", endpoint.getCategory().name())
+        .register(registry)
+        .increment();
+    log.warn("Groww throttled {}, backing off the {} category", endpoint, endpoint.getCategory());
+  }
+}
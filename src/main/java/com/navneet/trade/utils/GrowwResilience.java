@@ -0,0 +1,121 @@
+package com.navneet.trade.utils;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retry policy and per endpoint circuit breakers for Groww API calls (groww.resilience.*).
+ * Publishes groww.circuit.state (0 closed, 1 open, 2 half open), groww.circuit.rejected,
+ * groww.api.retries and groww.api.hedged.
+ * @author navneet.prabhakar
+ */
+@Component
+@Slf4j
+public class GrowwResilience {
+
+  @Autowired private GrowwConstants constants;
+  @Autowired private MeterRegistry registry;
+
+  private final Map<GrowwEndpoint, CircuitBreaker> breakers = new EnumMap<>(GrowwEndpoint.class);
+
+  @PostConstruct
+  public void init() {
+    GrowwConstants.Resilience config = constants.getResilience();
+    for (GrowwEndpoint endpoint : GrowwEndpoint.values()) {
+      CircuitBreaker breaker = new CircuitBreaker(config.getBreakerFailureThreshold(), config.getBreakerOpenMs());
+      breakers.put(endpoint, breaker);
+      Gauge.builder("groww.circuit.state", breaker, b -> b.state().ordinal())
+          .description("Circuit state of a Groww endpoint, 0 closed, 1 open, 2 half open")
+          .tag("endpoint", endpoint.name())
+          .register(registry);
+    }
+  }
+
+  /**
+   * May a call to the endpoint be sent; calls to URLs outside the registry are always allowed
+   */
+  public boolean allowRequest(GrowwEndpoint endpoint) {
+    if (endpoint == null || breakers.get(endpoint).allowRequest()) {
+      return true;
+    }
+    Counter.builder("groww.circuit.rejected")
+        .description("Groww API calls failed fast by an open circuit")
+        .tag("endpoint", endpoint.name())
+        .register(registry)
+        .increment();
+    return false;
+  }
+
+  public void onSuccess(GrowwEndpoint endpoint) {
+    if (endpoint != null) {
+      breakers.get(endpoint).onSuccess();
+    }
+  }
+
+  public void onFailure(GrowwEndpoint endpoint) {
+    if (endpoint != null && breakers.get(endpoint).onFailure()) {
+      log.warn("Circuit opened for {} for {} ms", endpoint, constants.getResilience().getBreakerOpenMs());
+    }
+  }
+
+  public void release(GrowwEndpoint endpoint) {
+    if (endpoint != null) {
+      breakers.get(endpoint).release();
+    }
+  }
+
+  public int maxAttempts() {
+    return Math.max(1, constants.getResilience().getMaxAttempts());
+  }
+
+  public long hedgeAfterMs() {
+    return constants.getResilience().getHedgeAfterMs();
+  }
+
+  /**
+   * Backoff before the next attempt: exponential with full jitter, or the Retry-After of a 429
+   * when it is within the backoff cap
+   * @param attempt Attempt that just failed, starting at 1
+   * @param response Response of the failed attempt
+   */
+  public long backoffMillis(int attempt, ResponseEntity<?> response) {
+    GrowwConstants.Resilience config = constants.getResilience();
+    String retryAfter = response.getHeaders().getFirst("Retry-After");
+    if (retryAfter != null) {
+      try {
+        return Math.min(config.getMaxBackoffMs(), Long.parseLong(retryAfter.trim()) * 1000);
+      } catch (NumberFormatException e) {
+        // HTTP date form, fall back to the exponential backoff
+      }
+    }
+    long ceiling = Math.min(config.getMaxBackoffMs(), config.getInitialBackoffMs() << Math.min(attempt - 1, 20));
+    return ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  public void retried(GrowwEndpoint endpoint, String reason) {
+    Counter.builder("groww.api.retries")
+        .description("Groww API calls retried")
+        .tags("endpoint", endpoint == null ? "NONE" : endpoint.name(), "reason", reason)
+        .register(registry)
+        .increment();
+  }
+
+  public void hedged(GrowwEndpoint endpoint) {
+    Counter.builder("groww.api.hedged")
+        .description("Groww API GETs hedged with a second request")
+        .tag("endpoint", endpoint == null ? "NONE" : endpoint.name())
+        .register(registry)
+        .increment();
+  }
+}
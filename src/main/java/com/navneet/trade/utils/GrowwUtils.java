@@ -6,6 +6,7 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -18,6 +19,13 @@ public class GrowwUtils {
   @Autowired private GrowwConstants constants;
   private static final String SHA_256 = "SHA-256";
   private static final String APPROVAL = "approval";
+  private static final String REFERENCE_PREFIX = "MCP-";
+  private static final char[] REFERENCE_CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+  private static final int REFERENCE_RANDOM_LENGTH = 12;
+  private static final int REFERENCE_MIN_LENGTH = 8;
+  private static final int REFERENCE_MAX_LENGTH = 20;
+  // hash characters replacing the tail of a parent reference id too long for its children
+  private static final int REFERENCE_HASH_LENGTH = 8;
 
   /**
    * Generates a TokenRequest object with the required fields.
@@ -32,6 +40,61 @@ public class GrowwUtils {
   }
 
 
+  /**
+   * Generates an order reference id within Groww's limits (8 to 20 alphanumeric characters, at
+   * most two hyphens), e.g. MCP-7K2QX09D1ZRA
+   */
+  public static String generateOrderReferenceId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    StringBuilder reference = new StringBuilder(REFERENCE_PREFIX.length() + REFERENCE_RANDOM_LENGTH)
+        .append(REFERENCE_PREFIX);
+    for (int i = 0; i < REFERENCE_RANDOM_LENGTH; i++) {
+      reference.append(REFERENCE_CHARS[random.nextInt(REFERENCE_CHARS.length)]);
+    }
+    return reference.toString();
+  }
+
+  /**
+   * Derives the order reference id of a child of a sliced order by appending its number, e.g.
+   * MCP-7K2QX09D1ZRA-3. Hyphens of the parent are dropped when it has more than one. A parent too
+   * long to fit Groww's 20 character limit keeps its leading characters followed by characters of
+   * a hash of the whole parent id, so parents sharing a prefix get distinct children; a parent too
+   * short for the 8 character minimum is padded with characters of the same hash.
+   * @param parentReferenceId Reference id of the order being sliced
+   * @param number Number of the child, from 1
+   */
+  public static String childReferenceId(String parentReferenceId, int number) {
+    String suffix = "-" + number;
+    String parent = parentReferenceId;
+    if (parent.indexOf('-') != parent.lastIndexOf('-')) {
+      parent = parent.replace("-", "");
+    }
+    int maxLength = REFERENCE_MAX_LENGTH - suffix.length();
+    int minLength = REFERENCE_MIN_LENGTH - suffix.length();
+    if (parent.length() > maxLength) {
+      parent = parent.substring(0, maxLength - REFERENCE_HASH_LENGTH) + referenceHash(parentReferenceId, REFERENCE_HASH_LENGTH);
+    } else if (parent.length() < minLength) {
+      parent = parent + referenceHash(parentReferenceId, minLength - parent.length());
+    }
+    return parent + suffix;
+  }
+
+  /**
+   * Reference id characters derived from the SHA-256 of a reference id
+   */
+  private static String referenceHash(String referenceId, int length) {
+    try {
+      byte[] hash = MessageDigest.getInstance(SHA_256).digest(referenceId.getBytes(StandardCharsets.UTF_8));
+      char[] chars = new char[length];
+      for (int i = 0; i < length; i++) {
+        chars[i] = REFERENCE_CHARS[(hash[i] & 0xff) % REFERENCE_CHARS.length];
+      }
+      return new String(chars);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("SHA-256 algorithm not found", e);
+    }
+  }
+
   /**
    * Generates SHA-256 checksum for the given input string.
    */
@@ -0,0 +1,90 @@
+package com.navneet.trade.utils;
+
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.constants.Segment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency timers for MCP tools and Groww API calls, published with p50/p99/p999 and histogram
+ * buckets for the Prometheus endpoint.
+ * <ul>
+ *   <li>groww.tool.latency: end to end per tool (tags tool, segment, outcome)</li>
+ *   <li>groww.api.latency: per Groww API call (tags endpoint, segment, status)</li>
+ *   <li>groww.api.phase: split of a call into token, serialize, connect, first_byte and body
+ *   (tags phase, endpoint)</li>
+ * </ul>
+ * @author navneet.prabhakar
+ */
+@Component
+public class LatencyMetrics {
+
+  private static final String NONE = "NONE";
+  private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+  private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+  @Autowired private MeterRegistry registry;
+
+  /**
+   * Time an MCP tool call. The outcome is success, empty when the tool returned null (the helpers
+   * return null on broker errors) or error when it threw.
+   * @param tool MCP tool name
+   * @param segment Segment of the request, may be null
+   * @param call Tool body
+   */
+  public <T> T tool(String tool, Segment segment, Supplier<T> call) {
+    long start = System.nanoTime();
+    String outcome = "error";
+    try {
+      T result = call.get();
+      outcome = result == null ? "empty" : "success";
+      return result;
+    } finally {
+      timer("groww.tool.latency", "Latency of MCP tool calls", "tool", tool,
+          "segment", segment == null ? NONE : segment.name(), "outcome", outcome)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Record a completed Groww API call
+   * @param status HTTP status code, or IO_ERROR when no response was received
+   */
+  public void request(GrowwEndpoint endpoint, String segment, String status, long nanos) {
+    timer("groww.api.latency", "Latency of Groww API calls", "endpoint", name(endpoint),
+        "segment", segment == null ? NONE : segment, "status", status)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Record one phase of a Groww API call, ignored when the phase was not reached
+   */
+  public void phase(String phase, GrowwEndpoint endpoint, long nanos) {
+    if (nanos < 0) {
+      return;
+    }
+    timer("groww.api.phase", "Latency of the phases of Groww API calls", "phase", phase,
+        "endpoint", name(endpoint))
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static String name(GrowwEndpoint endpoint) {
+    return endpoint == null ? NONE : endpoint.name();
+  }
+
+  private Timer timer(String name, String description, String... tags) {
+    return Timer.builder(name)
+        .description(description)
+        .tags(tags)
+        .publishPercentiles(0.5, 0.99, 0.999)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(MIN_EXPECTED)
+        .maximumExpectedValue(MAX_EXPECTED)
+        .register(registry);
+  }
+}
@@ -0,0 +1,137 @@
+package com.navneet.trade.utils;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single flight for identical Groww read calls. Calls with the same endpoint, order id and query
+ * parameters share one in-flight future; a successful response then keeps answering identical
+ * calls for the endpoint's micro-cache TTL (groww.coalescing.ttl-ms). Failures and empty
+ * responses are never shared beyond the callers already waiting on them.
+ * Shared responses are the same instance for every caller and must be treated as read only.
+ * @author navneet.prabhakar
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+
+  @Autowired private GrowwConstants constants;
+  @Autowired private MeterRegistry registry;
+
+  private final Map<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+  /**
+   * Run the call on the calling thread, or wait for an identical call already running or cached
+   * @param endpoint Endpoint of the call
+   * @param orderId Order id of an order scoped endpoint, null otherwise
+   * @param params Query parameters, null if none
+   * @param call Blocking call producing the response, null when it failed
+   * @return Response of this call or of the identical call it joined
+   */
+  public <T> T coalesce(GrowwEndpoint endpoint, String orderId, Map<String, String> params, Supplier<T> call) {
+    try {
+      return coalesceAsync(endpoint, orderId, params, () -> CompletableFuture.completedFuture(call.get())).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+    }
+  }
+
+  /**
+   * Start the call, or join an identical call already running or cached
+   * @param endpoint Endpoint of the call
+   * @param orderId Order id of an order scoped endpoint, null otherwise
+   * @param params Query parameters, null if none
+   * @param call Call producing a future of the response, completed with null when it failed
+   * @return Future of this call or of the identical call it joined
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> coalesceAsync(GrowwEndpoint endpoint, String orderId, Map<String, String> params,
+      Supplier<CompletableFuture<T>> call) {
+    if (!constants.getCoalescing().isEnabled()) {
+      return call.get();
+    }
+    String key = key(endpoint, orderId, params);
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> existing = flights.putIfAbsent(key, flight);
+    if (existing != null) {
+      shared(endpoint, existing.isDone() ? "cache" : "in_flight");
+      return (CompletableFuture<T>) existing.copy();
+    }
+    CompletableFuture<T> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      result = CompletableFuture.failedFuture(e);
+    }
+    result.whenComplete((value, error) -> {
+      long ttlMs = ttlMs(endpoint);
+      if (error != null || value == null || ttlMs <= 0) {
+        flights.remove(key, flight);
+      } else {
+        CompletableFuture.delayedExecutor(ttlMs, TimeUnit.MILLISECONDS).execute(() -> flights.remove(key, flight));
+      }
+      if (error != null) {
+        flight.completeExceptionally(error);
+      } else {
+        flight.complete(value);
+      }
+    });
+    return (CompletableFuture<T>) flight.copy();
+  }
+
+  /**
+   * Forget the running and cached calls for an order, so the next read after a modification or
+   * cancellation reaches the broker. Callers already waiting on a running call still get its result.
+   * @param endpoint Order scoped endpoint
+   * @param orderId Order id
+   */
+  public void evict(GrowwEndpoint endpoint, String orderId) {
+    String prefix = key(endpoint, orderId, null);
+    flights.keySet().removeIf(key -> key.startsWith(prefix)
+        && (key.length() == prefix.length() || key.charAt(prefix.length()) == '?'));
+  }
+
+  private long ttlMs(GrowwEndpoint endpoint) {
+    Long ttlMs = constants.getCoalescing().getTtlMs().get(endpoint);
+    return ttlMs == null ? 0 : ttlMs;
+  }
+
+  /**
+   * Endpoint, order id and parameters sorted by name, so maps built in different orders match
+   */
+  private static String key(GrowwEndpoint endpoint, String orderId, Map<String, String> params) {
+    StringBuilder key = new StringBuilder(64).append(endpoint.name());
+    if (orderId != null) {
+      key.append('/').append(orderId);
+    }
+    if (params != null && !params.isEmpty()) {
+      char separator = '?';
+      for (Map.Entry<String, String> param : new TreeMap<>(params).entrySet()) {
+        key.append(separator).append(param.getKey()).append('=').append(param.getValue());
+        separator = '&';
+      }
+    }
+    return key.toString();
+  }
+
+  private void shared(GrowwEndpoint endpoint, String source) {
+    log.debug("Sharing {} response of an identical {} call", source, endpoint);
+    Counter.builder("groww.coalescing.shared")
+        .description("Groww read calls answered by an identical in-flight or cached call")
+        .tags("endpoint", endpoint.name(), "source", source)
+        .register(registry)
+        .increment();
+  }
+}
@@ -0,0 +1,49 @@
+package com.navneet.trade.utils;
+
+/**
+ * Timestamps of one Groww API exchange, carried in the HttpClient context. The connect mark is
+ * set once a connection is leased and established, the response mark once the status line and
+ * headers are received (see HttpClientConfig).
+ * @author navneet.prabhakar
+ */
+public class RequestTimings {
+
+  public static final String ATTRIBUTE = "groww.request.timings";
+
+  private final long startNanos;
+  private volatile long connectedNanos;
+  private volatile long responseNanos;
+
+  public RequestTimings(long startNanos) {
+    this.startNanos = startNanos;
+  }
+
+  public void connected() {
+    connectedNanos = System.nanoTime();
+  }
+
+  public void responseReceived() {
+    responseNanos = System.nanoTime();
+  }
+
+  /**
+   * Pool lease and connection setup, near zero when a kept-alive connection is reused
+   */
+  public long connectNanos() {
+    return connectedNanos == 0 ? -1 : connectedNanos - startNanos;
+  }
+
+  /**
+   * Request write and broker processing until the response headers arrive
+   */
+  public long firstByteNanos() {
+    return connectedNanos == 0 || responseNanos == 0 ? -1 : responseNanos - connectedNanos;
+  }
+
+  /**
+   * Body transfer and deserialization, which overlap because the body is parsed from the stream
+   */
+  public long bodyNanos(long endNanos) {
+    return responseNanos == 0 ? -1 : endNanos - responseNanos;
+  }
+}
@@ -1,18 +1,46 @@
 package com.navneet.trade.utils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.models.request.CreateOrderRequest;
+import com.navneet.trade.models.request.SegmentScoped;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
@@ -22,115 +50,524 @@ import org.springframework.util.StringUtils;
 @Slf4j
 public class RestUtils {
 
+  // Shared, pooled client (see HttpClientConfig); never closed per request
+  @Autowired private CloseableHttpClient httpClient;
+  @Autowired @Qualifier("growwRestExecutor") private ExecutorService executor;
+  @Autowired private GrowwConstants constants;
+  @Autowired private EndpointRegistry endpoints;
+  @Autowired private LatencyMetrics metrics;
+  @Autowired private GrowwRateLimiter rateLimiter;
+  @Autowired private GrowwResilience resilience;
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+  // Writers and readers bound to a type once, so requests skip the per call root type lookup
+  private static final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
   /**
    * This method makes a REST GET call to the specified URL with given headers and parameters.
    *
    * @param url     : Base url
-   * @param headers : HTTP Headers map (key, value)
+   * @param headers : Prebuilt HTTP headers
    * @param params  : Query parameters map (key, value)
    * @return : ResponseEntity with response body and status code
    */
   public ResponseEntity<String> restGetCall(
-      String url, Map<String, String> headers, Map<String, String> params) {
+      String url, Header[] headers, Map<String, String> params) {
     log.info("GET API Request received for url: {}, headers: REDACTED, params: {}", url, params);
+    String target = addParams(url, params);
+    return execute("GET", endpoints.endpointOf(url), segmentOf(params, null), RetryMode.IDEMPOTENT,
+        () -> buildGetRequest(target, headers), response -> toResponseEntity("GET", response));
+  }
 
-    try (CloseableHttpClient restClient = createHttpClient()) {
-      try {
-        String urlWithParams = addParams(url, params);
-        HttpGet getRequest = new HttpGet(urlWithParams);
-        if (!CollectionUtils.isEmpty(headers)) {
-          headers.forEach(
-              (key, value) -> {
-                if (StringUtils.hasText(key) && StringUtils.hasText(value)) {
-                  getRequest.addHeader(key, value);
-                }
-              });
-        }
-
-        var response = restClient.execute(getRequest);
-        var entity = response.getEntity();
-        HttpHeaders responseHeaders = new HttpHeaders();
-        Arrays.stream(response.getHeaders())
-            .forEach(header -> responseHeaders.add(header.getName(), header.getValue()));
-        if (entity != null) {
-          String responseBody = new String(entity.getContent().readAllBytes());
-          log.info(
-              "GET API Response received with status: {}, body: {}",
-              response.getCode(),
-              responseBody);
-          return ResponseEntity.status(response.getCode())
-              .headers(responseHeaders)
-              .body(responseBody);
-        } else {
-          log.warn("GET API Response received with status: {}, but no content", response.getCode());
-          return ResponseEntity.status(response.getCode()).headers(responseHeaders).body("");
-        }
-      } catch (IOException e) {
-        log.error("IOException occurred during GET API call: {}", e.getMessage());
-        return ResponseEntity.status(500).body("Internal Server Error: " + e.getMessage());
-      }
-    } catch (IOException e) {
-      log.error("Failed to close HttpClient: {}", e.getMessage());
-    }
-    // TODO Handle better
-    return null;
+  /**
+   * Typed variant of {@link #restGetCall(String, Header[], Map)}. A successful response body is
+   * deserialized straight from the entity stream, without an intermediate String.
+   *
+   * @param url          : Base url
+   * @param headers      : Prebuilt HTTP headers
+   * @param params       : Query parameters map (key, value)
+   * @param responseType : Type to deserialize a 2xx body into
+   * @return : ResponseEntity with the deserialized body (null for non 2xx responses) and status code
+   */
+  public <T> ResponseEntity<T> restGetCall(
+      String url, Header[] headers, Map<String, String> params, Class<T> responseType) {
+    log.info("GET API Request received for url: {}, headers: REDACTED, params: {}", url, params);
+    String target = addParams(url, params);
+    return execute("GET", endpoints.endpointOf(url), segmentOf(params, null), RetryMode.IDEMPOTENT,
+        () -> buildGetRequest(target, headers), response -> toResponseEntity("GET", response, responseType));
   }
 
   public ResponseEntity<String> restPostCall(
-      String url, Map<String, String> headers, Map<String, String> params, Object body) {
+      String url, Header[] headers, Map<String, String> params, Object body) {
+    log.info(
+        "POST API Request received for url: {}, headers: REDACTED, params: {}, body:{}", url, params, body);
+    GrowwEndpoint endpoint = endpoints.endpointOf(url);
+    byte[] json;
+    try {
+      json = timedSerialize(endpoint, body);
+    } catch (JsonProcessingException e) {
+      log.error("Unable to serialize POST API request body: {}", e.getMessage());
+      return ResponseEntity.status(500).body("Internal Server Error: " + e.getMessage());
+    }
+    String target = addParams(url, params);
+    return execute("POST", endpoint, segmentOf(params, body), retryMode(body),
+        () -> buildPostRequest(target, headers, json), response -> toResponseEntity("POST", response));
+  }
+
+  /**
+   * Typed variant of {@link #restPostCall(String, Header[], Map, Object)}, deserializing a successful
+   * response body straight from the entity stream.
+   *
+   * @param url          : Base url
+   * @param headers      : Prebuilt HTTP headers
+   * @param params       : Query parameters map (key, value)
+   * @param body         : Request body, serialized as JSON
+   * @param responseType : Type to deserialize a 2xx body into
+   * @return : ResponseEntity with the deserialized body (null for non 2xx responses) and status code
+   */
+  public <T> ResponseEntity<T> restPostCall(String url, Header[] headers,
+      Map<String, String> params, Object body, Class<T> responseType) {
     log.info(
-        "POST API Request received for url: {}, headers: {}, params: {}, body:{}", url, headers, params, body);
-    try (CloseableHttpClient restClient = createHttpClient()) {
+        "POST API Request received for url: {}, headers: REDACTED, params: {}, body:{}", url, params, body);
+    GrowwEndpoint endpoint = endpoints.endpointOf(url);
+    byte[] json;
+    try {
+      json = timedSerialize(endpoint, body);
+    } catch (JsonProcessingException e) {
+      log.error("Unable to serialize POST API request body: {}", e.getMessage());
+      return ResponseEntity.status(500).build();
+    }
+    String target = addParams(url, params);
+    return execute("POST", endpoint, segmentOf(params, body), retryMode(body),
+        () -> buildPostRequest(target, headers, json), response -> toResponseEntity("POST", response, responseType));
+  }
+
+  /**
+   * Non-blocking variant of {@link #restGetCall(String, Header[], Map)}. The call is executed on a
+   * virtual thread, so the caller's thread is not held while waiting on the broker.
+   *
+   * @param url     : Base url
+   * @param headers : Prebuilt HTTP headers
+   * @param params  : Query parameters map (key, value)
+   * @return : Future completed with the ResponseEntity
+   */
+  public CompletableFuture<ResponseEntity<String>> restGetCallAsync(
+      String url, Header[] headers, Map<String, String> params) {
+    return CompletableFuture.supplyAsync(() -> restGetCall(url, headers, params), executor);
+  }
+
+  /**
+   * Non-blocking variant of {@link #restGetCall(String, Header[], Map, Class)}, executed on a virtual
+   * thread.
+   */
+  public <T> CompletableFuture<ResponseEntity<T>> restGetCallAsync(
+      String url, Header[] headers, Map<String, String> params, Class<T> responseType) {
+    return CompletableFuture.supplyAsync(() -> restGetCall(url, headers, params, responseType), executor);
+  }
+
+  /**
+   * Non-blocking variant of {@link #restPostCall(String, Header[], Map, Object)}, executed on a virtual
+   * thread.
+   *
+   * @param url     : Base url
+   * @param headers : Prebuilt HTTP headers
+   * @param params  : Query parameters map (key, value)
+   * @param body    : Request body, serialized as JSON
+   * @return : Future completed with the ResponseEntity
+   */
+  public CompletableFuture<ResponseEntity<String>> restPostCallAsync(
+      String url, Header[] headers, Map<String, String> params, Object body) {
+    return CompletableFuture.supplyAsync(() -> restPostCall(url, headers, params, body), executor);
+  }
+
+  /**
+   * Non-blocking variant of {@link #restPostCall(String, Header[], Map, Object, Class)}, executed on a
+   * virtual thread.
+   */
+  public <T> CompletableFuture<ResponseEntity<T>> restPostCallAsync(String url, Header[] headers,
+      Map<String, String> params, Object body, Class<T> responseType) {
+    return CompletableFuture.supplyAsync(() -> restPostCall(url, headers, params, body, responseType), executor);
+  }
+
+  /**
+   * Which failed attempts of a call may be sent again
+   */
+  enum RetryMode {
+    // GETs, and order creation carrying an order_reference_id the broker deduplicates on
+    IDEMPOTENT,
+    // Any other POST, only when the failed attempt never reached the broker
+    UNSENT_ONLY
+  }
+
+  /**
+   * Result of one attempt of a call
+   *
+   * @param response : Response, or a synthetic 500 when the call failed locally
+   * @param status   : Metric status, the HTTP code or IO_ERROR, PARSE_ERROR, CANCELLED
+   * @param sent     : Whether the request may have reached the broker
+   */
+  record Attempt<T>(ResponseEntity<T> response, String status, boolean sent) {
+
+    // IO errors and broker 5xx count against the circuit of the endpoint
+    boolean failed() {
+      return IO_ERROR.equals(status)
+          || (!PARSE_ERROR.equals(status) && response.getStatusCode().is5xxServerError());
+    }
+
+    boolean retryable(RetryMode mode) {
+      if (mode == RetryMode.UNSENT_ONLY) {
+        return IO_ERROR.equals(status) && !sent;
+      }
+      return IO_ERROR.equals(status) || RETRYABLE_STATUSES.contains(status);
+    }
+
+    // Success or a client error, which no other attempt would change
+    boolean decisive() {
+      return !failed() && !retryable(RetryMode.IDEMPOTENT) && !CANCELLED.equals(status);
+    }
+  }
+
+  private static final String IO_ERROR = "IO_ERROR";
+  private static final String PARSE_ERROR = "PARSE_ERROR";
+  private static final String CANCELLED = "CANCELLED";
+  private static final Set<String> RETRYABLE_STATUSES = Set.of("429", "502", "503", "504");
+
+  /**
+   * Response header marking a client error answered to a retry after an earlier attempt may have
+   * reached the broker. For order creation this is how a duplicate order_reference_id rejection of
+   * an order the first attempt already placed shows up.
+   */
+  public static final String RETRIED_AFTER_SEND = "X-Retried-After-Send";
+
+  /**
+   * @param response : Response of a call
+   * @return : Whether the response is a client error to a retry of an attempt that may have been sent
+   */
+  public static boolean retriedAfterSend(ResponseEntity<?> response) {
+    return response != null && response.getHeaders().containsKey(RETRIED_AFTER_SEND);
+  }
+
+  /**
+   * Execute the call with retries. Each attempt is built fresh by the request factory, waits for a
+   * rate limit permit (answering 429 without calling the broker when none is available in time)
+   * and passes the endpoint's circuit breaker, which answers 503 while the circuit is open.
+   * Failed attempts are retried after an exponential backoff with full jitter when the retry mode
+   * allows it; GETs may be hedged (see {@link #hedged}).
+   *
+   * @param method   : HTTP method, used for logging
+   * @param endpoint : Groww endpoint, used to tag metrics and select the circuit breaker
+   * @param segment  : Segment of the request, used to tag metrics
+   * @param mode     : Which failed attempts may be retried
+   * @param request  : Factory building the HTTP request of an attempt
+   * @param handler  : Response handler converting the HTTP response
+   * @return : ResponseEntity of the last attempt, or a 500 response if it failed locally; a client
+   *           error following an attempt that may have been sent carries {@link #RETRIED_AFTER_SEND}
+   */
+  private <T> ResponseEntity<T> execute(String method, GrowwEndpoint endpoint, String segment, RetryMode mode,
+      Supplier<HttpUriRequestBase> request, HttpClientResponseHandler<ResponseEntity<T>> handler) {
+    int maxAttempts = resilience.maxAttempts();
+    boolean hedge = "GET".equals(method) && resilience.hedgeAfterMs() > 0;
+    Attempt<T> attempt = null;
+    boolean sentBefore = false;
+    for (int number = 1; ; number++) {
+      if (!resilience.allowRequest(endpoint)) {
+        log.warn("Circuit open for {}, failing {} API call fast", endpoint, method);
+        return attempt != null ? attempt.response() : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+      }
+      if (!rateLimiter.acquire(endpoint)) {
+        resilience.release(endpoint);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+      }
+      attempt = hedge
+          ? hedged(method, endpoint, segment, request, handler)
+          : attempt(method, endpoint, segment, request.get(), handler);
+      if (attempt.failed()) {
+        resilience.onFailure(endpoint);
+      } else {
+        resilience.onSuccess(endpoint);
+      }
+      if (number >= maxAttempts || !attempt.retryable(mode)) {
+        return sentBefore ? markRetriedAfterSend(attempt.response()) : attempt.response();
+      }
+      sentBefore |= attempt.sent();
+      long backoff = resilience.backoffMillis(number, attempt.response());
+      log.warn("{} API call to {} failed with {}, attempt {} of {} in {} ms", method, endpoint, attempt.status(),
+          number + 1, maxAttempts, backoff);
+      resilience.retried(endpoint, attempt.status());
       try {
-        String urlWithParams = addParams(url, params);
-        HttpPost postRequest = new HttpPost(urlWithParams);
-        if (!CollectionUtils.isEmpty(headers)) {
-          headers.forEach(
-              (key, value) -> {
-                if (StringUtils.hasText(key) && StringUtils.hasText(value)) {
-                  postRequest.addHeader(key, value);
-                }
-              });
-        }
-        // Set body if present
-        if (body != null) {
-          postRequest.setEntity(
-              new StringEntity(
-                  new ObjectMapper().writeValueAsString(body), StandardCharsets.UTF_8));
-        }
-        var response = restClient.execute(postRequest);
-        var entity = response.getEntity();
-        HttpHeaders responseHeaders = new HttpHeaders();
-        Arrays.stream(response.getHeaders())
-            .forEach(header -> responseHeaders.add(header.getName(), header.getValue()));
-        if (entity != null) {
-          String responseBody = new String(entity.getContent().readAllBytes());
-          log.info(
-              "POST API Response received with status: {}, body: {}",
-              response.getCode(),
-              responseBody);
-
-          return ResponseEntity.status(response.getCode())
-              .headers(responseHeaders)
-              .body(responseBody);
-        } else {
-          log.warn(
-              "POST API Response received with status: {}, but no content", response.getCode());
-          return ResponseEntity.status(response.getCode()).headers(responseHeaders).body("");
-        }
-      } catch (IOException e) {
-        log.error("IOException occurred during POST API call: {}", e.getMessage());
-        return ResponseEntity.status(500).body("Internal Server Error: " + e.getMessage());
+        Thread.sleep(backoff);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return attempt.response();
       }
+    }
+  }
+
+  private static <T> ResponseEntity<T> markRetriedAfterSend(ResponseEntity<T> response) {
+    if (!response.getStatusCode().is4xxClientError()
+        || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+      return response;
+    }
+    HttpHeaders headers = new HttpHeaders();
+    headers.addAll(response.getHeaders());
+    headers.add(RETRIED_AFTER_SEND, "true");
+    return ResponseEntity.status(response.getStatusCode()).headers(headers).body(response.getBody());
+  }
+
+  /**
+   * Send the GET, and if it has not completed within groww.resilience.hedge-after-ms send a second
+   * one when a rate limit permit is free right away. The first decisive response wins and the
+   * other request is cancelled; when both fail, the later failure is returned.
+   */
+  private <T> Attempt<T> hedged(String method, GrowwEndpoint endpoint, String segment,
+      Supplier<HttpUriRequestBase> request, HttpClientResponseHandler<ResponseEntity<T>> handler) {
+    HttpUriRequestBase primaryRequest = request.get();
+    CompletableFuture<Attempt<T>> primary = attemptAsync(method, endpoint, segment, primaryRequest, handler);
+    try {
+      return primary.get(resilience.hedgeAfterMs(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // Slow primary, hedge below
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      primaryRequest.cancel();
+      return primary.join();
+    } catch (ExecutionException e) {
+      // attemptAsync never completes exceptionally
+      return unexpected(method, endpoint, e.getCause());
+    }
+    if (!rateLimiter.tryAcquire(endpoint)) {
+      return primary.join();
+    }
+    resilience.hedged(endpoint);
+    HttpUriRequestBase hedgeRequest = request.get();
+    CompletableFuture<Attempt<T>> secondary = attemptAsync(method, endpoint, segment, hedgeRequest, handler);
+    CompletableFuture<Attempt<T>> winner = new CompletableFuture<>();
+    AtomicInteger pending = new AtomicInteger(2);
+    Consumer<Attempt<T>> settle = result -> {
+      if (result.decisive() || pending.decrementAndGet() == 0) {
+        winner.complete(result);
+      }
+    };
+    primary.thenAccept(settle);
+    secondary.thenAccept(settle);
+    Attempt<T> result = winner.join();
+    (result == primary.getNow(null) ? hedgeRequest : primaryRequest).cancel();
+    return result;
+  }
+
+  /**
+   * Send one attempt on the executor. An unexpected exception of the attempt completes the future
+   * with a failed attempt, so the hedge race always settles.
+   */
+  private <T> CompletableFuture<Attempt<T>> attemptAsync(String method, GrowwEndpoint endpoint, String segment,
+      HttpUriRequestBase request, HttpClientResponseHandler<ResponseEntity<T>> handler) {
+    return CompletableFuture.supplyAsync(() -> attempt(method, endpoint, segment, request, handler), executor)
+        .exceptionally(e -> unexpected(method, endpoint, e instanceof CompletionException ? e.getCause() : e));
+  }
+
+  private static <T> Attempt<T> unexpected(String method, GrowwEndpoint endpoint, Throwable cause) {
+    log.error("Unexpected failure of a {} API call to {}", method, endpoint, cause);
+    return new Attempt<>(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build(), IO_ERROR, true);
+  }
+
+  /**
+   * Send one attempt on the shared client. The handler runs while the connection is leased; the
+   * client consumes any remaining entity content and releases the connection afterwards. The
+   * attempt is timed as a whole and split into connect, first byte and body phases.
+   */
+  private <T> Attempt<T> attempt(String method, GrowwEndpoint endpoint, String segment,
+      HttpUriRequestBase request, HttpClientResponseHandler<ResponseEntity<T>> handler) {
+    long start = System.nanoTime();
+    RequestTimings timings = new RequestTimings(start);
+    HttpClientContext context = HttpClientContext.create();
+    context.setAttribute(RequestTimings.ATTRIBUTE, timings);
+    String status = IO_ERROR;
+    try {
+      ResponseEntity<T> response = httpClient.execute(request, context, handler);
+      status = String.valueOf(response.getStatusCode().value());
+      if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+        rateLimiter.throttled(endpoint);
+      }
+      return new Attempt<>(response, status, true);
+    } catch (JsonProcessingException e) {
+      status = PARSE_ERROR;
+      log.error("Unable to parse {} API response: {}", method, e.getMessage());
+      return new Attempt<>(ResponseEntity.status(500).build(), status, true);
     } catch (IOException e) {
-      log.error("Failed to close HttpClient: {}", e.getMessage());
+      if (request.isCancelled()) {
+        status = CANCELLED;
+        log.debug("Hedged {} API call to {} cancelled", method, endpoint);
+      } else {
+        log.error("IOException occurred during {} API call: {}", method, e.getMessage());
+      }
+      // The timings mark a connection as established just before the request is transmitted
+      return new Attempt<>(ResponseEntity.status(500).build(), status, timings.connectNanos() >= 0);
+    } finally {
+      long end = System.nanoTime();
+      metrics.request(endpoint, segment, status, end - start);
+      metrics.phase("connect", endpoint, timings.connectNanos());
+      metrics.phase("first_byte", endpoint, timings.firstByteNanos());
+      metrics.phase("body", endpoint, timings.bodyNanos(end));
+    }
+  }
+
+  /**
+   * Order creation is safe to repeat when it carries an order_reference_id, as the broker rejects
+   * a second order with the same reference
+   */
+  private static RetryMode retryMode(Object body) {
+    return body instanceof CreateOrderRequest order && StringUtils.hasText(order.getOrderReferenceId())
+        ? RetryMode.IDEMPOTENT
+        : RetryMode.UNSENT_ONLY;
+  }
+
+  /**
+   * Segment tag of a request, from the segment query parameter or a segment scoped body
+   */
+  private static String segmentOf(Map<String, String> params, Object body) {
+    if (params != null && params.get("segment") != null) {
+      return params.get("segment");
+    }
+    if (body instanceof SegmentScoped scoped && scoped.getSegment() != null) {
+      return scoped.getSegment().name();
     }
-    // TODO Handle better
     return null;
   }
 
   /**
-   * Add query parameters to the URL
+   * Serialize the body once per call; retried attempts reuse the bytes
+   */
+  private byte[] timedSerialize(GrowwEndpoint endpoint, Object body) throws JsonProcessingException {
+    if (body == null) {
+      return null;
+    }
+    long start = System.nanoTime();
+    byte[] json = writers.computeIfAbsent(body.getClass(), mapper::writerFor).writeValueAsBytes(body);
+    metrics.phase("serialize", endpoint, System.nanoTime() - start);
+    return json;
+  }
+
+  private HttpGet buildGetRequest(String url, Header[] headers) {
+    HttpGet getRequest = new HttpGet(url);
+    addHeaders(getRequest, headers);
+    return getRequest;
+  }
+
+  private HttpPost buildPostRequest(String url, Header[] headers, byte[] json) {
+    HttpPost postRequest = new HttpPost(url);
+    addHeaders(postRequest, headers);
+    if (json != null) {
+      postRequest.setEntity(new ByteArrayEntity(json, ContentType.APPLICATION_JSON));
+    }
+    return postRequest;
+  }
+
+  /**
+   * Set the prebuilt headers on the request
+   *
+   * @param request : HTTP request
+   * @param headers : Prebuilt HTTP headers, may be null
+   */
+  private void addHeaders(ClassicHttpRequest request, Header[] headers) {
+    if (headers != null) {
+      request.setHeaders(headers);
+    }
+  }
+
+  /**
+   * Convert the HTTP response into a ResponseEntity with the raw body as a String.
+   *
+   * @param method   : HTTP method, used for logging
+   * @param response : HTTP response
+   * @return : ResponseEntity with response body and status code
+   */
+  private ResponseEntity<String> toResponseEntity(String method, ClassicHttpResponse response)
+      throws IOException {
+    var entity = response.getEntity();
+    HttpHeaders responseHeaders = toHttpHeaders(response);
+    if (entity != null) {
+      String responseBody = new String(entity.getContent().readAllBytes(), StandardCharsets.UTF_8);
+      logResponse(method, response.getCode(), responseBody);
+      return ResponseEntity.status(response.getCode())
+          .headers(responseHeaders)
+          .body(responseBody);
+    } else {
+      log.warn("{} API Response received with status: {}, but no content", method, response.getCode());
+      return ResponseEntity.status(response.getCode()).headers(responseHeaders).body("");
+    }
+  }
+
+  /**
+   * Convert the HTTP response into a ResponseEntity, deserializing a 2xx body directly from the
+   * entity stream. Non 2xx bodies are only read up to the configured log cap for diagnostics.
+   *
+   * @param method       : HTTP method, used for logging
+   * @param response     : HTTP response
+   * @param responseType : Type to deserialize the body into
+   * @return : ResponseEntity with the deserialized body and status code
+   */
+  private <T> ResponseEntity<T> toResponseEntity(String method, ClassicHttpResponse response,
+      Class<T> responseType) throws IOException {
+    var entity = response.getEntity();
+    int status = response.getCode();
+    HttpHeaders responseHeaders = toHttpHeaders(response);
+    if (entity == null) {
+      log.warn("{} API Response received with status: {}, but no content", method, status);
+      return ResponseEntity.status(status).headers(responseHeaders).build();
+    }
+    if (status < 200 || status >= 300) {
+      try (InputStream content = entity.getContent()) {
+        String errorBody = new String(
+            content.readNBytes(constants.getHttp().getLogBodyMaxBytes()), StandardCharsets.UTF_8);
+        log.warn("{} API Response received with status: {}, body: {}", method, status, errorBody);
+      }
+      return ResponseEntity.status(status).headers(responseHeaders).build();
+    }
+    T body;
+    if (constants.getHttp().isLogBodies()) {
+      // Opt-in body logging needs the bytes, so buffer once and parse from the buffer
+      byte[] bytes = entity.getContent().readAllBytes();
+      logResponse(method, status, new String(bytes, StandardCharsets.UTF_8));
+      body = reader(responseType).readValue(bytes);
+    } else {
+      try (InputStream content = entity.getContent()) {
+        body = reader(responseType).readValue(content);
+      }
+      log.info("{} API Response received with status: {}", method, status);
+    }
+    return ResponseEntity.status(status).headers(responseHeaders).body(body);
+  }
+
+  private HttpHeaders toHttpHeaders(ClassicHttpResponse response) {
+    HttpHeaders responseHeaders = new HttpHeaders();
+    Arrays.stream(response.getHeaders())
+        .forEach(header -> responseHeaders.add(header.getName(), header.getValue()));
+    return responseHeaders;
+  }
+
+  /**
+   * Log the response status, and the body (truncated to groww.http.log-body-max-bytes) only when
+   * groww.http.log-bodies is enabled.
+   */
+  private void logResponse(String method, int status, String responseBody) {
+    if (constants.getHttp().isLogBodies()) {
+      int maxLength = constants.getHttp().getLogBodyMaxBytes();
+      String loggedBody = responseBody.length() > maxLength
+          ? responseBody.substring(0, maxLength) + "...(truncated " + responseBody.length() + " chars)"
+          : responseBody;
+      log.info("{} API Response received with status: {}, body: {}", method, status, loggedBody);
+    } else {
+      log.info("{} API Response received with status: {}", method, status);
+    }
+  }
+
+  private static ObjectReader reader(Class<?> type) {
+    return readers.computeIfAbsent(type, mapper::readerFor);
+  }
+
+  /**
+   * Add query parameters to the URL, skipping blank keys and values
    *
    * @param url    : Base URL
    * @param params : Params map (key, value)
@@ -140,30 +577,33 @@ public class RestUtils {
     if (CollectionUtils.isEmpty(params)) {
       return url;
     }
-    StringBuilder urlWithParams = new StringBuilder(url).append("?");
-    params.forEach(
-        (key, value) -> {
-          if (StringUtils.hasText(key) && StringUtils.hasText(value)) {
-            urlWithParams
-                .append(key)
-                .append("=")
-                .append(URLEncoder.encode(value, StandardCharsets.UTF_8))
-                .append("&");
-          }
-        });
-    // Remove the trailing '&' if present
-    if (urlWithParams.charAt(urlWithParams.length() - 1) == '&') {
-      urlWithParams.deleteCharAt(urlWithParams.length() - 1);
+    StringBuilder urlWithParams = new StringBuilder(url.length() + params.size() * 24).append(url);
+    char separator = '?';
+    for (Map.Entry<String, String> param : params.entrySet()) {
+      if (StringUtils.hasText(param.getKey()) && StringUtils.hasText(param.getValue())) {
+        urlWithParams.append(separator).append(param.getKey()).append('=').append(encode(param.getValue()));
+        separator = '&';
+      }
     }
     return urlWithParams.toString();
   }
 
   /**
-   * Factory method to create CloseableHttpClient. Extracted to allow tests to inject mocks.
+   * Percent-encode a query value or path segment. Values made only of unreserved characters, such
+   * as symbols, enums and epoch times, are returned as is without allocating.
    *
-   * @return CloseableHttpClient instance
+   * @param value : Raw value
+   * @return : Encoded value
    */
-  protected CloseableHttpClient createHttpClient() {
-    return HttpClients.createDefault();
+  public static String encode(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      boolean unreserved = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '-' || c == '_' || c == '.' || c == '~';
+      if (!unreserved) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+      }
+    }
+    return value;
   }
 }
@@ -22,7 +22,8 @@ CREATE TABLE IF NOT EXISTS instruments (
     buy_allowed INTEGER,
     sell_allowed INTEGER,
     internal_trading_symbol VARCHAR(100),
-    is_intraday INTEGER
+    is_intraday INTEGER,
+    row_hash VARCHAR(32)
 );
 
 -- Create indexes for frequently queried columns
@@ -31,3 +32,86 @@ CREATE INDEX idx_trading_symbol ON instruments(trading_symbol);
 CREATE INDEX idx_groww_symbol ON instruments(groww_symbol);
 CREATE INDEX idx_exchange ON instruments(exchange);
 CREATE INDEX idx_segment ON instruments(segment);
+
+-- Diff based ingest: instruments are keyed by (exchange, exchange_token) and carry the MD5 of their CSV row.
+-- The ALTER and DELETE upgrade tables loaded by the earlier append-only ingest. The DELETE only runs
+-- until the unique index exists: the uncorrelated NOT EXISTS is a one-time filter, so the self-join is
+-- never executed on later startups.
+ALTER TABLE instruments ADD COLUMN IF NOT EXISTS row_hash VARCHAR(32);
+DELETE FROM instruments a USING instruments b
+    WHERE NOT EXISTS (SELECT 1 FROM pg_indexes
+                      WHERE tablename = 'instruments' AND indexname = 'uq_instruments_exchange_token')
+      AND a.exchange = b.exchange AND a.exchange_token = b.exchange_token AND a.id < b.id;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_instruments_exchange_token ON instruments(exchange, exchange_token);
+CREATE INDEX IF NOT EXISTS idx_expiry_date ON instruments(expiry_date);
+
+-- Staging area for instrument master loads, rows are copied here and merged into instruments per ingest run
+CREATE UNLOGGED TABLE IF NOT EXISTS instruments_staging (
+    ingest_id VARCHAR(64) NOT NULL,
+    exchange VARCHAR(50),
+    exchange_token VARCHAR(100),
+    trading_symbol VARCHAR(100),
+    groww_symbol VARCHAR(100),
+    name VARCHAR(255),
+    instrument_type VARCHAR(50),
+    segment VARCHAR(50),
+    series VARCHAR(50),
+    isin VARCHAR(50),
+    underlying_symbol VARCHAR(100),
+    underlying_exchange_token VARCHAR(100),
+    expiry_date VARCHAR(50),
+    strike_price NUMERIC(15, 2),
+    lot_size INTEGER,
+    tick_size NUMERIC(10, 4),
+    freeze_quantity INTEGER,
+    is_reserved INTEGER,
+    buy_allowed INTEGER,
+    sell_allowed INTEGER,
+    internal_trading_symbol VARCHAR(100),
+    is_intraday INTEGER,
+    row_hash VARCHAR(32)
+);
+
+CREATE INDEX IF NOT EXISTS idx_instruments_staging_key ON instruments_staging(ingest_id, exchange, exchange_token);
+
+-- Local candle store for historic data, keyed by (exchange, segment, trading_symbol, interval_minutes)
+CREATE TABLE IF NOT EXISTS candles (
+    exchange VARCHAR(50) NOT NULL,
+    segment VARCHAR(50) NOT NULL,
+    trading_symbol VARCHAR(100) NOT NULL,
+    interval_minutes INTEGER NOT NULL,
+    candle_time BIGINT NOT NULL,
+    open DOUBLE PRECISION,
+    high DOUBLE PRECISION,
+    low DOUBLE PRECISION,
+    close DOUBLE PRECISION,
+    volume BIGINT,
+    PRIMARY KEY (exchange, segment, trading_symbol, interval_minutes, candle_time)
+);
+
+-- Time ranges (epoch seconds, inclusive) already fetched from the API for a candle series
+CREATE TABLE IF NOT EXISTS candle_ranges (
+    id BIGSERIAL PRIMARY KEY,
+    exchange VARCHAR(50) NOT NULL,
+    segment VARCHAR(50) NOT NULL,
+    trading_symbol VARCHAR(100) NOT NULL,
+    interval_minutes INTEGER NOT NULL,
+    start_time BIGINT NOT NULL,
+    end_time BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_candle_ranges_series ON candle_ranges(exchange, segment, trading_symbol, interval_minutes, start_time);
+
+-- Instrument ingest jobs; records_committed is the number of CSV records whose rows are committed to staging
+CREATE TABLE IF NOT EXISTS ingest_jobs (
+    job_id VARCHAR(64) PRIMARY KEY,
+    source VARCHAR(1024) NOT NULL,
+    file_path VARCHAR(1024),
+    status VARCHAR(20) NOT NULL,
+    records_committed BIGINT NOT NULL DEFAULT 0,
+    rows_staged BIGINT NOT NULL DEFAULT 0,
+    rows_rejected BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
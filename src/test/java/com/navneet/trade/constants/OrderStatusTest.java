@@ -0,0 +1,53 @@
+package com.navneet.trade.constants;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+
+class OrderStatusTest {
+
+  private static final EnumSet<OrderStatus> OPEN = EnumSet.of(OrderStatus.NEW, OrderStatus.ACKED,
+      OrderStatus.TRIGGER_PENDING, OrderStatus.APPROVED, OrderStatus.CANCELLATION_REQUESTED,
+      OrderStatus.MODIFICATION_REQUESTED);
+
+  @Test
+  void openOrdersMayMoveAnywhereButBackToNew() {
+    for (OrderStatus from : OPEN) {
+      for (OrderStatus to : OrderStatus.values()) {
+        assertEquals(to != OrderStatus.NEW || from == OrderStatus.NEW, from.canTransitionTo(to), from + " -> " + to);
+      }
+    }
+  }
+
+  @Test
+  void executedOrdersOnlyMoveTowardsCompletion() {
+    assertTrue(OrderStatus.EXECUTED.canTransitionTo(OrderStatus.DELIVERY_AWAITED));
+    assertTrue(OrderStatus.EXECUTED.canTransitionTo(OrderStatus.COMPLETED));
+    assertTrue(OrderStatus.DELIVERY_AWAITED.canTransitionTo(OrderStatus.COMPLETED));
+    assertFalse(OrderStatus.EXECUTED.canTransitionTo(OrderStatus.CANCELLED));
+    assertFalse(OrderStatus.EXECUTED.canTransitionTo(OrderStatus.ACKED));
+    assertFalse(OrderStatus.DELIVERY_AWAITED.canTransitionTo(OrderStatus.EXECUTED));
+  }
+
+  @Test
+  void terminalOrdersNeverMove() {
+    for (OrderStatus from : EnumSet.of(OrderStatus.REJECTED, OrderStatus.FAILED, OrderStatus.CANCELLED,
+        OrderStatus.COMPLETED)) {
+      assertTrue(from.isTerminal());
+      for (OrderStatus to : OrderStatus.values()) {
+        assertEquals(to == from, from.canTransitionTo(to), from + " -> " + to);
+      }
+    }
+  }
+
+  @Test
+  void parsesBrokerStatuses() {
+    assertEquals(OrderStatus.TRIGGER_PENDING, OrderStatus.from(" trigger_pending "));
+    assertNull(OrderStatus.from("PARKED"));
+    assertNull(OrderStatus.from(null));
+  }
+}
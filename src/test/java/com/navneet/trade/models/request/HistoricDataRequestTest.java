@@ -0,0 +1,38 @@
+package com.navneet.trade.models.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
+import com.navneet.trade.constants.CandleIntervals;
+import org.junit.jupiter.api.Test;
+
+class HistoricDataRequestTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  void readsIntervalInMinutesAsMinutesNotOrdinal() throws Exception {
+    assertEquals(CandleIntervals.FIVE_MINUTES, read("{\"interval_in_minutes\": 5}").getInterval());
+    assertEquals(CandleIntervals.ONE_MINUTE, read("{\"interval_in_minutes\": 1}").getInterval());
+    assertEquals(CandleIntervals.ONE_HOUR, read("{\"intervalInMinutes\": \"60\"}").getInterval());
+  }
+
+  @Test
+  void readsIntervalStringValue() throws Exception {
+    assertEquals(CandleIntervals.FIFTEEN_MINUTES, read("{\"interval\": \"15minute\"}").getInterval());
+    assertEquals(CandleIntervals.ONE_DAY, read("{\"interval\": \"1day\"}").getInterval());
+  }
+
+  @Test
+  void rejectsUnknownIntervals() {
+    assertThrows(ValueInstantiationException.class, () -> read("{\"interval_in_minutes\": 7}"));
+    assertThrows(ValueInstantiationException.class, () -> read("{\"interval\": \"FIVE_MINUTES\"}"));
+    assertThrows(ValueInstantiationException.class, () -> read("{\"interval\": 2.5}"));
+  }
+
+  private HistoricDataRequest read(String json) throws Exception {
+    return mapper.readValue(json, HistoricDataRequest.class);
+  }
+}
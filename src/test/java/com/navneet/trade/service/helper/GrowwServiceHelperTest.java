@@ -0,0 +1,161 @@
+package com.navneet.trade.service.helper;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navneet.trade.constants.CandleIntervals;
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.constants.Segment;
+import com.navneet.trade.entity.repo.CandleRepo;
+import com.navneet.trade.models.request.HistoricDataRequest;
+import com.navneet.trade.models.response.CandleSeries;
+import com.navneet.trade.models.response.HistoricDataSeriesResponse;
+import com.navneet.trade.utils.CacheRegistry;
+import com.navneet.trade.utils.EndpointRegistry;
+import com.navneet.trade.utils.LatencyMetrics;
+import com.navneet.trade.utils.RestUtils;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.hc.core5.http.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class GrowwServiceHelperTest {
+
+  private static final String HISTORIC_URL = "https://api.groww.in/v1/historical/candle/range";
+
+  private final RestUtils restUtils = mock(RestUtils.class);
+  private final CandleRepo candleRepo = mock(CandleRepo.class);
+  private GrowwServiceHelper helper;
+
+  @BeforeEach
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  void setUp() throws Exception {
+    CandleStoreHelper candleStoreHelper = new CandleStoreHelper();
+    ReflectionTestUtils.setField(candleStoreHelper, "candleRepo", candleRepo);
+    ReflectionTestUtils.setField(candleStoreHelper, "constants", new GrowwConstants());
+    when(candleRepo.findRanges(any(), anyLong(), anyLong())).thenReturn(List.of());
+
+    EndpointRegistry endpoints = mock(EndpointRegistry.class);
+    when(endpoints.url(GrowwEndpoint.HISTORIC_DATA)).thenReturn(HISTORIC_URL);
+    TokenManager tokenManager = mock(TokenManager.class);
+    when(tokenManager.headers()).thenReturn(new Header[0]);
+    // plain caches around the helper's own loaders, so the cached path for closed ranges is exercised
+    CacheRegistry cacheRegistry = mock(CacheRegistry.class);
+    when(cacheRegistry.loading(any(), any(), any())).thenAnswer(invocation -> {
+      Function loader = invocation.getArgument(1);
+      return Caffeine.newBuilder().build(loader::apply);
+    });
+
+    helper = new GrowwServiceHelper();
+    ReflectionTestUtils.setField(helper, "endpoints", endpoints);
+    ReflectionTestUtils.setField(helper, "restUtils", restUtils);
+    ReflectionTestUtils.setField(helper, "tokenManager", tokenManager);
+    ReflectionTestUtils.setField(helper, "metrics", mock(LatencyMetrics.class));
+    ReflectionTestUtils.setField(helper, "candleStoreHelper", candleStoreHelper);
+    ReflectionTestUtils.setField(helper, "cacheRegistry", cacheRegistry);
+    helper.initCaches();
+  }
+
+  @Test
+  void failedStatusLeavesTheRangeMissing() throws Exception {
+    respond(series("FAILURE", new HistoricDataSeriesResponse.Payload()));
+
+    assertNull(helper.fetchHistoricData(recentRequest()));
+
+    verifyNothingStored();
+  }
+
+  @Test
+  void missingPayloadLeavesTheRangeMissing() throws Exception {
+    respond(series("SUCCESS", null));
+
+    assertNull(helper.fetchHistoricData(recentRequest()));
+
+    verifyNothingStored();
+  }
+
+  @Test
+  void failedFetchOfAClosedRangeIsNotCached() throws Exception {
+    respond(series("FAILURE", null));
+    HistoricDataRequest request = closedRequest();
+
+    assertNull(helper.fetchHistoricData(request));
+    assertNull(helper.fetchHistoricData(request));
+
+    verifyNothingStored();
+    verify(restUtils, times(2)).restGetCall(eq(HISTORIC_URL), any(), any(), eq(HistoricDataSeriesResponse.class));
+  }
+
+  @Test
+  void successfulFetchRecordsTheRange() throws Exception {
+    HistoricDataSeriesResponse.Payload payload = new HistoricDataSeriesResponse.Payload();
+    payload.setCandles(new CandleSeries());
+    respond(series("SUCCESS", payload));
+    when(candleRepo.findCandles(any(), anyLong(), anyLong())).thenReturn(new CandleSeries());
+    HistoricDataRequest request = closedRequest();
+
+    assertNotNull(helper.fetchHistoricData(request));
+
+    verify(candleRepo).saveCandles(any(), eq(payload.getCandles()));
+    verify(candleRepo).saveRange(any(), eq(request.getStartTime()), eq(request.getEndTime()));
+  }
+
+  private void respond(HistoricDataSeriesResponse response) {
+    when(restUtils.restGetCall(eq(HISTORIC_URL), any(), any(), eq(HistoricDataSeriesResponse.class)))
+        .thenReturn(ResponseEntity.status(HttpStatus.OK).body(response));
+  }
+
+  private void verifyNothingStored() {
+    verify(candleRepo, never()).saveCandles(any(), any());
+    verify(candleRepo, never()).saveRange(any(), anyLong(), anyLong());
+  }
+
+  private static HistoricDataSeriesResponse series(String status, HistoricDataSeriesResponse.Payload payload) {
+    HistoricDataSeriesResponse response = new HistoricDataSeriesResponse();
+    response.setStatus(status);
+    response.setPayload(payload);
+    return response;
+  }
+
+  /**
+   * The last hour, still forming, so it is fetched without the candle cache
+   */
+  private static HistoricDataRequest recentRequest() {
+    long now = System.currentTimeMillis() / 1000;
+    return request(now - 3600, now);
+  }
+
+  /**
+   * A closed hour a day back, served through the candle cache
+   */
+  private static HistoricDataRequest closedRequest() {
+    long dayAgo = System.currentTimeMillis() / 1000 - 86400;
+    return request(dayAgo - 3600, dayAgo);
+  }
+
+  private static HistoricDataRequest request(long startTime, long endTime) {
+    HistoricDataRequest request = new HistoricDataRequest();
+    request.setExchange(Exchange.NSE);
+    request.setSegment(Segment.CASH);
+    request.setTradingSymbol("RELIANCE");
+    request.setInterval(CandleIntervals.ONE_MINUTE);
+    request.setStartTime(startTime);
+    request.setEndTime(endTime);
+    return request;
+  }
+}
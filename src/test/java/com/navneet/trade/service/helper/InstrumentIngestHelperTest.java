@@ -0,0 +1,137 @@
+package com.navneet.trade.service.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.navneet.trade.entity.IngestJob;
+import com.navneet.trade.entity.repo.IngestJobRepo;
+import com.navneet.trade.models.response.IngestResponse;
+import java.io.StringReader;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the staging COPY and the diff merge against a real PostgreSQL, the merge is plain SQL so
+ * there is nothing meaningful to mock. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class InstrumentIngestHelperTest {
+
+  private static final String HEADER = "exchange,exchange_token,trading_symbol,groww_symbol,name,"
+      + "instrument_type,segment,series,isin,underlying_symbol,underlying_exchange_token,expiry_date,"
+      + "strike_price,lot_size,tick_size,freeze_quantity,is_reserved,buy_allowed,sell_allowed,"
+      + "internal_trading_symbol,is_intraday\n";
+  private static final String RELIANCE = "NSE,2885,RELIANCE,NSE-RELIANCE,Reliance Industries,EQ,CASH,EQ,"
+      + "INE002A01018,,,,,1,0.1,,0,1,1,RELIANCE,1\n";
+  private static final String INFY = "NSE,1594,INFY,NSE-INFY,Infosys,EQ,CASH,EQ,INE009A01021,,,,,1,0.05,,0,1,1,INFY,1\n";
+  private static final String TCS = "NSE,11536,TCS,NSE-TCS,Tata Consultancy Services,EQ,CASH,EQ,"
+      + "INE467B01029,,,,,1,0.1,,0,1,1,TCS,1\n";
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  private static ExecutorService executor;
+  private static DataSource dataSource;
+
+  private JdbcTemplate jdbcTemplate;
+  private InstrumentIngestHelper helper;
+
+  @BeforeAll
+  static void createSchema() {
+    executor = Executors.newFixedThreadPool(2);
+    dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+  }
+
+  @AfterAll
+  static void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.update("DELETE FROM instruments");
+    helper = new InstrumentIngestHelper();
+    ReflectionTestUtils.setField(helper, "jdbcTemplate", jdbcTemplate);
+    ReflectionTestUtils.setField(helper, "transactionTemplate",
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    ReflectionTestUtils.setField(helper, "ingestJobRepo", mock(IngestJobRepo.class));
+    ReflectionTestUtils.setField(helper, "executor", executor);
+  }
+
+  @Test
+  void reIngestingTheSameFileChangesNoRows() throws Exception {
+    IngestResponse first = ingest(HEADER + RELIANCE + INFY + TCS);
+    assertEquals(3L, first.getRowsInserted());
+    List<String> versions = rowVersions();
+
+    IngestResponse second = ingest(HEADER + RELIANCE + INFY + TCS);
+
+    assertEquals(0L, second.getRowsInserted());
+    assertEquals(0L, second.getRowsUpdated());
+    assertEquals(0L, second.getRowsDelisted());
+    assertEquals(3L, second.getRowsUnchanged());
+    // xmin moves with every write, identical row versions prove nothing was rewritten
+    assertEquals(versions, rowVersions());
+  }
+
+  @Test
+  void changedRowIsUpdatedAndOthersAreLeftAlone() throws Exception {
+    ingest(HEADER + RELIANCE + INFY + TCS);
+    List<String> versions = rowVersions();
+
+    IngestResponse response = ingest(HEADER + RELIANCE + INFY.replace(",1,0.05,", ",1,0.1,") + TCS);
+
+    assertEquals(0L, response.getRowsInserted());
+    assertEquals(1L, response.getRowsUpdated());
+    assertEquals(2L, response.getRowsUnchanged());
+    assertEquals(0.1, jdbcTemplate.queryForObject(
+        "SELECT tick_size FROM instruments WHERE exchange_token = '1594'", Double.class));
+    List<String> after = rowVersions();
+    assertEquals(versions.get(0), after.get(0));
+    assertEquals(versions.get(2), after.get(2));
+  }
+
+  @Test
+  void instrumentsMissingFromTheFileAreDelisted() throws Exception {
+    ingest(HEADER + RELIANCE + INFY + TCS);
+
+    IngestResponse response = ingest(HEADER + RELIANCE + TCS);
+
+    assertEquals(1L, response.getRowsDelisted());
+    assertEquals(2L, response.getRowsUnchanged());
+    assertEquals(List.of("11536", "2885"), jdbcTemplate.queryForList(
+        "SELECT exchange_token FROM instruments ORDER BY exchange_token", String.class));
+  }
+
+  private IngestResponse ingest(String csv) throws Exception {
+    IngestJob job = new IngestJob(UUID.randomUUID().toString(), "test.csv", null, System.currentTimeMillis());
+    helper.stage(new StringReader(csv), job);
+    return helper.merge(job);
+  }
+
+  /**
+   * Row versions ordered by exchange token, which sorts as text: TCS, INFY, RELIANCE
+   */
+  private List<String> rowVersions() {
+    return jdbcTemplate.queryForList("SELECT xmin::text FROM instruments ORDER BY exchange_token", String.class);
+  }
+}
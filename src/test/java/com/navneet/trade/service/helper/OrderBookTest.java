@@ -0,0 +1,131 @@
+package com.navneet.trade.service.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.models.response.OrderListResponse;
+import com.navneet.trade.models.response.OrderListResponse.Order;
+import com.navneet.trade.models.response.OrderStatusResponse;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class OrderBookTest {
+
+  private final GrowwConstants constants = new GrowwConstants();
+  private OrderBook orderBook;
+
+  @BeforeEach
+  void setUp() {
+    orderBook = new OrderBook();
+    ReflectionTestUtils.setField(orderBook, "constants", constants);
+  }
+
+  @Test
+  void followsLegalTransitions() {
+    orderBook.recordStatus(status("GMK1", "OPEN_REF", "ACKED", null));
+    orderBook.recordStatus(status("GMK1", null, "EXECUTED", 10L));
+    orderBook.recordStatus(status("GMK1", null, "COMPLETED", null));
+
+    assertEquals("COMPLETED", orderBook.find("GMK1").getOrderStatus());
+    assertEquals(10L, orderBook.find("GMK1").getFilledQuantity());
+  }
+
+  @Test
+  void ignoresCancellationOfAnExecutedOrder() {
+    orderBook.recordStatus(status("GMK1", null, "EXECUTED", 10L));
+
+    orderBook.recordStatus(status("GMK1", null, "CANCELLED", null));
+
+    assertEquals("EXECUTED", orderBook.find("GMK1").getOrderStatus());
+  }
+
+  @Test
+  void ignoresAnOutOfOrderSnapshot() {
+    orderBook.reconcile(order("GMK1", "CANCELLED", 5L));
+
+    // a page fetched before the cancellation arrives afterwards
+    orderBook.reconcile(order("GMK1", "ACKED", 0L));
+
+    Order mirrored = orderBook.find("GMK1");
+    assertEquals("CANCELLED", mirrored.getOrderStatus());
+    assertEquals(5L, mirrored.getFilledQuantity());
+  }
+
+  @Test
+  void snapshotReplacesTheOrderAndKeepsItsReference() {
+    orderBook.recordStatus(status("GMK1", "Ab-12345", "ACKED", null));
+    assertNull(orderBook.findDetails("GMK1"));
+
+    orderBook.reconcile(OrderListResponse.builder()
+        .payload(OrderListResponse.Payload.builder()
+            .orderList(List.of(order("GMK1", "APPROVED", 0L).toBuilder().tradingSymbol("INFY").build()))
+            .build())
+        .build());
+
+    Order mirrored = orderBook.findDetails("GMK1");
+    assertNotNull(mirrored);
+    assertEquals("APPROVED", mirrored.getOrderStatus());
+    assertEquals("INFY", mirrored.getTradingSymbol());
+    assertEquals("Ab-12345", mirrored.getOrderReferenceId());
+    assertEquals("GMK1", orderBook.findByReference("Ab-12345").getGrowwOrderId());
+  }
+
+  @Test
+  void statusUpdateMergesIntoTheMirroredOrder() {
+    orderBook.reconcile(order("GMK1", "ACKED", 0L).toBuilder().tradingSymbol("INFY").remark("Order placed").build());
+
+    orderBook.recordStatus(status("GMK1", null, "EXECUTED", 10L));
+
+    Order mirrored = orderBook.findDetails("GMK1");
+    assertEquals("EXECUTED", mirrored.getOrderStatus());
+    assertEquals(10L, mirrored.getFilledQuantity());
+    assertEquals("INFY", mirrored.getTradingSymbol());
+    assertEquals("Order placed", mirrored.getRemark());
+  }
+
+  @Test
+  void servesOpenOrdersOnlyWhileFresh() {
+    orderBook.recordStatus(status("GMK1", null, "ACKED", null));
+    assertNotNull(orderBook.find("GMK1"));
+
+    // every confirmation is now older than the staleness window
+    constants.getOrderBook().setMaxStalenessMs(-1);
+
+    assertNull(orderBook.find("GMK1"));
+  }
+
+  @Test
+  void servesFinishedOrdersRegardlessOfStaleness() {
+    orderBook.recordStatus(status("GMK1", null, "REJECTED", null));
+    constants.getOrderBook().setMaxStalenessMs(-1);
+
+    assertEquals("REJECTED", orderBook.find("GMK1").getOrderStatus());
+  }
+
+  @Test
+  void servesNothingWhenDisabled() {
+    orderBook.recordStatus(status("GMK1", null, "REJECTED", null));
+    constants.getOrderBook().setEnabled(false);
+
+    assertNull(orderBook.find("GMK1"));
+  }
+
+  private static OrderStatusResponse status(String growwOrderId, String reference, String orderStatus, Long filled) {
+    return OrderStatusResponse.builder()
+        .payload(OrderStatusResponse.Payload.builder()
+            .growwOrderId(growwOrderId)
+            .orderReferenceId(reference)
+            .orderStatus(orderStatus)
+            .filledQuantity(filled)
+            .build())
+        .build();
+  }
+
+  private static Order order(String growwOrderId, String orderStatus, Long filled) {
+    return Order.builder().growwOrderId(growwOrderId).orderStatus(orderStatus).filledQuantity(filled).build();
+  }
+}
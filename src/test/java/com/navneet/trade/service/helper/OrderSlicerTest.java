@@ -0,0 +1,94 @@
+package com.navneet.trade.service.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.models.request.CreateOrderRequest;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class OrderSlicerTest {
+
+  private static final Instruments NIFTY_OPTION = Instruments.builder()
+      .tradingSymbol("NIFTY26JAN24000CE")
+      .lotSize(75)
+      .freezeQuantity(1800)
+      .build();
+
+  private final GrowwConstants constants = new GrowwConstants();
+  private OrderSlicer slicer;
+
+  @BeforeEach
+  void setUp() {
+    slicer = new OrderSlicer();
+    ReflectionTestUtils.setField(slicer, "constants", constants);
+  }
+
+  @Test
+  void keepsAnOrderWithinTheFreezeQuantityWhole() {
+    CreateOrderRequest order = order(1800);
+
+    List<CreateOrderRequest> children = slicer.slice(order, NIFTY_OPTION);
+
+    assertEquals(1, children.size());
+    assertSame(order, children.get(0));
+  }
+
+  @Test
+  void slicesIntoWholeLotsWithinTheFreezeQuantity() {
+    // 50 lots at 24 lots per order: 3 orders of 17, 17 and 16 lots
+    List<CreateOrderRequest> children = slicer.slice(order(3750), NIFTY_OPTION);
+
+    assertEquals(List.of(1275, 1275, 1200), quantities(children));
+    for (CreateOrderRequest child : children) {
+      assertEquals(0, child.getQuantity() % 75);
+      assertEquals("NIFTY26JAN24000CE", child.getTradingSymbol());
+    }
+  }
+
+  @Test
+  void leavesTheRemainderLotOnTheLastSlice() {
+    Instruments instrument = Instruments.builder().lotSize(50).freezeQuantity(100).build();
+
+    List<CreateOrderRequest> children = slicer.slice(order(250), instrument);
+
+    assertEquals(List.of(100, 100, 50), quantities(children));
+  }
+
+  @Test
+  void givesChildrenNumberedReferences() {
+    List<CreateOrderRequest> children = slicer.slice(order(3750), NIFTY_OPTION);
+
+    assertEquals(List.of("MCP-7K2QX09D1ZRA-1", "MCP-7K2QX09D1ZRA-2", "MCP-7K2QX09D1ZRA-3"),
+        children.stream().map(CreateOrderRequest::getOrderReferenceId).toList());
+  }
+
+  @Test
+  void refusesMoreSlicesThanAllowed() {
+    constants.getSlicing().setMaxSlices(3);
+
+    assertEquals(3, slicer.slice(order(1800 * 3), NIFTY_OPTION).size());
+    assertEquals(List.of(), slicer.slice(order(1800 * 3 + 75), NIFTY_OPTION));
+  }
+
+  @Test
+  void refusesAQuantityOffTheLotSize() {
+    assertEquals(List.of(), slicer.slice(order(3760), NIFTY_OPTION));
+  }
+
+  private static CreateOrderRequest order(int quantity) {
+    return CreateOrderRequest.builder()
+        .tradingSymbol("NIFTY26JAN24000CE")
+        .quantity(quantity)
+        .orderReferenceId("MCP-7K2QX09D1ZRA")
+        .build();
+  }
+
+  private static List<Integer> quantities(List<CreateOrderRequest> children) {
+    return children.stream().map(CreateOrderRequest::getQuantity).toList();
+  }
+}
@@ -0,0 +1,133 @@
+package com.navneet.trade.service.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.OrderType;
+import com.navneet.trade.constants.ProductType;
+import com.navneet.trade.constants.Segment;
+import com.navneet.trade.constants.TransactionType;
+import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.models.request.CreateOrderRequest;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PreTradeValidatorTest {
+
+  private static final String SYMBOL = "NIFTY26JAN24000CE";
+
+  private final GrowwConstants constants = new GrowwConstants();
+  private final GrowwServiceHelper growwServiceHelper = mock(GrowwServiceHelper.class);
+  private PreTradeValidator validator;
+
+  @BeforeEach
+  void setUp() {
+    validator = new PreTradeValidator();
+    ReflectionTestUtils.setField(validator, "growwServiceHelper", growwServiceHelper);
+    ReflectionTestUtils.setField(validator, "constants", constants);
+    when(growwServiceHelper.findInstrument(Exchange.NSE, Segment.FNO, SYMBOL)).thenReturn(Instruments.builder()
+        .exchange("NSE")
+        .segment("FNO")
+        .tradingSymbol(SYMBOL)
+        .lotSize(75)
+        .freezeQuantity(1800)
+        .tickSize(0.05)
+        .buyAllowed(1)
+        .sellAllowed(1)
+        .isIntraday(1)
+        .build());
+  }
+
+  @Test
+  void acceptsAValidOrder() {
+    assertEquals(List.of(), validator.validate(order().build()));
+  }
+
+  @Test
+  void rejectsAQuantityOffTheLotSize() {
+    assertEquals(List.of("Quantity 100 is not a multiple of the lot size 75"),
+        validator.validate(order().quantity(100).build()));
+  }
+
+  @Test
+  void rejectsAQuantityAboveTheFreezeQuantity() {
+    List<String> violations = validator.validate(order().quantity(1875).build());
+
+    assertEquals(1, violations.size());
+    assertTrue(violations.get(0).startsWith("Quantity 1875 exceeds the freeze quantity 1800"));
+    assertEquals(List.of(), validator.validate(order().quantity(1800).build()));
+  }
+
+  @Test
+  void acceptsAPriceExactlyOnTheTickGrid() {
+    assertEquals(List.of(), validator.validate(order().price(101.35).build()));
+  }
+
+  @Test
+  void rejectsAPriceOffTheTickGrid() {
+    assertEquals(List.of("Price 101.33 is not a multiple of the tick size 0.05"),
+        validator.validate(order().price(101.33).build()));
+  }
+
+  @Test
+  void checksTheTriggerPriceOfStopLossOrders() {
+    assertEquals(List.of("Trigger price 99.02 is not a multiple of the tick size 0.05"),
+        validator.validate(order().orderType(OrderType.SL).triggerPrice(99.02).build()));
+    assertEquals(List.of("Trigger price must be positive"),
+        validator.validate(order().orderType(OrderType.SL_M).price(null).build()));
+  }
+
+  @Test
+  void rejectsADisallowedSide() {
+    Instruments instrument = growwServiceHelper.findInstrument(Exchange.NSE, Segment.FNO, SYMBOL);
+    instrument.setSellAllowed(0);
+
+    assertEquals(List.of(), validator.validate(order().build()));
+    assertEquals(List.of("Selling " + SYMBOL + " is not allowed"),
+        validator.validate(order().transactionType(TransactionType.SELL).build()));
+  }
+
+  @Test
+  void rejectsMisForAnInstrumentThatIsNotIntraday() {
+    growwServiceHelper.findInstrument(Exchange.NSE, Segment.FNO, SYMBOL).setIsIntraday(0);
+
+    assertEquals(List.of(SYMBOL + " is not available for intraday (MIS) orders"),
+        validator.validate(order().product(ProductType.MIS).build()));
+    assertEquals(List.of(), validator.validate(order().build()));
+  }
+
+  @Test
+  void rejectsAnUnknownInstrument() {
+    CreateOrderRequest unknown = order().tradingSymbol("UNKNOWN").build();
+
+    assertEquals(List.of("Unknown instrument NSE FNO UNKNOWN"), validator.validate(unknown));
+
+    constants.getPreTrade().setRejectUnknownInstruments(false);
+    assertEquals(List.of(), validator.validate(unknown));
+  }
+
+  @Test
+  void skipsAllChecksWhenDisabled() {
+    constants.getPreTrade().setEnabled(false);
+
+    assertEquals(List.of(), validator.validate(order().quantity(1).price(101.33).build()));
+  }
+
+  private static CreateOrderRequest.CreateOrderRequestBuilder order() {
+    return CreateOrderRequest.builder()
+        .tradingSymbol(SYMBOL)
+        .exchange(Exchange.NSE)
+        .segment(Segment.FNO)
+        .transactionType(TransactionType.BUY)
+        .orderType(OrderType.LIMIT)
+        .product(ProductType.NRML)
+        .quantity(150)
+        .price(101.35);
+  }
+}
@@ -0,0 +1,178 @@
+package com.navneet.trade.service.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.models.request.TokenRequest;
+import com.navneet.trade.models.response.TokenResponse;
+import com.navneet.trade.utils.EndpointRegistry;
+import com.navneet.trade.utils.GrowwUtils;
+import com.navneet.trade.utils.RestUtils;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.core5.http.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TokenManagerTest {
+
+  private static final String TOKEN_URL = "https://api.groww.in/v1/token/api/access";
+
+  private final GrowwConstants constants = new GrowwConstants();
+  private final RestUtils restUtils = mock(RestUtils.class);
+  private final AtomicInteger generated = new AtomicInteger();
+  private TokenManager tokenManager;
+
+  @BeforeEach
+  void setUp() {
+    GrowwUtils utils = mock(GrowwUtils.class);
+    when(utils.generateTokenRequest()).thenReturn(TokenRequest.builder().build());
+    EndpointRegistry endpoints = mock(EndpointRegistry.class);
+    when(endpoints.url(GrowwEndpoint.TOKEN)).thenReturn(TOKEN_URL);
+
+    tokenManager = new TokenManager();
+    ReflectionTestUtils.setField(tokenManager, "constants", constants);
+    ReflectionTestUtils.setField(tokenManager, "utils", utils);
+    ReflectionTestUtils.setField(tokenManager, "restUtils", restUtils);
+    ReflectionTestUtils.setField(tokenManager, "endpoints", endpoints);
+  }
+
+  @Test
+  void concurrentCallersDuringARefreshShareOneGeneration() throws Exception {
+    CountDownLatch generating = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(restUtils.restPostCall(eq(TOKEN_URL), any(), isNull(), any(), eq(TokenResponse.class)))
+        .thenAnswer(invocation -> {
+          generating.countDown();
+          release.await(5, TimeUnit.SECONDS);
+          return issue(epochSeconds(3600));
+        });
+
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Header[]>> results = new ArrayList<>();
+      results.add(callers.submit(tokenManager::headers));
+      assertTrue(generating.await(5, TimeUnit.SECONDS));
+      for (int i = 0; i < 7; i++) {
+        results.add(callers.submit(tokenManager::headers));
+      }
+      // let the waiting callers reach the in-flight generation before it completes
+      Thread.sleep(100);
+      release.countDown();
+
+      Header[] first = results.get(0).get(5, TimeUnit.SECONDS);
+      for (Future<Header[]> result : results) {
+        assertSame(first, result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+    assertEquals(1, generated.get());
+    verify(restUtils, times(1)).restPostCall(eq(TOKEN_URL), any(), isNull(), any(), eq(TokenResponse.class));
+  }
+
+  @Test
+  void validTokenIsReusedUntilItExpires() {
+    when(restUtils.restPostCall(eq(TOKEN_URL), any(), isNull(), any(), eq(TokenResponse.class)))
+        .thenAnswer(invocation -> issue(epochSeconds(3600)));
+
+    Header[] headers = tokenManager.headers();
+
+    assertSame(headers, tokenManager.headers());
+    assertSame(headers, tokenManager.currentHeaders());
+    assertEquals(1, generated.get());
+  }
+
+  @Test
+  void tokenAtItsExpiryIsRegenerated() {
+    // a token whose expiry has been reached is no longer valid, the check is strictly before expiry
+    when(restUtils.restPostCall(eq(TOKEN_URL), any(), isNull(), any(), eq(TokenResponse.class)))
+        .thenAnswer(invocation -> issue(Long.toString(System.currentTimeMillis())));
+
+    Header[] headers = tokenManager.headers();
+
+    assertNull(tokenManager.currentHeaders());
+    assertNotSame(headers, tokenManager.headers());
+    assertEquals(2, generated.get());
+  }
+
+  @Test
+  void refreshesOnlyWithinTheRefreshAheadWindow() {
+    constants.getToken().setRefreshAheadSeconds(300);
+    when(restUtils.restPostCall(eq(TOKEN_URL), any(), isNull(), any(), eq(TokenResponse.class)))
+        .thenAnswer(invocation -> issue(epochSeconds(generated.get() == 0 ? 600 : 3600)));
+
+    tokenManager.refreshAhead();
+    assertEquals(0, generated.get());
+
+    tokenManager.headers();
+    tokenManager.refreshAhead();
+    assertEquals(1, generated.get());
+
+    constants.getToken().setRefreshAheadSeconds(900);
+    tokenManager.refreshAhead();
+    assertEquals(2, generated.get());
+    tokenManager.refreshAhead();
+    assertEquals(2, generated.get());
+  }
+
+  @Test
+  void parsesTokenExpiryFormats() {
+    long tenAm = LocalDateTime.of(2026, 1, 5, 10, 0).atZone(ZoneId.of("Asia/Kolkata")).toInstant().toEpochMilli();
+
+    assertEquals(tenAm, expiresAtMillis("2026-01-05T10:00:00+05:30"));
+    assertEquals(tenAm, expiresAtMillis("2026-01-05T04:30:00Z"));
+    assertEquals(tenAm, expiresAtMillis("2026-01-05T10:00:00"));
+    assertEquals(tenAm, expiresAtMillis(Long.toString(tenAm / 1000)));
+    assertEquals(tenAm, expiresAtMillis(Long.toString(tenAm)));
+  }
+
+  @Test
+  void fallsBackToTheConfiguredTtl() {
+    constants.getToken().setFallbackTtlMinutes(60);
+    long before = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(60);
+
+    for (String expiry : new String[] {null, " ", "tomorrow"}) {
+      long expiresAt = expiresAtMillis(expiry);
+      assertTrue(expiresAt >= before && expiresAt <= System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(60));
+    }
+  }
+
+  private ResponseEntity<TokenResponse> issue(String expiry) {
+    int number = generated.incrementAndGet();
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(TokenResponse.builder().token("token-" + number).expiry(expiry).build());
+  }
+
+  private static String epochSeconds(long fromNowSeconds) {
+    return Long.toString(System.currentTimeMillis() / 1000 + fromNowSeconds);
+  }
+
+  private long expiresAtMillis(String expiry) {
+    Long expiresAt = ReflectionTestUtils.invokeMethod(tokenManager, "expiresAtMillis", expiry);
+    return expiresAt;
+  }
+}
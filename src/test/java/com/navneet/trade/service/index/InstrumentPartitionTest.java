@@ -0,0 +1,54 @@
+package com.navneet.trade.service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navneet.trade.entity.Instruments;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InstrumentPartitionTest {
+
+  private static final InstrumentPartition PARTITION = InstrumentPartition.build(List.of(
+      instrument("RELIANCE", "RELIANCE INDUSTRIES", "EQ"),
+      instrument("RELINFRA", "RELIANCE INFRASTRUCTURE", "EQ"),
+      instrument("HDFCBANK", "HDFC BANK", "EQ"),
+      instrument("TCS", "TATA CONSULTANCY SERVICES", "EQ"),
+      instrument("NIFTYBEES", "NIPPON INDIA ETF NIFTY BEES", "ETF")));
+
+  @Test
+  void ranksTheExactSymbolFirst() {
+    List<RankedInstrument> results = PARTITION.rank("reliance", null, 10, 0);
+
+    assertEquals("RELIANCE", results.get(0).instrument().getTradingSymbol());
+    assertEquals(InstrumentScorer.EXACT_SYMBOL, results.get(0).score());
+    assertEquals("RELINFRA", results.get(1).instrument().getTradingSymbol());
+  }
+
+  @Test
+  void findsSymbolsDespiteATypo() {
+    List<RankedInstrument> results = PARTITION.rank("RELAINCE", null, 10, 0);
+
+    assertEquals("RELIANCE", results.get(0).instrument().getTradingSymbol());
+    assertEquals(InstrumentScorer.FUZZY, results.get(0).score());
+  }
+
+  @Test
+  void appliesTheFilterLimitAndMinimumScore() {
+    assertEquals(1, PARTITION.rank("RELIANCE", null, 1, 0).size());
+    assertTrue(PARTITION.rank("NI", instrument -> "EQ".equals(instrument.getInstrumentType()), 10, 0)
+        .stream().noneMatch(result -> "NIFTYBEES".equals(result.instrument().getTradingSymbol())));
+    assertTrue(PARTITION.rank("RELAINCE", null, 10, 60).isEmpty());
+  }
+
+  @Test
+  void findsInstrumentsByExactSymbol() {
+    assertEquals("HDFC BANK", PARTITION.findBySymbol("HDFCBANK").getName());
+    assertNull(PARTITION.findBySymbol("hdfcbank"));
+  }
+
+  private static Instruments instrument(String symbol, String name, String type) {
+    return Instruments.builder().tradingSymbol(symbol).name(name).instrumentType(type).build();
+  }
+}
@@ -0,0 +1,57 @@
+package com.navneet.trade.service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class InstrumentScorerTest {
+
+  @Test
+  void countsAnAdjacentTranspositionAsOneEdit() {
+    assertEquals(1, InstrumentScorer.distance("RELAINCE", "RELIANCE", 0, 8, 2));
+    assertEquals(1, InstrumentScorer.distance("TSC", "TCS", 0, 3, 1));
+  }
+
+  @Test
+  void countsSubstitutionsInsertionsAndDeletions() {
+    assertEquals(1, InstrumentScorer.distance("INFI", "INFY", 0, 4, 2));
+    assertEquals(1, InstrumentScorer.distance("WIPR", "WIPRO", 0, 5, 2));
+    assertEquals(2, InstrumentScorer.distance("HDFCBNK", "HDFCBANKX", 0, 9, 2));
+  }
+
+  @Test
+  void givesUpBeyondTheMaximum() {
+    assertEquals(3, InstrumentScorer.distance("ABCDEF", "UVWXYZ", 0, 6, 2));
+    // length difference alone exceeds the maximum
+    assertEquals(2, InstrumentScorer.distance("TCS", "TCSLTD", 0, 6, 1));
+  }
+
+  @Test
+  void measuresAgainstARegionOfTheText() {
+    assertEquals(0, InstrumentScorer.distance("BANK", "HDFC BANK", 5, 9, 1));
+  }
+
+  @Test
+  void ranksMatchKindsInOrder() {
+    double exactSymbol = InstrumentScorer.score("TCS", "TATA CONSULTANCY", "TCS", 0);
+    double exactName = InstrumentScorer.score("INFOSYS", "INFOSYS", "INFY", 1);
+    double symbolPrefix = InstrumentScorer.score("RELI", "RELIANCE INDUSTRIES", "RELIANCE", 1);
+    double token = InstrumentScorer.score("BANK", "HDFC BANK", "HDFCBANK", 1);
+    double fuzzy = InstrumentScorer.score("RELAINCE", "RELIANCE INDUSTRIES", "RELIANCE", 2);
+
+    assertEquals(InstrumentScorer.EXACT_SYMBOL, exactSymbol);
+    assertEquals(InstrumentScorer.EXACT_NAME, exactName);
+    assertTrue(symbolPrefix < InstrumentScorer.SYMBOL_PREFIX && symbolPrefix > InstrumentScorer.NAME_PREFIX);
+    assertEquals(InstrumentScorer.TOKEN, token);
+    assertEquals(InstrumentScorer.FUZZY, fuzzy);
+    assertEquals(0, InstrumentScorer.score("XYZW", "RELIANCE INDUSTRIES", "RELIANCE", 1));
+  }
+
+  @Test
+  void toleratesMoreTyposInLongerQueries() {
+    assertEquals(0, InstrumentScorer.maxEdits(3));
+    assertEquals(1, InstrumentScorer.maxEdits(4));
+    assertEquals(2, InstrumentScorer.maxEdits(8));
+  }
+}
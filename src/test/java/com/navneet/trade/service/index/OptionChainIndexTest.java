@@ -0,0 +1,81 @@
+package com.navneet.trade.service.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.entity.Instruments;
+import com.navneet.trade.service.index.OptionChainIndex.ChainRow;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OptionChainIndexTest {
+
+  private static final OptionChainIndex INDEX = OptionChainIndex.build(Map.of(Exchange.NSE, options()));
+
+  @Test
+  void picksTheFirstExpiryOnOrAfterToday() {
+    assertEquals("2026-01-27", INDEX.nearestExpiry(Exchange.NSE, "nifty", LocalDate.of(2026, 1, 21)));
+    assertEquals("2026-01-27", INDEX.nearestExpiry(Exchange.NSE, "NIFTY", LocalDate.of(2026, 1, 27)));
+    assertEquals("2026-02-24", INDEX.nearestExpiry(Exchange.NSE, "NIFTY", LocalDate.of(2026, 1, 28)));
+  }
+
+  @Test
+  void fallsBackToTheLatestExpiryOnceAllHavePassed() {
+    assertEquals("2026-02-24", INDEX.nearestExpiry(Exchange.NSE, "NIFTY", LocalDate.of(2026, 3, 1)));
+    assertNull(INDEX.nearestExpiry(Exchange.NSE, "BANKNIFTY", LocalDate.of(2026, 1, 21)));
+    assertNull(INDEX.nearestExpiry(Exchange.BSE, "NIFTY", LocalDate.of(2026, 1, 21)));
+  }
+
+  @Test
+  void centresTheStrikeWindowOnTheStrikeNearestToSpot() {
+    List<ChainRow> rows = INDEX.chain(Exchange.NSE, "NIFTY", "2026-01-27", 24040.0, 2);
+
+    assertArrayEquals(new double[] {23950, 24000, 24050, 24100, 24150}, strikes(rows));
+    assertTrue(rows.get(2).atm());
+    assertEquals("NIFTY26JAN24050CE", rows.get(2).call().getTradingSymbol());
+    assertEquals("NIFTY26JAN24050PE", rows.get(2).put().getTradingSymbol());
+  }
+
+  @Test
+  void clipsTheWindowAtTheEndsOfTheChain() {
+    assertArrayEquals(new double[] {23800, 23850, 23900}, strikes(INDEX.chain(Exchange.NSE, "NIFTY", "2026-01-27", 1000.0, 2)));
+    assertArrayEquals(new double[] {24100, 24150, 24200}, strikes(INDEX.chain(Exchange.NSE, "NIFTY", "2026-01-27", 99999.0, 2)));
+    // without a spot price the middle strike is at the money
+    assertEquals(24000, INDEX.chain(Exchange.NSE, "NIFTY", "2026-01-27", null, 0).get(0).strike());
+    assertTrue(INDEX.chain(Exchange.NSE, "NIFTY", "2026-03-31", 24000.0, 2).isEmpty());
+  }
+
+  private static double[] strikes(List<ChainRow> rows) {
+    return rows.stream().mapToDouble(ChainRow::strike).toArray();
+  }
+
+  private static List<Instruments> options() {
+    List<Instruments> options = new ArrayList<>();
+    for (double strike = 23800; strike <= 24200; strike += 50) {
+      for (String type : new String[] {"CE", "PE"}) {
+        options.add(option("2026-01-27", "NIFTY26JAN" + (int) strike + type, strike, type));
+      }
+    }
+    options.add(option("2026-02-24", "NIFTY26FEB24000CE", 24000, "CE"));
+    // futures carry no strike and are not part of the chain
+    options.add(Instruments.builder().underlyingSymbol("NIFTY").expiryDate("2026-01-27")
+        .tradingSymbol("NIFTY26JANFUT").instrumentType("FUT").build());
+    return options;
+  }
+
+  private static Instruments option(String expiry, String symbol, double strike, String type) {
+    return Instruments.builder()
+        .underlyingSymbol("NIFTY")
+        .expiryDate(expiry)
+        .tradingSymbol(symbol)
+        .strikePrice(strike)
+        .instrumentType(type)
+        .build();
+  }
+}
@@ -0,0 +1,53 @@
+package com.navneet.trade.service.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+  @Test
+  void keepsOnlyTheBestEntriesBestFirst() {
+    TopK top = new TopK(3);
+    top.offer(0, 10);
+    top.offer(1, 50);
+    top.offer(2, 30);
+    top.offer(3, 90);
+    top.offer(4, 20);
+
+    int[] rows = new int[3];
+    double[] scores = new double[3];
+    assertEquals(3, top.drain(rows, scores));
+    assertArrayEquals(new int[] {3, 1, 2}, rows);
+    assertArrayEquals(new double[] {90, 50, 30}, scores);
+    assertEquals(0, top.size());
+  }
+
+  @Test
+  void breaksTiesByMasterFileOrder() {
+    TopK top = new TopK(2);
+    top.offer(5, 60);
+    top.offer(2, 60);
+    // equal score but later in the master file than both retained rows
+    top.offer(7, 60);
+    top.offer(1, 60);
+
+    int[] rows = new int[2];
+    double[] scores = new double[2];
+    top.drain(rows, scores);
+    assertArrayEquals(new int[] {1, 2}, rows);
+  }
+
+  @Test
+  void drainsAPartiallyFilledHeap() {
+    TopK top = new TopK(10);
+    top.offer(4, 1);
+    top.offer(8, 3);
+
+    int[] rows = new int[top.size()];
+    double[] scores = new double[top.size()];
+    assertEquals(2, top.drain(rows, scores));
+    assertArrayEquals(new int[] {8, 4}, rows);
+  }
+}
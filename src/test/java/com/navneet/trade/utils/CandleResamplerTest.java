@@ -0,0 +1,59 @@
+package com.navneet.trade.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.navneet.trade.constants.CandleIntervals;
+import com.navneet.trade.constants.Exchange;
+import com.navneet.trade.models.response.CandleSeries;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class CandleResamplerTest {
+
+  private static final ZoneOffset IST = ZoneOffset.ofHoursMinutes(5, 30);
+
+  @Test
+  void resamplesMinuteCandlesIntoSessionAlignedBuckets() {
+    long open = LocalDateTime.of(2026, 1, 5, 9, 15).toEpochSecond(IST);
+    CandleSeries minutes = new CandleSeries();
+    for (int i = 0; i < 10; i++) {
+      minutes.add(open + i * 60L, 100 + i, 105 + i, 95 - i, 101 + i, 10);
+    }
+
+    CandleSeries fiveMinutes = CandleResampler.resample(minutes, CandleIntervals.FIVE_MINUTES, Exchange.NSE);
+
+    assertEquals(2, fiveMinutes.getSize());
+    assertArrayEquals(new long[] {open, open + 300}, fiveMinutes.getTimestamps());
+    assertArrayEquals(new double[] {100, 105}, fiveMinutes.getOpen());
+    assertArrayEquals(new double[] {109, 114}, fiveMinutes.getHigh());
+    assertArrayEquals(new double[] {91, 86}, fiveMinutes.getLow());
+    assertArrayEquals(new double[] {105, 110}, fiveMinutes.getClose());
+    assertArrayEquals(new long[] {50, 50}, fiveMinutes.getVolume());
+  }
+
+  @Test
+  void alignsHourlyBucketsToSessionOpen() {
+    long tenFifteen = LocalDateTime.of(2026, 1, 5, 10, 15).toEpochSecond(IST);
+    long tenFourteen = tenFifteen - 60;
+
+    assertEquals(tenFifteen - 3600,
+        CandleResampler.bucketStart(tenFourteen, 60, Exchange.NSE.getSessionOpen().toSecondOfDay()));
+    assertEquals(tenFifteen,
+        CandleResampler.bucketStart(tenFifteen, 60, Exchange.NSE.getSessionOpen().toSecondOfDay()));
+  }
+
+  @Test
+  void alignsDailyWeeklyAndMonthlyBucketsToIstCalendar() {
+    long wednesdayAfternoon = LocalDateTime.of(2026, 1, 7, 14, 0).toEpochSecond(IST);
+    int sessionOpen = Exchange.MCX.getSessionOpen().toSecondOfDay();
+
+    assertEquals(LocalDateTime.of(2026, 1, 7, 0, 0).toEpochSecond(IST),
+        CandleResampler.bucketStart(wednesdayAfternoon, CandleIntervals.ONE_DAY.getMinutes(), sessionOpen));
+    assertEquals(LocalDateTime.of(2026, 1, 5, 0, 0).toEpochSecond(IST),
+        CandleResampler.bucketStart(wednesdayAfternoon, CandleIntervals.ONE_WEEK.getMinutes(), sessionOpen));
+    assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0).toEpochSecond(IST),
+        CandleResampler.bucketStart(wednesdayAfternoon, CandleIntervals.ONE_MONTH.getMinutes(), sessionOpen));
+  }
+}
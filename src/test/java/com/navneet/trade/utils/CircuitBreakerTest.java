@@ -0,0 +1,99 @@
+package com.navneet.trade.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navneet.trade.utils.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  @Test
+  void opensAfterConsecutiveFailures() {
+    CircuitBreaker breaker = new CircuitBreaker(3, 60_000);
+
+    assertFalse(breaker.onFailure());
+    assertFalse(breaker.onFailure());
+    assertEquals(State.CLOSED, breaker.state());
+    assertTrue(breaker.onFailure());
+
+    assertEquals(State.OPEN, breaker.state());
+    assertFalse(breaker.allowRequest());
+  }
+
+  @Test
+  void successResetsTheFailureCount() {
+    CircuitBreaker breaker = new CircuitBreaker(2, 60_000);
+
+    breaker.onFailure();
+    breaker.onSuccess();
+    assertFalse(breaker.onFailure());
+
+    assertEquals(State.CLOSED, breaker.state());
+    assertTrue(breaker.allowRequest());
+  }
+
+  @Test
+  void letsASingleProbeThroughAfterTheOpenPeriod() {
+    CircuitBreaker breaker = openBreaker();
+
+    assertTrue(breaker.allowRequest());
+    assertEquals(State.HALF_OPEN, breaker.state());
+    assertFalse(breaker.allowRequest());
+  }
+
+  @Test
+  void successfulProbeClosesTheCircuit() {
+    CircuitBreaker breaker = openBreaker();
+    breaker.allowRequest();
+
+    breaker.onSuccess();
+
+    assertEquals(State.CLOSED, breaker.state());
+    assertTrue(breaker.allowRequest());
+    assertTrue(breaker.allowRequest());
+  }
+
+  @Test
+  void failedProbeReopensTheCircuit() {
+    CircuitBreaker breaker = openBreaker();
+    breaker.allowRequest();
+
+    assertTrue(breaker.onFailure());
+
+    assertEquals(State.OPEN, breaker.state());
+  }
+
+  @Test
+  void staysOpenDuringTheOpenPeriod() {
+    CircuitBreaker breaker = new CircuitBreaker(1, 60_000);
+    breaker.onFailure();
+
+    assertFalse(breaker.allowRequest());
+    assertFalse(breaker.allowRequest());
+    assertEquals(State.OPEN, breaker.state());
+  }
+
+  @Test
+  void releasedProbeLetsTheNextCallProbe() {
+    CircuitBreaker breaker = openBreaker();
+    assertTrue(breaker.allowRequest());
+
+    breaker.release();
+
+    assertEquals(State.HALF_OPEN, breaker.state());
+    assertTrue(breaker.allowRequest());
+    assertFalse(breaker.allowRequest());
+  }
+
+  /**
+   * Breaker opened by one failure with a zero open period, so the next call is the probe
+   */
+  private static CircuitBreaker openBreaker() {
+    CircuitBreaker breaker = new CircuitBreaker(1, 0);
+    assertTrue(breaker.onFailure());
+    assertEquals(State.OPEN, breaker.state());
+    return breaker;
+  }
+}
@@ -0,0 +1,54 @@
+package com.navneet.trade.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class GrowwRateLimiterTest {
+
+  private final GrowwConstants constants = new GrowwConstants();
+  private GrowwRateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    constants.getRateLimit().setReadMaxWaitMs(50);
+    constants.getRateLimit().setOrderMaxWaitMs(50);
+    constants.getRateLimit().setNonTrading(new GrowwConstants.Quota(2, 2));
+    constants.getRateLimit().setOrders(new GrowwConstants.Quota(1, 1));
+    rateLimiter = new GrowwRateLimiter();
+    ReflectionTestUtils.setField(rateLimiter, "constants", constants);
+    ReflectionTestUtils.setField(rateLimiter, "registry", new SimpleMeterRegistry());
+    rateLimiter.init();
+  }
+
+  @Test
+  void orderReadsExhaustingTheirQuotaLeaveOrderPlacementAPermit() {
+    assertTrue(rateLimiter.acquire(GrowwEndpoint.ORDER_STATUS));
+    assertTrue(rateLimiter.acquire(GrowwEndpoint.ORDER_DETAILS));
+    assertFalse(rateLimiter.acquire(GrowwEndpoint.ORDER_TRADES));
+
+    assertTrue(rateLimiter.acquire(GrowwEndpoint.CREATE_ORDER));
+    assertFalse(rateLimiter.tryAcquire(GrowwEndpoint.CANCEL_ORDER));
+  }
+
+  @Test
+  void brokerThrottlingBacksOffOnlyItsCategory() {
+    rateLimiter.throttled(GrowwEndpoint.HOLDINGS);
+
+    assertFalse(rateLimiter.tryAcquire(GrowwEndpoint.POSITIONS));
+    assertTrue(rateLimiter.tryAcquire(GrowwEndpoint.MODIFY_ORDER));
+  }
+
+  @Test
+  void tokenCallsAreNotLimited() {
+    for (int i = 0; i < 10; i++) {
+      assertTrue(rateLimiter.acquire(GrowwEndpoint.TOKEN));
+    }
+  }
+}
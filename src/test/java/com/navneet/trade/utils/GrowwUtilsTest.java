@@ -0,0 +1,67 @@
+package com.navneet.trade.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class GrowwUtilsTest {
+
+  @Test
+  void appendsTheChildNumberToAParentThatFits() {
+    assertEquals("MCP-7K2QX09D1ZRA-1", GrowwUtils.childReferenceId("MCP-7K2QX09D1ZRA", 1));
+    assertEquals("MCP-7K2QX09D1ZRA-12", GrowwUtils.childReferenceId("MCP-7K2QX09D1ZRA", 12));
+  }
+
+  @Test
+  void padsAShortParentToTheMinimumLength() {
+    String child = GrowwUtils.childReferenceId("AB", 1);
+
+    assertEquals(8, child.length());
+    assertTrue(child.startsWith("AB"));
+    assertTrue(child.endsWith("-1"));
+    assertEquals(child, GrowwUtils.childReferenceId("AB", 1));
+  }
+
+  @Test
+  void keepsChildrenOfLongParentsWithACommonPrefixApart() {
+    String first = GrowwUtils.childReferenceId("ORDER-2026-01-05-000001", 1);
+    String second = GrowwUtils.childReferenceId("ORDER-2026-01-05-000002", 1);
+
+    assertNotEquals(first, second);
+    assertValid(first);
+    assertValid(second);
+  }
+
+  @Test
+  void derivesDistinctValidReferencesForEveryChild() {
+    for (String parent : List.of("A", "Ab-1", "MCP-7K2QX09D1ZRA", "Ab-654321234-1628190", "ABCDEFGHIJKLMNOPQRST")) {
+      Set<String> children = new HashSet<>();
+      for (int number = 1; number <= 100; number++) {
+        String child = GrowwUtils.childReferenceId(parent, number);
+        assertValid(child);
+        assertTrue(children.add(child), parent + " child " + number);
+      }
+    }
+  }
+
+  @Test
+  void generatedReferencesAreValid() {
+    for (int i = 0; i < 100; i++) {
+      assertValid(GrowwUtils.generateOrderReferenceId());
+    }
+  }
+
+  /**
+   * Groww accepts 8 to 20 alphanumeric characters with at most two hyphens
+   */
+  private static void assertValid(String reference) {
+    assertTrue(reference.length() >= 8 && reference.length() <= 20, reference);
+    assertTrue(reference.matches("[A-Za-z0-9-]+"), reference);
+    assertTrue(reference.chars().filter(c -> c == '-').count() <= 2, reference);
+  }
+}
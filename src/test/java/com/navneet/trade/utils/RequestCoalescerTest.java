@@ -0,0 +1,73 @@
+package com.navneet.trade.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RequestCoalescerTest {
+
+  private static final Map<String, String> CASH = Map.of("segment", "CASH");
+
+  private final AtomicInteger calls = new AtomicInteger();
+  private RequestCoalescer coalescer;
+
+  @BeforeEach
+  void setUp() {
+    GrowwConstants constants = new GrowwConstants();
+    constants.getCoalescing().getTtlMs().put(GrowwEndpoint.ORDER_STATUS, 60_000L);
+    constants.getCoalescing().getTtlMs().put(GrowwEndpoint.ORDER_DETAILS, 60_000L);
+    coalescer = new RequestCoalescer();
+    ReflectionTestUtils.setField(coalescer, "constants", constants);
+    ReflectionTestUtils.setField(coalescer, "registry", new SimpleMeterRegistry());
+  }
+
+  @Test
+  void identicalCallsWithinTheTtlShareOneResponse() {
+    String first = status("GMK1");
+
+    assertEquals(first, coalescer.coalesce(GrowwEndpoint.ORDER_STATUS, "GMK1", Map.of("segment", "CASH"),
+        this::respond));
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void evictedOrderIsReadAgain() {
+    status("GMK1");
+
+    coalescer.evict(GrowwEndpoint.ORDER_STATUS, "GMK1");
+    String second = status("GMK1");
+
+    assertEquals("response-2", second);
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void evictionIsScopedToTheEndpointAndOrder() {
+    status("GMK1");
+    status("GMK12");
+    coalescer.coalesce(GrowwEndpoint.ORDER_DETAILS, "GMK1", CASH, this::respond);
+
+    coalescer.evict(GrowwEndpoint.ORDER_STATUS, "GMK1");
+
+    status("GMK12");
+    coalescer.coalesce(GrowwEndpoint.ORDER_DETAILS, "GMK1", CASH, this::respond);
+    assertEquals(3, calls.get());
+    status("GMK1");
+    assertEquals(4, calls.get());
+  }
+
+  private String status(String orderId) {
+    return coalescer.coalesce(GrowwEndpoint.ORDER_STATUS, orderId, CASH, this::respond);
+  }
+
+  private String respond() {
+    return "response-" + calls.incrementAndGet();
+  }
+}
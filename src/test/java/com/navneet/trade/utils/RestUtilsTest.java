@@ -0,0 +1,127 @@
+package com.navneet.trade.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.navneet.trade.constants.GrowwConstants;
+import com.navneet.trade.constants.GrowwEndpoint;
+import com.navneet.trade.models.request.CreateOrderRequest;
+import com.navneet.trade.models.response.CreateOrderResponse;
+import com.navneet.trade.utils.RestUtils.Attempt;
+import com.navneet.trade.utils.RestUtils.RetryMode;
+import java.util.List;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RestUtilsTest {
+
+  private static final String CREATE_URL = "https://api.groww.in/v1/order/create";
+
+  private final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+  private RestUtils restUtils;
+
+  @BeforeEach
+  void setUp() {
+    GrowwResilience resilience = mock(GrowwResilience.class);
+    when(resilience.allowRequest(any())).thenReturn(true);
+    when(resilience.maxAttempts()).thenReturn(3);
+    when(resilience.backoffMillis(anyInt(), any())).thenReturn(0L);
+    GrowwRateLimiter rateLimiter = mock(GrowwRateLimiter.class);
+    when(rateLimiter.acquire(any())).thenReturn(true);
+    EndpointRegistry endpoints = mock(EndpointRegistry.class);
+    when(endpoints.endpointOf(CREATE_URL)).thenReturn(GrowwEndpoint.CREATE_ORDER);
+
+    restUtils = new RestUtils();
+    ReflectionTestUtils.setField(restUtils, "httpClient", httpClient);
+    ReflectionTestUtils.setField(restUtils, "constants", new GrowwConstants());
+    ReflectionTestUtils.setField(restUtils, "endpoints", endpoints);
+    ReflectionTestUtils.setField(restUtils, "metrics", mock(LatencyMetrics.class));
+    ReflectionTestUtils.setField(restUtils, "rateLimiter", rateLimiter);
+    ReflectionTestUtils.setField(restUtils, "resilience", resilience);
+  }
+
+  @Test
+  void retriesOnlyThrottlingAndGatewayStatuses() {
+    for (int code : List.of(429, 502, 503, 504)) {
+      assertTrue(attempt(code).retryable(RetryMode.IDEMPOTENT), "status " + code);
+    }
+    for (int code : List.of(200, 400, 401, 404, 409, 500, 501)) {
+      assertFalse(attempt(code).retryable(RetryMode.IDEMPOTENT), "status " + code);
+    }
+  }
+
+  @Test
+  void retriesIoErrorsOfNonIdempotentCallsOnlyWhenUnsent() {
+    Attempt<String> unsent = new Attempt<>(ResponseEntity.status(500).build(), "IO_ERROR", false);
+    Attempt<String> sent = new Attempt<>(ResponseEntity.status(500).build(), "IO_ERROR", true);
+
+    assertTrue(unsent.retryable(RetryMode.UNSENT_ONLY));
+    assertFalse(sent.retryable(RetryMode.UNSENT_ONLY));
+    assertFalse(attempt(503).retryable(RetryMode.UNSENT_ONLY));
+    assertTrue(sent.retryable(RetryMode.IDEMPOTENT));
+  }
+
+  @Test
+  void countsIoErrorsAndServerErrorsAgainstTheCircuit() {
+    assertTrue(attempt(500).failed());
+    assertTrue(attempt(503).failed());
+    assertTrue(new Attempt<>(ResponseEntity.status(500).build(), "IO_ERROR", true).failed());
+    assertFalse(new Attempt<>(ResponseEntity.status(500).build(), "PARSE_ERROR", true).failed());
+    assertFalse(attempt(429).failed());
+    assertFalse(attempt(400).failed());
+  }
+
+  @Test
+  void onlySuccessesAndClientErrorsAreDecisive() {
+    assertTrue(attempt(200).decisive());
+    assertTrue(attempt(404).decisive());
+    assertFalse(attempt(429).decisive());
+    assertFalse(attempt(503).decisive());
+    assertFalse(new Attempt<>(ResponseEntity.status(500).build(), "CANCELLED", true).decisive());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void marksAClientErrorAnsweredToARetryOfASentCreate() throws Exception {
+    when(httpClient.execute(any(ClassicHttpRequest.class), any(HttpContext.class), any(HttpClientResponseHandler.class)))
+        .thenReturn(ResponseEntity.status(504).build(), ResponseEntity.status(400).build());
+
+    ResponseEntity<CreateOrderResponse> response = restUtils.restPostCall(CREATE_URL, null, null,
+        CreateOrderRequest.builder().orderReferenceId("Ab-12345").build(), CreateOrderResponse.class);
+
+    assertEquals(400, response.getStatusCode().value());
+    assertTrue(RestUtils.retriedAfterSend(response));
+    verify(httpClient, times(2)).execute(any(ClassicHttpRequest.class), any(HttpContext.class),
+        any(HttpClientResponseHandler.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void doesNotMarkAFirstAttemptRejection() throws Exception {
+    when(httpClient.execute(any(ClassicHttpRequest.class), any(HttpContext.class), any(HttpClientResponseHandler.class)))
+        .thenReturn(ResponseEntity.status(400).build());
+
+    ResponseEntity<CreateOrderResponse> response = restUtils.restPostCall(CREATE_URL, null, null,
+        CreateOrderRequest.builder().orderReferenceId("Ab-12345").build(), CreateOrderResponse.class);
+
+    assertEquals(400, response.getStatusCode().value());
+    assertFalse(RestUtils.retriedAfterSend(response));
+  }
+
+  private static Attempt<String> attempt(int code) {
+    return new Attempt<>(ResponseEntity.status(code).build(), String.valueOf(code), true);
+  }
+}